@@ -0,0 +1,32 @@
+package com.dot.project.transferserviceassessment;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the application without a web server against its own in-memory H2 database, for benchmarks that need
+ * the real service beans.
+ */
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(String database, String... properties) {
+        final List<String> all = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:" + database,
+                "spring.jpa.show-sql=false",
+                // Measure the driver, not the statement counting the dev profile turns on
+                "app.sql-statistics-enabled=false",
+                "logging.level.root=WARN",
+                "logging.level.com.dot.project=WARN"));
+        all.addAll(List.of(properties));
+        return new SpringApplicationBuilder(TransferServiceAssessmentApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(all.toArray(String[]::new))
+                .run();
+    }
+}
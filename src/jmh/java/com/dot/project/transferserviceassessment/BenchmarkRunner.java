@@ -0,0 +1,32 @@
+package com.dot.project.transferserviceassessment;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks with the usual JMH command line, always adding the GC profiler so every result carries
+ * its allocation rate (gc.alloc.rate.norm is the bytes allocated per operation).
+ *
+ * Run with: mvn -Pjmh test-compile exec:exec [-Djmh.args="TransferPathBenchmark -f 1"]
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        final var commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp()) {
+            commandLine.showHelp();
+            return;
+        }
+        final var runner = new Runner(new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .build());
+        if (commandLine.shouldList()) {
+            runner.list();
+            return;
+        }
+        runner.run();
+    }
+}
@@ -0,0 +1,76 @@
+package com.dot.project.transferserviceassessment;
+
+import com.dot.project.transferserviceassessment.constant.CurrencyEnum;
+import com.dot.project.transferserviceassessment.constant.StatusEnum;
+import com.dot.project.transferserviceassessment.dao.entity.Transaction;
+import com.dot.project.transferserviceassessment.dto.response.ApiResponse;
+import com.dot.project.transferserviceassessment.dto.response.TransactionRes;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping a transaction to its response and writing the ApiResponse as JSON, with an ObjectMapper configured the
+ * way Spring MVC's is.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private Transaction transaction;
+    private ApiResponse<TransactionRes> response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        transaction = Transaction.builder()
+                .id(42L)
+                .reference("benchmark-serialization")
+                .amount(new BigDecimal("1000.00"))
+                .fee(new BigDecimal("5.00"))
+                .billedAmount(new BigDecimal("1005.00"))
+                .currency(CurrencyEnum.USD)
+                .description("Benchmark transfer")
+                .status(StatusEnum.SUCCESSFUL)
+                .commissionWorthy(true)
+                .commission(new BigDecimal("1.00"))
+                .sourceAccountNumber("8600000001")
+                .destinationAccountNumber("8600000002")
+                .createdAt(LocalDateTime.of(2024, 8, 1, 12, 0))
+                .build();
+        response = ApiResponse.success(new TransactionRes(transaction));
+    }
+
+    @Benchmark
+    public TransactionRes mapTransaction() {
+        return new TransactionRes(transaction);
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ApiResponse.success(new TransactionRes(transaction)));
+    }
+}
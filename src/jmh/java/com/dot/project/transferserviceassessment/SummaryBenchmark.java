@@ -0,0 +1,84 @@
+package com.dot.project.transferserviceassessment;
+
+import com.dot.project.transferserviceassessment.dao.projection.TransactionStatusTotals;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionRepository;
+import com.dot.project.transferserviceassessment.dto.response.TransactionSummaryRes;
+import com.dot.project.transferserviceassessment.service.TransactionRollupService;
+import com.dot.project.transferserviceassessment.service.TransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The transaction summary over 30 days holding 10k, 100k and 1M transactions. getTransactionSummary reads the
+ * hourly rollups and aggregates only its partial edge hours, and is measured against aggregating every
+ * transaction of the period in the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SummaryBenchmark {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime END = START.plusDays(30);
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private TransactionRepository transactionRepository;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkContext.start("benchmark-summary-" + rows, "app.audit-journal-enabled=false");
+        transactionService = context.getBean(TransactionService.class);
+        transactionRepository = context.getBean(TransactionRepository.class);
+
+        // Written in one statement rather than through JPA, spread evenly over the period; every fifth one failed
+        final var spacingMillis = TimeUnit.DAYS.toMillis(30) / rows;
+        context.getBean(JdbcTemplate.class).update(
+                "INSERT INTO transaction (reference, amount, fee, currency, billed_amount, status, commission_worthy, "
+                        + "commission, source_account_number, destination_account_number, created_at, deleted) "
+                        + "SELECT 'summary-' || X, 100.00, 0.50, 1, 100.50, "
+                        + "CASE WHEN MOD(X, 5) = 0 THEN 'FAILED' ELSE 'SUCCESSFUL' END, "
+                        + "CASE WHEN MOD(X, 5) = 0 THEN NULL ELSE TRUE END, "
+                        + "CASE WHEN MOD(X, 5) = 0 THEN NULL ELSE 0.10 END, '8600000003', '8600000004', "
+                        + "DATEADD('MILLISECOND', (X - 1) * " + spacingMillis + ", TIMESTAMP '2024-01-01 00:00:00'), "
+                        + "FALSE FROM SYSTEM_RANGE(1, " + rows + ")");
+        context.getBean(TransactionRollupService.class).rebuild(START, END);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public TransactionSummaryRes rollupSummary() {
+        return transactionService.getTransactionSummary(START.plusMinutes(30), END.minusMinutes(30));
+    }
+
+    @Benchmark
+    public List<TransactionStatusTotals> databaseAggregate() {
+        return transactionRepository.sumByStatusCreatedFrom(START.plusMinutes(30), END.minusMinutes(30));
+    }
+}
@@ -0,0 +1,103 @@
+package com.dot.project.transferserviceassessment.service;
+
+import com.dot.project.transferserviceassessment.BenchmarkContext;
+import com.dot.project.transferserviceassessment.constant.AccountStatusEnum;
+import com.dot.project.transferserviceassessment.constant.CurrencyEnum;
+import com.dot.project.transferserviceassessment.dao.entity.Transaction;
+import com.dot.project.transferserviceassessment.dao.entity.TransactionAccount;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionAccountRepository;
+import com.dot.project.transferserviceassessment.dto.request.TransactionReq;
+import com.dot.project.transferserviceassessment.dto.response.ApiResponse;
+import com.dot.project.transferserviceassessment.dto.response.TransactionRes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The transfer hot path: fee calculation, building the transaction from the request, and a whole
+ * {@link TransactionService#processTransfer} against the default JPA engine on in-memory H2.
+ *
+ * Kept in the service package to reach the package-private {@link TransactionService#buildTransaction}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransferPathBenchmark {
+
+    // Amounts whose fee is under, exactly at and over the fee cap of the default flat schedule
+    private static final BigDecimal[] AMOUNTS = {
+            new BigDecimal("50.00"), new BigDecimal("20000.00"), new BigDecimal("5000000.00")};
+    private static final String SOURCE = "8600000001";
+    private static final String DESTINATION = "8600000002";
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private FeeScheduleService feeScheduleService;
+    private TransactionReq request;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkContext.start("benchmark-transfer", "app.audit-journal-enabled=false");
+        transactionService = context.getBean(TransactionService.class);
+        feeScheduleService = context.getBean(FeeScheduleService.class);
+        context.getBean(TransactionAccountRepository.class).saveAll(List.of(account(SOURCE), account(DESTINATION)));
+        request = transfer("benchmark-build", AMOUNTS[1]);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public BigDecimal calculateFee() {
+        return feeScheduleService.calculateFee(CurrencyEnum.USD, AMOUNTS[(int) (sequence++ % AMOUNTS.length)]);
+    }
+
+    @Benchmark
+    public Transaction buildTransaction() {
+        return transactionService.buildTransaction(request);
+    }
+
+    @Benchmark
+    public ApiResponse<TransactionRes> processTransfer() {
+        return transactionService.processTransfer(transfer("benchmark-" + sequence++, AMOUNTS[0]));
+    }
+
+    private static TransactionReq transfer(String reference, BigDecimal amount) {
+        return TransactionReq.builder()
+                .reference(reference)
+                .amount(amount)
+                .currency(CurrencyEnum.USD)
+                .sourceAccountNumber(SOURCE)
+                .destinationAccountNumber(DESTINATION)
+                .build();
+    }
+
+    private static TransactionAccount account(String accountNumber) {
+        return TransactionAccount.builder()
+                .accountNumber(accountNumber)
+                .accountName("Benchmark Account " + accountNumber)
+                .accountStatus(AccountStatusEnum.ACTIVE)
+                .balance(new BigDecimal("1000000000000.00"))
+                .currency(CurrencyEnum.USD)
+                .build();
+    }
+}
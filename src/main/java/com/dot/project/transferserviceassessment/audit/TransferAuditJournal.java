@@ -0,0 +1,231 @@
+package com.dot.project.transferserviceassessment.audit;
+
+import com.dot.project.transferserviceassessment.config.ExternalRequestProperties;
+import com.dot.project.transferserviceassessment.constant.AuditEventEnum;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Append-only binary journal of transfer lifecycle events.
+ *
+ * Producers encode events straight into a preallocated ring of fixed-size slots, without locks or string formatting;
+ * a single writer thread drains published slots, in claim order, into memory-mapped segment files. When the ring
+ * is full the event is dropped and counted rather than blocking the transfer. Segments are never rewritten:
+ * a new segment is started on every startup and whenever the current one is full.
+ *
+ * Segment layout: int magic, int version, long creation epoch millis, then records of
+ * [int payload length][payload], terminated by a zero length. The payload layout is owned by
+ * {@link #encode} and {@link TransferAuditJournalReader#decode}.
+ */
+@Slf4j
+@Component
+public class TransferAuditJournal {
+
+    static final int MAGIC = 0x54584A4C; // "TXJL"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int SLOT_BYTES = 512;
+    static final byte NO_SCALE = Byte.MIN_VALUE;
+    private static final int MAX_REFERENCE_CHARS = 128;
+    private static final int MAX_ACCOUNT_CHARS = 32;
+    private static final int MAX_DETAIL_CHARS = 256;
+
+    private final ExternalRequestProperties properties;
+    private final ByteBuffer ring;
+    private final int[] slotLengths;
+    private final AtomicLongArray publishedSequences;
+    private final AtomicLong claimSequence = new AtomicLong();
+    private final AtomicLong consumedSequence = new AtomicLong();
+    private final int capacity;
+    private final int mask;
+    private final Counter droppedEvents;
+    private final Counter writtenEvents;
+
+    private volatile boolean running;
+    private Thread writerThread;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long segmentCreatedAt;
+
+    public TransferAuditJournal(ExternalRequestProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.capacity = Integer.highestOneBit(Math.max(2, properties.getAuditJournalRingCapacity()));
+        this.mask = capacity - 1;
+        this.ring = ByteBuffer.allocateDirect(capacity * SLOT_BYTES);
+        this.slotLengths = new int[capacity];
+        this.publishedSequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            publishedSequences.set(i, -1);
+        }
+        this.droppedEvents = Counter.builder("transfer.audit.events.dropped")
+                .description("Audit events dropped because the journal ring was full")
+                .register(meterRegistry);
+        this.writtenEvents = Counter.builder("transfer.audit.events.written")
+                .description("Audit events written to the journal")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!properties.isAuditJournalEnabled()) {
+            log.info("Transfer audit journal is disabled");
+            return;
+        }
+        Files.createDirectories(Path.of(properties.getAuditJournalDirectory()));
+        openSegment();
+        running = true;
+        writerThread = new Thread(this::drain, "transfer-audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        log.info("Transfer audit journal started. Directory = {}, Ring capacity = {}",
+                properties.getAuditJournalDirectory(), capacity);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        writerThread.join();
+        closeSegment();
+        log.info("Transfer audit journal stopped");
+    }
+
+    /**
+     * Records a lifecycle event. Never blocks; drops the event if the ring is full or the journal is not running.
+     */
+    public void append(AuditEventEnum event, String reference, String sourceAccountNumber,
+                       String destinationAccountNumber, BigDecimal amount, String detail) {
+        if (!running) {
+            return;
+        }
+        long sequence;
+        do {
+            sequence = claimSequence.get();
+            if (sequence - consumedSequence.get() >= capacity) {
+                droppedEvents.increment();
+                return;
+            }
+        } while (!claimSequence.compareAndSet(sequence, sequence + 1));
+
+        final var slot = (int) (sequence & mask);
+        slotLengths[slot] = encode(slot * SLOT_BYTES, event, reference, sourceAccountNumber,
+                destinationAccountNumber, amount, detail);
+        publishedSequences.set(slot, sequence);
+    }
+
+    private int encode(int base, AuditEventEnum event, String reference, String sourceAccountNumber,
+                       String destinationAccountNumber, BigDecimal amount, String detail) {
+        var position = base;
+        ring.putLong(position, System.currentTimeMillis());
+        position += Long.BYTES;
+        ring.put(position++, (byte) event.ordinal());
+
+        if (amount != null && amount.unscaledValue().bitLength() < Long.SIZE
+                && amount.scale() > NO_SCALE && amount.scale() <= Byte.MAX_VALUE) {
+            ring.putLong(position, amount.unscaledValue().longValue());
+            ring.put(position + Long.BYTES, (byte) amount.scale());
+        } else {
+            ring.putLong(position, 0L);
+            ring.put(position + Long.BYTES, NO_SCALE);
+        }
+        position += Long.BYTES + 1;
+
+        position = putAscii(position, reference, MAX_REFERENCE_CHARS);
+        position = putAscii(position, sourceAccountNumber, MAX_ACCOUNT_CHARS);
+        position = putAscii(position, destinationAccountNumber, MAX_ACCOUNT_CHARS);
+        position = putAscii(position, detail, MAX_DETAIL_CHARS);
+        return position - base;
+    }
+
+    // Writes [short length][chars as bytes], replacing non-ASCII characters so encoding never allocates
+    private int putAscii(int position, String value, int maxChars) {
+        final var length = value == null ? 0 : Math.min(value.length(), maxChars);
+        ring.putShort(position, (short) length);
+        position += Short.BYTES;
+        for (int i = 0; i < length; i++) {
+            final var c = value.charAt(i);
+            ring.put(position++, c < 0x80 ? (byte) c : (byte) '?');
+        }
+        return position;
+    }
+
+    private void drain() {
+        var lastForce = System.nanoTime();
+        final var forceIntervalNanos = properties.getAuditJournalForceIntervalMillis() * 1_000_000L;
+        while (running || consumedSequence.get() < claimSequence.get()) {
+            final var sequence = consumedSequence.get();
+            final var slot = (int) (sequence & mask);
+            if (publishedSequences.get(slot) == sequence) {
+                try {
+                    write(slot);
+                    writtenEvents.increment();
+                } catch (RuntimeException e) {
+                    log.error("Failed to write transfer audit event: {}", e.getMessage());
+                    droppedEvents.increment();
+                }
+                consumedSequence.set(sequence + 1);
+            } else {
+                if (System.nanoTime() - lastForce > forceIntervalNanos) {
+                    segment.force();
+                    lastForce = System.nanoTime();
+                }
+                LockSupport.parkNanos(100_000);
+            }
+        }
+    }
+
+    private void write(int slot) {
+        final var length = slotLengths[slot];
+        try {
+            if (segment.remaining() < Integer.BYTES + length + Integer.BYTES) {
+                closeSegment();
+                openSegment();
+            }
+            segment.putInt(length);
+            segment.put(segment.position(), ring, slot * SLOT_BYTES, length);
+            segment.position(segment.position() + length);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to roll transfer audit journal segment", e);
+        }
+    }
+
+    private void openSegment() throws IOException {
+        // Readers order segments by their creation stamp, so segments rolled within one millisecond must not share it
+        segmentCreatedAt = Math.max(System.currentTimeMillis(), segmentCreatedAt + 1);
+        final var directory = Path.of(properties.getAuditJournalDirectory());
+        var file = directory.resolve("transfer-audit-" + segmentCreatedAt + ".journal");
+        for (int suffix = 1; Files.exists(file); suffix++) {
+            file = directory.resolve("transfer-audit-" + segmentCreatedAt + "-" + suffix + ".journal");
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, properties.getAuditJournalSegmentBytes());
+        segment.putInt(MAGIC).putInt(VERSION).putLong(segmentCreatedAt);
+        log.info("Opened transfer audit journal segment: {}", file);
+    }
+
+    private void closeSegment() throws IOException {
+        if (segment.remaining() >= Integer.BYTES) {
+            segment.putInt(0);
+        }
+        segment.force();
+        channel.close();
+    }
+}
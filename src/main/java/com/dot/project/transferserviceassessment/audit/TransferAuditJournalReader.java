@@ -0,0 +1,118 @@
+package com.dot.project.transferserviceassessment.audit;
+
+import com.dot.project.transferserviceassessment.constant.AuditEventEnum;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Reads transfer audit journal segments written by {@link TransferAuditJournal}.
+ *
+ * Usage, with a journal directory or a single segment file:
+ * java -cp transfer-service-assessment.jar -Dloader.main=com.dot.project.transferserviceassessment.audit.TransferAuditJournalReader \
+ *      org.springframework.boot.loader.launch.PropertiesLauncher audit-journal [reference]
+ *
+ * Prints one line per event, oldest segment first; when a reference is given only its events are printed.
+ */
+public final class TransferAuditJournalReader {
+
+    public record AuditRecord(Instant timestamp, AuditEventEnum event, String reference, String sourceAccountNumber,
+                              String destinationAccountNumber, BigDecimal amount, String detail) {
+
+        @Override
+        public String toString() {
+            return timestamp + " " + event + " reference=" + reference + " source=" + sourceAccountNumber
+                    + " destination=" + destinationAccountNumber + " amount=" + amount
+                    + (detail.isEmpty() ? "" : " detail=" + detail);
+        }
+    }
+
+    private TransferAuditJournalReader() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: TransferAuditJournalReader <journal directory or segment file> [reference]");
+            System.exit(1);
+        }
+        final var reference = args.length > 1 ? args[1] : null;
+        read(Path.of(args[0]), auditRecord -> {
+            if (reference == null || reference.equals(auditRecord.reference())) {
+                System.out.println(auditRecord);
+            }
+        });
+    }
+
+    /**
+     * Reads every record of a segment file, or of all segments in a directory in the order they were created.
+     */
+    public static void read(Path path, Consumer<AuditRecord> consumer) throws IOException {
+        if (!Files.isDirectory(path)) {
+            readSegment(path, consumer);
+            return;
+        }
+        final List<Path> segments;
+        try (Stream<Path> files = Files.list(path)) {
+            segments = files.filter(file -> file.getFileName().toString().endsWith(".journal")).toList();
+        }
+        for (Path segment : segments.stream().sorted((a, b) -> Long.compare(createdAt(a), createdAt(b))).toList()) {
+            readSegment(segment, consumer);
+        }
+    }
+
+    private static void readSegment(Path segment, Consumer<AuditRecord> consumer) throws IOException {
+        try (var channel = FileChannel.open(segment)) {
+            final var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < TransferAuditJournal.HEADER_BYTES || buffer.getInt() != TransferAuditJournal.MAGIC) {
+                throw new IOException("Not a transfer audit journal segment: " + segment);
+            }
+            final var version = buffer.getInt();
+            if (version != TransferAuditJournal.VERSION) {
+                throw new IOException("Unsupported journal version " + version + " in " + segment);
+            }
+            buffer.getLong();
+            while (buffer.remaining() >= Integer.BYTES) {
+                final var length = buffer.getInt();
+                if (length <= 0 || length > buffer.remaining()) {
+                    break;
+                }
+                consumer.accept(decode(buffer.slice(buffer.position(), length)));
+                buffer.position(buffer.position() + length);
+            }
+        }
+    }
+
+    static AuditRecord decode(ByteBuffer payload) {
+        final var timestamp = Instant.ofEpochMilli(payload.getLong());
+        final var event = AuditEventEnum.values()[payload.get()];
+        final var unscaledAmount = payload.getLong();
+        final var scale = payload.get();
+        final var amount = scale == TransferAuditJournal.NO_SCALE ? null : BigDecimal.valueOf(unscaledAmount, scale);
+        return new AuditRecord(timestamp, event, getAscii(payload), getAscii(payload), getAscii(payload), amount,
+                getAscii(payload));
+    }
+
+    private static String getAscii(ByteBuffer payload) {
+        final var bytes = new byte[payload.getShort()];
+        payload.get(bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    private static long createdAt(Path segment) {
+        try (var channel = FileChannel.open(segment)) {
+            final var header = ByteBuffer.allocate(TransferAuditJournal.HEADER_BYTES);
+            channel.read(header, 0);
+            return header.getLong(8);
+        } catch (IOException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.dot.project.transferserviceassessment.config;
 
+import com.dot.project.transferserviceassessment.constant.TransferEngineEnum;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
@@ -11,4 +12,43 @@ public class ExternalRequestProperties {
     private String feePercentage;  // Default to 0.5%
     private String commissionPercentage; // Default to 0.2%
     private String feeCap; // Default cap at 100
+    private String feeScheduleLocation; // Tiered fee schedule resource; blank for the flat fee above
+    private long feeScheduleReloadIntervalMillis = 30_000; // How often the fee schedule location is checked for changes
+    private int lockStripes = 1024; // Number of account lock stripes
+    private int balanceUpdateMaxAttempts = 3; // Attempts for a balance update hitting a lock conflict
+    private long balanceUpdateBackoffMillis = 10; // Initial backoff, doubled on every retry
+    private int bulkInsertBatchSize = 500; // Rows per JDBC batch for bulk transaction inserts
+    private long accountCacheMaxSize = 100_000; // Max cached account metadata entries
+    private long accountCacheTtlSeconds = 300; // Time a cached account metadata entry stays valid
+    private long idempotencyExpectedReferences = 1_000_000; // References per Bloom filter generation
+    private double idempotencyFalsePositiveRate = 0.01; // Target Bloom filter false positive rate
+    private long idempotencyCacheSize = 100_000; // Recent transfer outcomes kept for replay
+    private long idempotencySeedHours = 24; // Age of references loaded into the filter at startup
+    private boolean auditJournalEnabled = true; // Write transfer lifecycle events to the binary audit journal
+    private String auditJournalDirectory = "audit-journal"; // Directory holding audit journal segments
+    private long auditJournalSegmentBytes = 64L * 1024 * 1024; // Size of each memory-mapped segment file
+    private int auditJournalRingCapacity = 8192; // Events buffered between producers and the writer (power of two)
+    private long auditJournalForceIntervalMillis = 1000; // How often an idle writer forces the segment to disk
+    private TransferEngineEnum transferEngine = TransferEngineEnum.JPA; // Engine that settles transfers: jpa or ledger
+    private int ledgerShards = 4; // Ledger shards, each owned by one writer thread
+    private String ledgerJournalDirectory = "ledger-journal"; // Directory holding ledger journal segments
+    private long ledgerJournalSegmentBytes = 64L * 1024 * 1024; // Size at which a ledger journal segment is rolled
+    private int ledgerPersistBatchSize = 500; // Settled transfers written to the database per batch
+    private int ledgerPersistMaxAttempts = 5; // Attempts at a batch the database refuses before it is split to isolate the bad transfers
+    private int exportFetchSize = 1000; // Rows the export cursor fetches from the database at a time
+    private int exportFlushRows = 1000; // Exported rows written between flushes of the response
+    private int rollupSlots = 8; // Rows each hourly rollup is striped over so concurrent transfers do not contend
+    private String rollupRebuildCron = "0 30 1 * * ?"; // When the previous day's rollups are rebuilt from its transactions
+    private boolean rollupBackfillEnabled = true; // Whether startup rebuilds the rollups of transactions older than the earliest rollup
+    private long summaryCacheMaxDays = 3660; // Closed days whose summaries are kept
+    private long summaryCacheOpenDayTtlSeconds = 5; // Time a summary of yesterday or today stays valid
+    private int summaryRangeParallelism = 4; // Threads aggregating range summary buckets concurrently
+    private int summaryRangeChunkBuckets = 8; // Buckets one range summary task aggregates before splitting
+    private int summaryRangeMaxBuckets = 2000; // Largest number of buckets one range summary may return
+    private int commissionSettlementChunkSize = 5000; // Transaction ids settled per commission settlement chunk
+    private boolean commissionAccrualEnabled = true; // Earn commission when a transfer is written; nightly settlement only backfills
+    private String nodeId; // Name this node holds job leases under; blank for host name plus a random suffix
+    private long jobLeaseAtMostForSeconds = 600; // Lease of a running job, extended while it runs; reclaimable once it runs out
+    private long jobLeaseAtLeastForSeconds = 60; // Minimum time a job lease is held, covering clock skew between nodes
+    private boolean sqlStatisticsEnabled = false; // Count JDBC statements, round trips and rows per request and job run
 }
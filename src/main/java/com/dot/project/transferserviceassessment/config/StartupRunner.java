@@ -7,10 +7,12 @@ import com.dot.project.transferserviceassessment.dao.entity.Transaction;
 import com.dot.project.transferserviceassessment.dao.entity.TransactionAccount;
 import com.dot.project.transferserviceassessment.dao.repository.TransactionAccountRepository;
 import com.dot.project.transferserviceassessment.dao.repository.TransactionRepository;
+import com.dot.project.transferserviceassessment.service.TransactionRollupService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -29,6 +31,12 @@ public class StartupRunner implements CommandLineRunner {
     @Autowired
     private TransactionRepository transactionRepository;
 
+    @Autowired
+    private TransactionRollupService rollupService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     @Override
     public void run(String... args) throws Exception {
         // Initialize and save the default source account
@@ -77,7 +85,9 @@ public class StartupRunner implements CommandLineRunner {
                     .statusMessage("Transaction Successful")
                     .build();
 
-            transactionRepository.save(test_transaction);
+            // The rollups must commit or roll back with the transactions they count
+            transactionTemplate.executeWithoutResult(status ->
+                    rollupService.record(List.of(transactionRepository.save(test_transaction))));
         }
 
         Transaction test_transaction_1 = Transaction.builder()
@@ -116,7 +126,8 @@ public class StartupRunner implements CommandLineRunner {
                 .statusMessage("Transaction Successful")
                 .build();
 
-        transactionRepository.saveAll(List.of(test_transaction_1, test_transaction_2, test_transaction_3));
+        transactionTemplate.executeWithoutResult(status -> rollupService.record(
+                transactionRepository.saveAll(List.of(test_transaction_1, test_transaction_2, test_transaction_3))));
 
         log.info("Default transactions initialized in the database.");
     }
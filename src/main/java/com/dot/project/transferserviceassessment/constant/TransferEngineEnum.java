@@ -0,0 +1,5 @@
+package com.dot.project.transferserviceassessment.constant;
+
+public enum TransferEngineEnum {
+    JPA, LEDGER
+}
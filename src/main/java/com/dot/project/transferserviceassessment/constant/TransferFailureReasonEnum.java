@@ -0,0 +1,5 @@
+package com.dot.project.transferserviceassessment.constant;
+
+public enum TransferFailureReasonEnum {
+    DUPLICATE_REFERENCE, ACCOUNT_NOT_FOUND, SAME_ACCOUNT, CURRENCY_MISMATCH, INSUFFICIENT_FUNDS, PROCESSING_ERROR
+}
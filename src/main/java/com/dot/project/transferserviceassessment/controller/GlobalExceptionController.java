@@ -2,6 +2,8 @@ package com.dot.project.transferserviceassessment.controller;
 
 import com.dot.project.transferserviceassessment.dto.response.ApiResponse;
 import com.dot.project.transferserviceassessment.exception.AccountNotFoundException;
+import com.dot.project.transferserviceassessment.exception.InvalidCursorException;
+import com.dot.project.transferserviceassessment.exception.InvalidSearchCriteriaException;
 import jakarta.persistence.PersistenceException;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
@@ -14,6 +16,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingRequestHeaderException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.server.MethodNotAllowedException;
 import java.sql.BatchUpdateException;
 import java.sql.SQLException;
@@ -32,6 +35,29 @@ public class GlobalExceptionController {
         return ResponseEntity.internalServerError().body(response);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ApiResponse<?>> handleInvalidCursorException(InvalidCursorException ex) {
+        log.debug("invalid cursor: {}", ex.getMessage());
+
+        var response = ApiResponse.error(ex.getLocalizedMessage());
+        return ResponseEntity.badRequest().body(response);
+    }
+
+    @ExceptionHandler(InvalidSearchCriteriaException.class)
+    public ResponseEntity<ApiResponse<?>> handleInvalidSearchCriteriaException(InvalidSearchCriteriaException ex) {
+        log.debug("invalid search criteria: {}", ex.getMessage());
+
+        var response = ApiResponse.error(ex.getLocalizedMessage());
+        return ResponseEntity.badRequest().body(response);
+    }
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ApiResponse<?>> handleMethodArgumentTypeMismatchException(MethodArgumentTypeMismatchException ex) {
+
+        var response = ApiResponse.error("Invalid value for parameter " + ex.getName());
+        return ResponseEntity.badRequest().body(response);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse<?>> handleException(Exception ex) {
         log.info("uncaught exception occurred: {}", ex.getMessage());
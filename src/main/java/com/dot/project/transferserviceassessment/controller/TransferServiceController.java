@@ -1,12 +1,20 @@
 package com.dot.project.transferserviceassessment.controller;
 
+import com.dot.project.transferserviceassessment.constant.ExportFormatEnum;
+import com.dot.project.transferserviceassessment.constant.SummaryGranularityEnum;
 import com.dot.project.transferserviceassessment.dto.request.TransactionReq;
 import com.dot.project.transferserviceassessment.dto.response.ApiResponse;
 import com.dot.project.transferserviceassessment.dto.response.TransactionRes;
+import com.dot.project.transferserviceassessment.dto.response.TransactionSliceRes;
 import com.dot.project.transferserviceassessment.dto.response.TransactionSummaryRes;
+import com.dot.project.transferserviceassessment.service.BulkTransferService;
 import com.dot.project.transferserviceassessment.service.TransactionService;
+import com.dot.project.transferserviceassessment.service.TransactionSummaryCache;
+import com.dot.project.transferserviceassessment.service.TransactionSummaryRangeService;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
@@ -14,10 +22,20 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import static com.dot.project.transferserviceassessment.scheduler.ScheduledTasks.ZONE_ID;
 
 @Slf4j
 @Validated
@@ -27,15 +45,28 @@ import java.time.LocalDate;
 public class TransferServiceController {
 
     private final TransactionService transactionService;
+    private final BulkTransferService bulkTransferService;
+    private final TransactionSummaryCache summaryCache;
+    private final TransactionSummaryRangeService summaryRangeService;
 
     @PostMapping("/transfer")
     public ResponseEntity<ApiResponse<TransactionRes>> transfer(@Valid @RequestBody TransactionReq transaction) {
-        log.info("Transfer request received: {}", transaction);
+        log.debug("Transfer request received: reference={}", transaction.getReference());
 
         final var processedTransaction = transactionService.processTransfer(transaction);
         return ResponseEntity.ok(processedTransaction);
     }
 
+    @PostMapping("/transfer/batch")
+    public ResponseEntity<ApiResponse<List<TransactionRes>>> batchTransfer(
+            @Size(min = 1, max = 10000, message = "A batch must contain between 1 and 10000 transfers!")
+            @RequestBody List<@Valid TransactionReq> transactions) {
+        log.info("Bulk transfer request received: items={}", transactions.size());
+
+        final var processedTransactions = bulkTransferService.processBulkTransfer(transactions);
+        return ResponseEntity.ok(processedTransactions);
+    }
+
     @GetMapping
     public ResponseEntity<ApiResponse<Page<TransactionRes>>> getTransactions(
             @Pattern(
@@ -51,14 +82,12 @@ public class TransferServiceController {
             @RequestParam(required = false) String destinationAccountNumber,
 
             @RequestParam(required = false)
-            @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
-            //@DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
-            String startDate,
+            @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+            LocalDateTime startDate,
 
             @RequestParam(required = false)
-            @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
-            //@DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
-            String endDate,
+            @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+            LocalDateTime endDate,
 
             Pageable pageable) {
         log.info("Transaction search request: status={}, sourceAccountNumber={}, destinationAccountNumber={}, startDate={}," +
@@ -70,17 +99,121 @@ public class TransferServiceController {
         return ResponseEntity.ok(transactions);
     }
 
+    /**
+     * Keyset mode of the transaction search, selected by the presence of the cursor parameter. Start a walk with an
+     * empty cursor and pass each nextCursor back until hasNext is false.
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<ApiResponse<TransactionSliceRes>> getTransactionSlice(
+            @Pattern(
+                    regexp = "^(SUCCESSFUL|INSUFFICIENT_FUND|FAILED)$",
+                    message = "Invalid status. Allowed values: SUCCESSFUL, INSUFFICIENT_FUND, FAILED"
+            )
+            @RequestParam(required = false) String status,
+
+            @Size(min = 10, max = 20, message = "Account number must be between 10 and 20 characters!")
+            @RequestParam(required = false) String sourceAccountNumber,
+
+            @Size(min = 10, max = 20, message = "Account number must be between 10 and 20 characters!")
+            @RequestParam(required = false) String destinationAccountNumber,
+
+            @RequestParam(required = false)
+            @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+            LocalDateTime startDate,
+
+            @RequestParam(required = false)
+            @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+            LocalDateTime endDate,
+
+            @RequestParam(required = false) String cursor,
+
+            @Min(value = 1, message = "Size must be between 1 and 1000!")
+            @Max(value = 1000, message = "Size must be between 1 and 1000!")
+            @RequestParam(defaultValue = "100") int size) {
+        log.debug("Transaction keyset request: status={}, sourceAccountNumber={}, destinationAccountNumber={}, startDate={}," +
+                        " endDate={}, size={}", status, sourceAccountNumber, destinationAccountNumber, startDate, endDate, size);
+
+        final var slice = transactionService.getTransactionSlice(
+                status, sourceAccountNumber, destinationAccountNumber, startDate, endDate, cursor, size);
+
+        return ResponseEntity.ok(slice);
+    }
+
+    /**
+     * Streams every transaction matching the filters as NDJSON or CSV. The filters are validated before the first
+     * byte is written; rows are then written as they are read from the database.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @Pattern(
+                    regexp = "^(SUCCESSFUL|INSUFFICIENT_FUND|FAILED)$",
+                    message = "Invalid status. Allowed values: SUCCESSFUL, INSUFFICIENT_FUND, FAILED"
+            )
+            @RequestParam(required = false) String status,
+
+            @Size(min = 10, max = 20, message = "Account number must be between 10 and 20 characters!")
+            @RequestParam(required = false) String sourceAccountNumber,
+
+            @Size(min = 10, max = 20, message = "Account number must be between 10 and 20 characters!")
+            @RequestParam(required = false) String destinationAccountNumber,
+
+            @RequestParam(required = false)
+            @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+            LocalDateTime startDate,
+
+            @RequestParam(required = false)
+            @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+            LocalDateTime endDate,
+
+            @RequestParam(defaultValue = "NDJSON") ExportFormatEnum format) {
+        log.info("Transaction export request: status={}, sourceAccountNumber={}, destinationAccountNumber={}, startDate={}," +
+                " endDate={}, format={}", status, sourceAccountNumber, destinationAccountNumber, startDate, endDate, format);
+
+        final var criteria = transactionService.searchCriteria(
+                status, sourceAccountNumber, destinationAccountNumber, startDate, endDate);
+
+        final var contentType = format == ExportFormatEnum.CSV
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : MediaType.APPLICATION_NDJSON;
+        final var fileName = "transactions." + format.name().toLowerCase();
+
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(out -> transactionService.exportTransactions(criteria, format, out));
+    }
+
     @GetMapping("/summary")
     public ResponseEntity<ApiResponse<TransactionSummaryRes>> getDailySummary(
             @RequestParam(required = false)
             @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-        if (date == null) date = LocalDate.now();
+        if (date == null) date = LocalDate.now(ZONE_ID);
 
-        log.info("Daily summary request: date={}", date);
+        log.debug("Daily summary request: date={}", date);
 
-        final var summary = transactionService.getDailySummary(date);
-        return ResponseEntity.ok(summary);
+        // A request whose If-None-Match matches the ETag is answered 304 without writing the body
+        final var summary = summaryCache.get(date);
+        return ResponseEntity.ok()
+                .eTag(summary.etag())
+                .cacheControl(summary.closed() ? CacheControl.maxAge(1, TimeUnit.DAYS) : CacheControl.noCache())
+                .body(summary.response());
     }
-}
 
+    @GetMapping("/summary/range")
+    public ResponseEntity<ApiResponse<List<TransactionSummaryRes>>> getRangeSummary(
+            @RequestParam
+            @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+            LocalDateTime from,
+
+            @RequestParam
+            @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+            LocalDateTime to,
+
+            @RequestParam(defaultValue = "DAY") SummaryGranularityEnum granularity) {
+        log.debug("Range summary request: from={}, to={}, granularity={}", from, to, granularity);
+
+        final var buckets = summaryRangeService.getRangeSummary(from, to, granularity);
+        return ResponseEntity.ok(ApiResponse.success(buckets));
+    }
+}
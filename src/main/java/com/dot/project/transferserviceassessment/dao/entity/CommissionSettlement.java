@@ -0,0 +1,44 @@
+package com.dot.project.transferserviceassessment.dao.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.UpdateTimestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of the commission settlement of one day, saved with every settled chunk so an interrupted run resumes
+ * after the last chunk it committed.
+ */
+@Getter
+@Setter
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "commission_settlement")
+public class CommissionSettlement {
+    @Id
+    @Column(name = "settlement_date", nullable = false)
+    private LocalDate settlementDate;
+
+    @Column(name = "last_id")
+    private Long lastId; // Highest transaction id covered by a committed chunk
+
+    @Column(name = "settled_rows", nullable = false)
+    private long settledRows;
+
+    @Column(nullable = false)
+    private boolean completed;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
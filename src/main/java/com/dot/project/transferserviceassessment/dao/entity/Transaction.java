@@ -23,7 +23,10 @@ import java.math.BigDecimal;
 @Table(name = "transaction",
         indexes ={
                 @Index(name = "transaction_idx_1", columnList = "reference, amount, created_at, status"),
-                @Index(name = "transaction_idx_2", columnList = "source_account_number,destination_account_number")
+                @Index(name = "transaction_idx_3", columnList = "created_at, id"),
+                @Index(name = "transaction_idx_4", columnList = "source_account_number, created_at, id"),
+                @Index(name = "transaction_idx_5", columnList = "destination_account_number, created_at, id"),
+                @Index(name = "transaction_idx_6", columnList = "status, created_at, id")
         })
 public class Transaction extends BaseEntity {
     @Id
@@ -42,4 +42,8 @@ public class TransactionAccount extends BaseEntity {
     @Column(name = "account_status")
     @Enumerated(EnumType.STRING)
     private AccountStatusEnum accountStatus = AccountStatusEnum.ACTIVE;
+
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
 }
\ No newline at end of file
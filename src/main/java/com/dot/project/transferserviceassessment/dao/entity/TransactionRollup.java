@@ -0,0 +1,61 @@
+package com.dot.project.transferserviceassessment.dao.entity;
+
+import com.dot.project.transferserviceassessment.constant.StatusEnum;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Running totals of the transactions created in one hour with one status and currency. Each key is spread over
+ * app.rollup-slots rows so that concurrent writers rarely update the same row; readers sum the slots.
+ *
+ * Every column of the unique key is non-null, as the database would otherwise allow two rows for the same key.
+ * Transactions without a currency are counted under {@link #NO_CURRENCY}.
+ */
+@Getter
+@Setter
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "transaction_hourly_rollup",
+        uniqueConstraints = @UniqueConstraint(name = "transaction_hourly_rollup_uk",
+                columnNames = {"bucket_start", "status", "currency", "slot"}))
+public class TransactionRollup {
+    public static final String NO_CURRENCY = "XXX"; // ISO 4217 code for transactions involving no currency
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StatusEnum status;
+
+    @Column(length = 3, nullable = false)
+    private String currency;
+
+    @Column(nullable = false)
+    private int slot;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Column(nullable = false)
+    private BigDecimal fee;
+
+    @Column(nullable = false)
+    private BigDecimal commission;
+}
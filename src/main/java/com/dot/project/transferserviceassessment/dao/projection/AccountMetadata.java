@@ -0,0 +1,16 @@
+package com.dot.project.transferserviceassessment.dao.projection;
+
+import com.dot.project.transferserviceassessment.constant.AccountStatusEnum;
+import com.dot.project.transferserviceassessment.constant.CurrencyEnum;
+
+/**
+ * Immutable, rarely changing attributes of a {@link com.dot.project.transferserviceassessment.dao.entity.TransactionAccount}.
+ * Deliberately carries no balance: balances are only ever read and changed through the database.
+ */
+public record AccountMetadata(String accountNumber, String accountName, CurrencyEnum currency,
+                              AccountStatusEnum accountStatus) {
+
+    public boolean isActive() {
+        return AccountStatusEnum.ACTIVE.equals(accountStatus);
+    }
+}
@@ -0,0 +1,19 @@
+package com.dot.project.transferserviceassessment.dao.projection;
+
+import com.dot.project.transferserviceassessment.constant.CurrencyEnum;
+import com.dot.project.transferserviceassessment.constant.StatusEnum;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * The commission a chunk of transactions created in one hour with one status and currency is about to be settled
+ * at, and the commission they counted before. The sums are null when no row contributed to them.
+ */
+public record CommissionChangeBucket(LocalDate day, Integer hour, StatusEnum status, CurrencyEnum currency,
+                                     BigDecimal settled, BigDecimal previous) {
+
+    public LocalDateTime bucketStart() {
+        return day.atTime(hour, 0);
+    }
+}
@@ -0,0 +1,7 @@
+package com.dot.project.transferserviceassessment.dao.projection;
+
+/**
+ * Lowest and highest id of a set of transactions, both null when the set is empty.
+ */
+public record TransactionIdRange(Long min, Long max) {
+}
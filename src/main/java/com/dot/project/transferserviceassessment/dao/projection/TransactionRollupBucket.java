@@ -0,0 +1,20 @@
+package com.dot.project.transferserviceassessment.dao.projection;
+
+import com.dot.project.transferserviceassessment.constant.CurrencyEnum;
+import com.dot.project.transferserviceassessment.constant.StatusEnum;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Totals of the transactions created in one hour with one status and currency, aggregated from the raw
+ * transactions to rebuild a {@link com.dot.project.transferserviceassessment.dao.entity.TransactionRollup}.
+ * The sums are null when no row contributed to them.
+ */
+public record TransactionRollupBucket(LocalDate day, Integer hour, StatusEnum status, CurrencyEnum currency,
+                                      Long count, BigDecimal amount, BigDecimal fee, BigDecimal commission) {
+
+    public LocalDateTime bucketStart() {
+        return day.atTime(hour, 0);
+    }
+}
@@ -0,0 +1,11 @@
+package com.dot.project.transferserviceassessment.dao.projection;
+
+import com.dot.project.transferserviceassessment.constant.StatusEnum;
+import java.math.BigDecimal;
+
+/**
+ * Count and sums of the transactions of one status over a period, aggregated by the database.
+ * The sums are null when no row contributed to them.
+ */
+public record TransactionStatusTotals(StatusEnum status, Long count, BigDecimal amount, BigDecimal commission) {
+}
@@ -0,0 +1,16 @@
+package com.dot.project.transferserviceassessment.dao.projection;
+
+import com.dot.project.transferserviceassessment.constant.CurrencyEnum;
+import com.dot.project.transferserviceassessment.constant.StatusEnum;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only row of a {@link com.dot.project.transferserviceassessment.dao.entity.Transaction} as returned by the
+ * transaction search. Leaves out the TEXT description, which search results never need.
+ */
+public record TransactionView(Long id, String reference, BigDecimal amount, BigDecimal fee, CurrencyEnum currency,
+                              BigDecimal billedAmount, LocalDateTime createdAt, StatusEnum status,
+                              String statusMessage, Boolean commissionWorthy, BigDecimal commission,
+                              String sourceAccountNumber, String destinationAccountNumber) {
+}
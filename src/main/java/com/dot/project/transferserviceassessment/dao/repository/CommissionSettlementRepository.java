@@ -0,0 +1,11 @@
+package com.dot.project.transferserviceassessment.dao.repository;
+
+import com.dot.project.transferserviceassessment.dao.entity.CommissionSettlement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface CommissionSettlementRepository extends JpaRepository<CommissionSettlement, LocalDate> {
+
+    List<CommissionSettlement> findByCompletedFalseAndSettlementDateBeforeOrderBySettlementDateAsc(LocalDate day);
+}
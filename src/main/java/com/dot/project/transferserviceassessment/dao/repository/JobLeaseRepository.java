@@ -0,0 +1,7 @@
+package com.dot.project.transferserviceassessment.dao.repository;
+
+import com.dot.project.transferserviceassessment.dao.entity.JobLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface JobLeaseRepository extends JpaRepository<JobLease, String>, JobLeaseRepositoryCustom {
+}
@@ -0,0 +1,27 @@
+package com.dot.project.transferserviceassessment.dao.repository;
+
+import java.time.LocalDateTime;
+
+public interface JobLeaseRepositoryCustom {
+
+    /**
+     * Takes the lease of a job if nobody holds it or its holder's lease ran out before now, creating it on first use.
+     * Each statement commits on its own, so of several nodes racing for the same lease exactly one succeeds.
+     *
+     * @return whether the lease is now held by owner until lockedUntil.
+     */
+    boolean tryAcquire(String jobName, String owner, LocalDateTime now, LocalDateTime lockedUntil);
+
+    /**
+     * Moves the end of a lease the owner still holds.
+     *
+     * @return false if the lease ran out and was taken by another node.
+     */
+    boolean extend(String jobName, String owner, LocalDateTime now, LocalDateTime lockedUntil);
+
+    /**
+     * Ends a lease the owner holds at lockedUntil, which may still be in the future to keep the job from running again
+     * too soon on another node.
+     */
+    void release(String jobName, String owner, LocalDateTime lockedUntil);
+}
@@ -0,0 +1,45 @@
+package com.dot.project.transferserviceassessment.dao.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+@RequiredArgsConstructor
+public class JobLeaseRepositoryCustomImpl implements JobLeaseRepositoryCustom {
+
+    private static final String TAKE_SQL = "UPDATE job_lease SET owner = ?, locked_at = ?, locked_until = ? " +
+            "WHERE job_name = ? AND locked_until <= ?";
+    private static final String INSERT_SQL = "INSERT INTO job_lease (job_name, owner, locked_at, locked_until) " +
+            "VALUES (?, ?, ?, ?)";
+    private static final String EXTEND_SQL = "UPDATE job_lease SET locked_until = ? " +
+            "WHERE job_name = ? AND owner = ? AND locked_until > ?";
+    private static final String RELEASE_SQL = "UPDATE job_lease SET locked_until = ? WHERE job_name = ? AND owner = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public boolean tryAcquire(String jobName, String owner, LocalDateTime now, LocalDateTime lockedUntil) {
+        final var nowTimestamp = Timestamp.valueOf(now);
+        if (jdbcTemplate.update(TAKE_SQL, owner, nowTimestamp, Timestamp.valueOf(lockedUntil), jobName, nowTimestamp) > 0) {
+            return true;
+        }
+        try {
+            return jdbcTemplate.update(INSERT_SQL, jobName, owner, nowTimestamp, Timestamp.valueOf(lockedUntil)) > 0;
+        } catch (DuplicateKeyException e) {
+            // The lease exists and is held
+            return false;
+        }
+    }
+
+    @Override
+    public boolean extend(String jobName, String owner, LocalDateTime now, LocalDateTime lockedUntil) {
+        return jdbcTemplate.update(EXTEND_SQL, Timestamp.valueOf(lockedUntil), jobName, owner, Timestamp.valueOf(now)) > 0;
+    }
+
+    @Override
+    public void release(String jobName, String owner, LocalDateTime lockedUntil) {
+        jdbcTemplate.update(RELEASE_SQL, Timestamp.valueOf(lockedUntil), jobName, owner);
+    }
+}
@@ -2,9 +2,74 @@ package com.dot.project.transferserviceassessment.dao.repository;
 
 import com.dot.project.transferserviceassessment.constant.AccountStatusEnum;
 import com.dot.project.transferserviceassessment.dao.entity.TransactionAccount;
+import com.dot.project.transferserviceassessment.dao.projection.AccountMetadata;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface TransactionAccountRepository extends JpaRepository<TransactionAccount, Long> {
   Optional<TransactionAccount> getTransactionAccountByAccountNumberAndAccountStatusIs(String accountName, AccountStatusEnum accountStatus);
-}
\ No newline at end of file
+
+  List<TransactionAccount> findAllByAccountNumberInAndAccountStatusIs(Collection<String> accountNumbers, AccountStatusEnum accountStatus);
+
+  @Query("SELECT new com.dot.project.transferserviceassessment.dao.projection.AccountMetadata(" +
+          "a.accountNumber, a.accountName, a.currency, a.accountStatus) " +
+          "FROM TransactionAccount a WHERE a.accountNumber = :accountNumber")
+  Optional<AccountMetadata> findMetadataByAccountNumber(@Param("accountNumber") String accountNumber);
+
+  @Query("SELECT a.balance FROM TransactionAccount a WHERE a.accountNumber = :accountNumber")
+  Optional<BigDecimal> findBalanceByAccountNumber(@Param("accountNumber") String accountNumber);
+
+  @Transactional
+  @Modifying(flushAutomatically = true)
+  @Query("UPDATE TransactionAccount a SET a.accountStatus = :accountStatus, a.version = a.version + 1 " +
+          "WHERE a.accountNumber = :accountNumber AND a.deleted = false")
+  int updateAccountStatus(@Param("accountNumber") String accountNumber,
+                          @Param("accountStatus") AccountStatusEnum accountStatus);
+
+  /**
+   * Atomically debits an active account only when its current balance covers the amount.
+   *
+   * @return the number of rows updated; 0 means the account is missing, inactive or has insufficient funds.
+   */
+  @Transactional
+  @Modifying(flushAutomatically = true)
+  @Query("UPDATE TransactionAccount a SET a.balance = a.balance - :amount, a.version = a.version + 1 " +
+          "WHERE a.accountNumber = :accountNumber AND a.accountStatus = :accountStatus " +
+          "AND a.deleted = false AND a.balance >= :amount")
+  int debitIfSufficientFunds(@Param("accountNumber") String accountNumber,
+                             @Param("amount") BigDecimal amount,
+                             @Param("accountStatus") AccountStatusEnum accountStatus);
+
+  /**
+   * Atomically credits an active account.
+   *
+   * @return the number of rows updated; 0 means the account is missing or inactive.
+   */
+  @Transactional
+  @Modifying(flushAutomatically = true)
+  @Query("UPDATE TransactionAccount a SET a.balance = a.balance + :amount, a.version = a.version + 1 " +
+          "WHERE a.accountNumber = :accountNumber AND a.accountStatus = :accountStatus AND a.deleted = false")
+  int credit(@Param("accountNumber") String accountNumber,
+             @Param("amount") BigDecimal amount,
+             @Param("accountStatus") AccountStatusEnum accountStatus);
+
+  /**
+   * Adds a signed amount to an account balance without any status or funds check, for movements the ledger
+   * engine has already settled in memory.
+   *
+   * @return the number of rows updated; 0 means the account is missing.
+   */
+  @Transactional
+  @Modifying(flushAutomatically = true)
+  @Query("UPDATE TransactionAccount a SET a.balance = a.balance + :delta, a.version = a.version + 1 " +
+          "WHERE a.accountNumber = :accountNumber AND a.deleted = false")
+  int applyBalanceDelta(@Param("accountNumber") String accountNumber,
+                        @Param("delta") BigDecimal delta);
+}
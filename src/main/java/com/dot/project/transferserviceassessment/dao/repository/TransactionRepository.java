@@ -2,15 +2,109 @@ package com.dot.project.transferserviceassessment.dao.repository;
 
 import com.dot.project.transferserviceassessment.constant.StatusEnum;
 import com.dot.project.transferserviceassessment.dao.entity.Transaction;
+import com.dot.project.transferserviceassessment.dao.projection.CommissionChangeBucket;
+import com.dot.project.transferserviceassessment.dao.projection.TransactionIdRange;
+import com.dot.project.transferserviceassessment.dao.projection.TransactionRollupBucket;
+import com.dot.project.transferserviceassessment.dao.projection.TransactionStatusTotals;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface TransactionRepository extends JpaRepository<Transaction, Long> , JpaSpecificationExecutor<Transaction>,
+        TransactionRepositoryCustom {
+    String MISSED_COMMISSION_PREDICATE =
+            "AND (:missedOnly = false OR t.commissionWorthy IS NULL OR t.commissionWorthy = false) ";
 
-public interface TransactionRepository extends JpaRepository<Transaction, Long> , JpaSpecificationExecutor<Transaction> {
     @Override
     List<Transaction> findAll(Specification<Transaction> spec);
     List<Transaction> findByStatusAndCreatedAtBetween(StatusEnum status, LocalDateTime start, LocalDateTime end);
     List<Transaction> findByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
+    Optional<Transaction> findByReference(String reference);
+
+    /**
+     * Aggregates the transactions created in the period per status in a single grouped query; only commission-worthy
+     * transactions contribute to the commission sum.
+     */
+    @Query("SELECT new com.dot.project.transferserviceassessment.dao.projection.TransactionStatusTotals(" +
+            "t.status, COUNT(t), SUM(t.amount), SUM(CASE WHEN t.commissionWorthy = true THEN t.commission END)) " +
+            "FROM Transaction t WHERE t.createdAt BETWEEN :start AND :end GROUP BY t.status")
+    List<TransactionStatusTotals> sumByStatusCreatedBetween(@Param("start") LocalDateTime start,
+                                                            @Param("end") LocalDateTime end);
+
+    /**
+     * Same as {@link #sumByStatusCreatedBetween} over the half-open period [from, to).
+     */
+    @Query("SELECT new com.dot.project.transferserviceassessment.dao.projection.TransactionStatusTotals(" +
+            "t.status, COUNT(t), SUM(t.amount), SUM(CASE WHEN t.commissionWorthy = true THEN t.commission END)) " +
+            "FROM Transaction t WHERE t.createdAt >= :from AND t.createdAt < :to GROUP BY t.status")
+    List<TransactionStatusTotals> sumByStatusCreatedFrom(@Param("from") LocalDateTime from,
+                                                         @Param("to") LocalDateTime to);
+
+    /**
+     * Aggregates the transactions created in [from, to) per hour, status and currency, to rebuild their rollups.
+     */
+    @Query("SELECT new com.dot.project.transferserviceassessment.dao.projection.TransactionRollupBucket(" +
+            "cast(t.createdAt as LocalDate), hour(t.createdAt), t.status, t.currency, COUNT(t), SUM(t.amount), " +
+            "SUM(t.fee), SUM(CASE WHEN t.commissionWorthy = true THEN t.commission END)) " +
+            "FROM Transaction t WHERE t.createdAt >= :from AND t.createdAt < :to " +
+            "GROUP BY cast(t.createdAt as LocalDate), hour(t.createdAt), t.status, t.currency")
+    List<TransactionRollupBucket> sumHourlyBucketsCreatedFrom(@Param("from") LocalDateTime from,
+                                                              @Param("to") LocalDateTime to);
+
+    @Query("SELECT new com.dot.project.transferserviceassessment.dao.projection.TransactionIdRange(MIN(t.id), MAX(t.id)) " +
+            "FROM Transaction t WHERE t.status = :status AND t.createdAt >= :from AND t.createdAt < :to")
+    TransactionIdRange findIdRange(@Param("status") StatusEnum status, @Param("from") LocalDateTime from,
+                                   @Param("to") LocalDateTime to);
+
+    /**
+     * Aggregates, per hour and currency, the commission {@link #settleCommissions} is about to set on the same rows
+     * and the commission they counted before, so their rollups can be moved by the difference.
+     * With missedOnly, only rows whose commission was not accrued are included.
+     */
+    @Query("SELECT new com.dot.project.transferserviceassessment.dao.projection.CommissionChangeBucket(" +
+            "cast(t.createdAt as LocalDate), hour(t.createdAt), t.status, t.currency, " +
+            "SUM(round(t.fee * :percentage, 2)), SUM(CASE WHEN t.commissionWorthy = true THEN t.commission END)) " +
+            "FROM Transaction t WHERE t.id >= :fromId AND t.id < :toId AND t.status = :status " +
+            "AND t.createdAt >= :from AND t.createdAt < :to " + MISSED_COMMISSION_PREDICATE +
+            "GROUP BY cast(t.createdAt as LocalDate), hour(t.createdAt), t.status, t.currency")
+    List<CommissionChangeBucket> sumCommissionChanges(@Param("percentage") BigDecimal percentage,
+                                                      @Param("status") StatusEnum status,
+                                                      @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                                      @Param("fromId") long fromId, @Param("toId") long toId,
+                                                      @Param("missedOnly") boolean missedOnly);
+
+    /**
+     * Settles the commission of every matching transaction with an id in [fromId, toId) in one statement.
+     * With missedOnly, transactions whose commission was accrued when they were written are left as they are.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Transaction t SET t.commissionWorthy = true, t.commission = round(t.fee * :percentage, 2), " +
+            "t.updatedAt = :now WHERE t.id >= :fromId AND t.id < :toId AND t.status = :status " +
+            "AND t.createdAt >= :from AND t.createdAt < :to AND t.deleted = false " + MISSED_COMMISSION_PREDICATE)
+    int settleCommissions(@Param("percentage") BigDecimal percentage, @Param("now") LocalDateTime now,
+                          @Param("status") StatusEnum status,
+                          @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                          @Param("fromId") long fromId, @Param("toId") long toId,
+                          @Param("missedOnly") boolean missedOnly);
+
+    @Query("SELECT MIN(t.createdAt) FROM Transaction t")
+    LocalDateTime findEarliestCreatedAt();
+
+    @Query("SELECT t.reference FROM Transaction t WHERE t.createdAt >= :since")
+    Stream<String> streamReferencesCreatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Returns which of the given references are already taken, including soft-deleted rows that still hold the unique index.
+     */
+    @Query(value = "SELECT reference FROM transaction WHERE reference IN (:references)", nativeQuery = true)
+    List<String> findExistingReferences(@Param("references") Collection<String> references);
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.dot.project.transferserviceassessment.dao.repository;
+
+import com.dot.project.transferserviceassessment.dao.entity.Transaction;
+import com.dot.project.transferserviceassessment.dao.projection.TransactionView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface TransactionRepositoryCustom {
+
+    /**
+     * Inserts the transactions as JDBC batches. Hibernate cannot batch inserts for IDENTITY keys,
+     * so bulk writers use this instead of saveAll. Generated ids are not read back.
+     */
+    void insertAll(List<Transaction> transactions);
+
+    /**
+     * Returns one page of the transactions matching the criteria as {@link TransactionView} rows. The total is only
+     * counted when it cannot be derived from the page itself.
+     */
+    Page<TransactionView> search(TransactionSearchCriteria criteria, Pageable pageable);
+
+    /**
+     * Returns up to limit transactions matching the criteria that follow (afterCreatedAt, afterId) in
+     * (created_at, id) order, or the first ones when afterCreatedAt is null.
+     */
+    List<TransactionView> searchAfter(TransactionSearchCriteria criteria, LocalDateTime afterCreatedAt, long afterId,
+                                      int limit);
+
+    /**
+     * Passes every transaction matching the criteria to the action in (created_at, id) order, reading them through a
+     * forward-only cursor that holds at most fetchSize rows at a time.
+     */
+    void forEachMatch(TransactionSearchCriteria criteria, int fetchSize, Consumer<TransactionView> action);
+}
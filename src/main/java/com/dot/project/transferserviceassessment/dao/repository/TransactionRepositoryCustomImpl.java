@@ -0,0 +1,104 @@
+package com.dot.project.transferserviceassessment.dao.repository;
+
+import com.dot.project.transferserviceassessment.config.ExternalRequestProperties;
+import com.dot.project.transferserviceassessment.constant.CurrencyEnum;
+import com.dot.project.transferserviceassessment.constant.StatusEnum;
+import com.dot.project.transferserviceassessment.dao.entity.Transaction;
+import com.dot.project.transferserviceassessment.dao.projection.TransactionView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+public class TransactionRepositoryCustomImpl implements TransactionRepositoryCustom {
+
+    private static final String INSERT_SQL = "INSERT INTO transaction (reference, amount, fee, currency, billed_amount, " +
+            "description, status, status_message, commission_worthy, commission, source_account_number, " +
+            "destination_account_number, created_at, updated_at, deleted) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final RowMapper<TransactionView> TRANSACTION_VIEW_MAPPER = (rs, rowNum) -> {
+        final var currency = rs.getObject("currency", Integer.class);
+        final var status = rs.getString("status");
+        return new TransactionView(
+                rs.getLong("id"),
+                rs.getString("reference"),
+                rs.getBigDecimal("amount"),
+                rs.getBigDecimal("fee"),
+                currency == null ? null : CurrencyEnum.values()[currency],
+                rs.getBigDecimal("billed_amount"),
+                rs.getTimestamp("created_at").toLocalDateTime(),
+                status == null ? null : StatusEnum.valueOf(status),
+                rs.getString("status_message"),
+                rs.getObject("commission_worthy", Boolean.class),
+                rs.getBigDecimal("commission"),
+                rs.getString("source_account_number"),
+                rs.getString("destination_account_number"));
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final ExternalRequestProperties properties;
+
+    @Override
+    public void insertAll(List<Transaction> transactions) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, transactions, properties.getBulkInsertBatchSize(), (ps, transaction) -> {
+            ps.setString(1, transaction.getReference());
+            ps.setBigDecimal(2, transaction.getAmount());
+            ps.setBigDecimal(3, transaction.getFee());
+            if (transaction.getCurrency() == null) {
+                ps.setNull(4, Types.TINYINT);
+            } else {
+                ps.setInt(4, transaction.getCurrency().ordinal());
+            }
+            ps.setBigDecimal(5, transaction.getBilledAmount());
+            ps.setString(6, transaction.getDescription());
+            ps.setString(7, transaction.getStatus() == null ? null : transaction.getStatus().name());
+            ps.setString(8, transaction.getStatusMessage());
+            ps.setObject(9, transaction.getCommissionWorthy(), Types.BOOLEAN);
+            ps.setBigDecimal(10, transaction.getCommission());
+            ps.setString(11, transaction.getSourceAccountNumber());
+            ps.setString(12, transaction.getDestinationAccountNumber());
+            ps.setTimestamp(13, Timestamp.valueOf(transaction.getCreatedAt()));
+            ps.setTimestamp(14, Timestamp.valueOf(transaction.getCreatedAt()));
+            ps.setBoolean(15, transaction.isDeleted());
+        });
+    }
+
+    @Override
+    public Page<TransactionView> search(TransactionSearchCriteria criteria, Pageable pageable) {
+        final var page = TransactionSearchQuery.page(criteria, pageable);
+        final var content = namedParameterJdbcTemplate.query(page.sql(), page.parameters(), TRANSACTION_VIEW_MAPPER);
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            final var count = TransactionSearchQuery.count(criteria);
+            return namedParameterJdbcTemplate.queryForObject(count.sql(), count.parameters(), Long.class);
+        });
+    }
+
+    @Override
+    public List<TransactionView> searchAfter(TransactionSearchCriteria criteria, LocalDateTime afterCreatedAt,
+                                             long afterId, int limit) {
+        final var seek = TransactionSearchQuery.seek(criteria, afterCreatedAt, afterId, limit);
+        return namedParameterJdbcTemplate.query(seek.sql(), seek.parameters(), TRANSACTION_VIEW_MAPPER);
+    }
+
+    @Override
+    public void forEachMatch(TransactionSearchCriteria criteria, int fetchSize, Consumer<TransactionView> action) {
+        final var export = TransactionSearchQuery.export(criteria);
+        // The fetch size is a template-wide setting, so the cursor gets a template of its own
+        final var cursorTemplate = new JdbcTemplate(Objects.requireNonNull(jdbcTemplate.getDataSource()));
+        cursorTemplate.setFetchSize(fetchSize);
+        new NamedParameterJdbcTemplate(cursorTemplate).query(export.sql(), export.parameters(),
+                (RowCallbackHandler) rs -> action.accept(TRANSACTION_VIEW_MAPPER.mapRow(rs, 0)));
+    }
+}
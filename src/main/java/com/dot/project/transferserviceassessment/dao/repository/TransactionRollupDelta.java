@@ -0,0 +1,13 @@
+package com.dot.project.transferserviceassessment.dao.repository;
+
+import com.dot.project.transferserviceassessment.constant.CurrencyEnum;
+import com.dot.project.transferserviceassessment.constant.StatusEnum;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Amounts to add to the rollup of one hour, status and currency.
+ */
+public record TransactionRollupDelta(LocalDateTime bucketStart, StatusEnum status, CurrencyEnum currency, long count,
+                                     BigDecimal amount, BigDecimal fee, BigDecimal commission) {
+}
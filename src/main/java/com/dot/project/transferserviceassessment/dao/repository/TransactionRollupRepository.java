@@ -0,0 +1,29 @@
+package com.dot.project.transferserviceassessment.dao.repository;
+
+import com.dot.project.transferserviceassessment.dao.entity.TransactionRollup;
+import com.dot.project.transferserviceassessment.dao.projection.TransactionStatusTotals;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TransactionRollupRepository extends JpaRepository<TransactionRollup, Long>, TransactionRollupRepositoryCustom {
+
+    /**
+     * Sums the rollups of the hours starting in [from, to) per status.
+     */
+    @Query("SELECT new com.dot.project.transferserviceassessment.dao.projection.TransactionStatusTotals(" +
+            "r.status, SUM(r.transactionCount), SUM(r.amount), SUM(r.commission)) " +
+            "FROM TransactionRollup r WHERE r.bucketStart >= :from AND r.bucketStart < :to GROUP BY r.status")
+    List<TransactionStatusTotals> sumByStatusBucketsFrom(@Param("from") LocalDateTime from,
+                                                         @Param("to") LocalDateTime to);
+
+    @Query("SELECT MIN(r.bucketStart) FROM TransactionRollup r")
+    LocalDateTime findEarliestBucketStart();
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM TransactionRollup r WHERE r.bucketStart >= :from AND r.bucketStart < :to")
+    int deleteBucketsFrom(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,12 @@
+package com.dot.project.transferserviceassessment.dao.repository;
+
+import java.util.List;
+
+public interface TransactionRollupRepositoryCustom {
+
+    /**
+     * Adds each delta to one rollup row of its key in the given slot, creating the row when the slot has none yet.
+     * Must run inside the transaction that writes the transactions the deltas come from.
+     */
+    void addAll(List<TransactionRollupDelta> deltas, int slot);
+}
@@ -0,0 +1,47 @@
+package com.dot.project.transferserviceassessment.dao.repository;
+
+import com.dot.project.transferserviceassessment.dao.entity.TransactionRollup;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.sql.Timestamp;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class TransactionRollupRepositoryCustomImpl implements TransactionRollupRepositoryCustom {
+
+    private static final String UPDATE_SQL = "UPDATE transaction_hourly_rollup SET transaction_count = transaction_count + ?, " +
+            "amount = amount + ?, fee = fee + ?, commission = commission + ? " +
+            "WHERE bucket_start = ? AND status = ? AND currency = ? AND slot = ?";
+
+    private static final String INSERT_SQL = "INSERT INTO transaction_hourly_rollup (bucket_start, status, currency, slot, " +
+            "transaction_count, amount, fee, commission) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void addAll(List<TransactionRollupDelta> deltas, int slot) {
+        for (TransactionRollupDelta delta : deltas) {
+            if (update(delta, slot)) {
+                continue;
+            }
+            try {
+                jdbcTemplate.update(INSERT_SQL, Timestamp.valueOf(delta.bucketStart()), delta.status().name(),
+                        currency(delta), slot, delta.count(),
+                        delta.amount(), delta.fee(), delta.commission());
+            } catch (DuplicateKeyException e) {
+                // Another writer created the row first; only the failed insert is undone, so add to its row instead
+                update(delta, slot);
+            }
+        }
+    }
+
+    private boolean update(TransactionRollupDelta delta, int slot) {
+        return jdbcTemplate.update(UPDATE_SQL, delta.count(), delta.amount(), delta.fee(), delta.commission(),
+                Timestamp.valueOf(delta.bucketStart()), delta.status().name(), currency(delta), slot) > 0;
+    }
+
+    private static String currency(TransactionRollupDelta delta) {
+        return delta.currency() == null ? TransactionRollup.NO_CURRENCY : delta.currency().name();
+    }
+}
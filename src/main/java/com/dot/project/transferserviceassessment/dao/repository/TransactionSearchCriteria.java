@@ -0,0 +1,12 @@
+package com.dot.project.transferserviceassessment.dao.repository;
+
+import com.dot.project.transferserviceassessment.constant.StatusEnum;
+import java.time.LocalDateTime;
+
+/**
+ * Filters of a transaction search. Every filter is optional; the creation time bounds are inclusive.
+ */
+public record TransactionSearchCriteria(StatusEnum status, String sourceAccountNumber,
+                                        String destinationAccountNumber, LocalDateTime createdFrom,
+                                        LocalDateTime createdTo) {
+}
@@ -0,0 +1,147 @@
+package com.dot.project.transferserviceassessment.dao.repository;
+
+import com.dot.project.transferserviceassessment.exception.InvalidSearchCriteriaException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * SQL of one transaction search. Every supported filter shape, an optional account or status equality plus an
+ * optional creation time range ordered by (created_at, id), has a composite index on the transaction table that
+ * serves both the filter and the order.
+ */
+public final class TransactionSearchQuery {
+
+    private static final String COLUMNS = "id, reference, amount, fee, currency, billed_amount, created_at, status, " +
+            "status_message, commission_worthy, commission, source_account_number, destination_account_number";
+
+    private static final Map<String, String> SORTABLE_COLUMNS = Map.of(
+            "id", "id",
+            "createdAt", "created_at",
+            "reference", "reference",
+            "amount", "amount",
+            "status", "status");
+
+    private final String sql;
+    private final MapSqlParameterSource parameters;
+
+    private TransactionSearchQuery(String sql, MapSqlParameterSource parameters) {
+        this.sql = sql;
+        this.parameters = parameters;
+    }
+
+    /**
+     * One offset page, ordered by the page's sort and then by id; unsorted pages follow (created_at, id).
+     */
+    public static TransactionSearchQuery page(TransactionSearchCriteria criteria, Pageable pageable) {
+        final var parameters = new MapSqlParameterSource();
+        final var sql = new StringBuilder("SELECT ").append(COLUMNS).append(" FROM transaction");
+        appendFilters(sql, parameters, criteria);
+        appendOrder(sql, pageable.getSort());
+        if (pageable.isPaged()) {
+            sql.append(" LIMIT :limit OFFSET :offset");
+            parameters.addValue("limit", pageable.getPageSize());
+            parameters.addValue("offset", pageable.getOffset());
+        }
+        return new TransactionSearchQuery(sql.toString(), parameters);
+    }
+
+    /**
+     * The number of transactions matching the criteria.
+     */
+    public static TransactionSearchQuery count(TransactionSearchCriteria criteria) {
+        final var parameters = new MapSqlParameterSource();
+        final var sql = new StringBuilder("SELECT COUNT(*) FROM transaction");
+        appendFilters(sql, parameters, criteria);
+        return new TransactionSearchQuery(sql.toString(), parameters);
+    }
+
+    /**
+     * Up to limit transactions following (afterCreatedAt, afterId) in (created_at, id) order, or from the start
+     * when afterCreatedAt is null.
+     */
+    public static TransactionSearchQuery seek(TransactionSearchCriteria criteria, LocalDateTime afterCreatedAt,
+                                              long afterId, int limit) {
+        final var parameters = new MapSqlParameterSource();
+        final var sql = new StringBuilder("SELECT ").append(COLUMNS).append(" FROM transaction");
+        appendFilters(sql, parameters, criteria);
+        if (afterCreatedAt != null) {
+            // The leading >= bounds the index range scan; the rest skips rows already returned at that instant
+            sql.append(" AND created_at >= :afterCreatedAt AND (created_at > :afterCreatedAt OR id > :afterId)");
+            parameters.addValue("afterCreatedAt", Timestamp.valueOf(afterCreatedAt));
+            parameters.addValue("afterId", afterId);
+        }
+        sql.append(" ORDER BY created_at, id LIMIT :limit");
+        parameters.addValue("limit", limit);
+        return new TransactionSearchQuery(sql.toString(), parameters);
+    }
+
+    /**
+     * Every transaction matching the criteria in (created_at, id) order, for reading through a cursor.
+     */
+    public static TransactionSearchQuery export(TransactionSearchCriteria criteria) {
+        final var parameters = new MapSqlParameterSource();
+        final var sql = new StringBuilder("SELECT ").append(COLUMNS).append(" FROM transaction");
+        appendFilters(sql, parameters, criteria);
+        sql.append(" ORDER BY created_at, id");
+        return new TransactionSearchQuery(sql.toString(), parameters);
+    }
+
+    public String sql() {
+        return sql;
+    }
+
+    public MapSqlParameterSource parameters() {
+        return parameters;
+    }
+
+    private static void appendFilters(StringBuilder sql, MapSqlParameterSource parameters,
+                                      TransactionSearchCriteria criteria) {
+        sql.append(" WHERE deleted = false");
+        if (criteria.status() != null) {
+            sql.append(" AND status = :status");
+            parameters.addValue("status", criteria.status().name());
+        }
+        if (criteria.sourceAccountNumber() != null) {
+            sql.append(" AND source_account_number = :sourceAccountNumber");
+            parameters.addValue("sourceAccountNumber", criteria.sourceAccountNumber());
+        }
+        if (criteria.destinationAccountNumber() != null) {
+            sql.append(" AND destination_account_number = :destinationAccountNumber");
+            parameters.addValue("destinationAccountNumber", criteria.destinationAccountNumber());
+        }
+        if (criteria.createdFrom() != null) {
+            sql.append(" AND created_at >= :createdFrom");
+            parameters.addValue("createdFrom", Timestamp.valueOf(criteria.createdFrom()));
+        }
+        if (criteria.createdTo() != null) {
+            sql.append(" AND created_at <= :createdTo");
+            parameters.addValue("createdTo", Timestamp.valueOf(criteria.createdTo()));
+        }
+    }
+
+    private static void appendOrder(StringBuilder sql, Sort sort) {
+        if (sort.isUnsorted()) {
+            sql.append(" ORDER BY created_at, id");
+            return;
+        }
+        sql.append(" ORDER BY ");
+        var orderedById = false;
+        for (final var order : sort) {
+            final var column = SORTABLE_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new InvalidSearchCriteriaException("Unsupported sort property: " + order.getProperty());
+            }
+            sql.append(column).append(order.isAscending() ? " ASC, " : " DESC, ");
+            orderedById |= "id".equals(column);
+        }
+        // Ties are broken by id so that pages never overlap
+        sql.setLength(sql.length() - 2);
+        if (!orderedById) {
+            sql.append(", id");
+        }
+    }
+}
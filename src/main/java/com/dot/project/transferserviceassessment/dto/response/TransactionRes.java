@@ -3,6 +3,7 @@ package com.dot.project.transferserviceassessment.dto.response;
 import com.dot.project.transferserviceassessment.constant.CurrencyEnum;
 import com.dot.project.transferserviceassessment.constant.StatusEnum;
 import com.dot.project.transferserviceassessment.dao.entity.Transaction;
+import com.dot.project.transferserviceassessment.dao.projection.TransactionView;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
@@ -50,4 +51,20 @@ public class TransactionRes implements Serializable {
         this.sourceAccountNumber = transaction.getSourceAccountNumber();
         this.destinationAccountNumber = transaction.getDestinationAccountNumber();
     }
-}
\ No newline at end of file
+
+    public TransactionRes(TransactionView transaction) {
+        this.reference = transaction.reference();
+        this.amount = transaction.amount();
+        this.fee = transaction.fee();
+        this.currency = transaction.currency();
+        this.billedAmount = transaction.billedAmount();
+        this.description = null;
+        this.createdAt = transaction.createdAt();
+        this.status = transaction.status();
+        this.statusMessage = transaction.statusMessage();
+        this.commissionWorthy = transaction.commissionWorthy();
+        this.commission = transaction.commission();
+        this.sourceAccountNumber = transaction.sourceAccountNumber();
+        this.destinationAccountNumber = transaction.destinationAccountNumber();
+    }
+}
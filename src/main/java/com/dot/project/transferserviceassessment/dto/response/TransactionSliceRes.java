@@ -0,0 +1,20 @@
+package com.dot.project.transferserviceassessment.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.List;
+
+/**
+ * One page of a keyset walk over transactions. Pass nextCursor back as the cursor parameter to fetch the
+ * following page; it is absent on the last page.
+ */
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TransactionSliceRes {
+    private List<TransactionRes> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
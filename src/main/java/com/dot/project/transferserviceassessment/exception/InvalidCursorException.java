@@ -0,0 +1,7 @@
+package com.dot.project.transferserviceassessment.exception;
+
+import lombok.experimental.StandardException;
+
+@StandardException
+public class InvalidCursorException extends RuntimeException {
+}
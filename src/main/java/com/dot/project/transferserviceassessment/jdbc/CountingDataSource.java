@@ -0,0 +1,149 @@
+package com.dot.project.transferserviceassessment.jdbc;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Wraps the pool so every connection it hands out reports to {@link SqlStatementCounter}: each execute call is one
+ * statement and one round trip, an executeBatch is one round trip for all the statements added to it, and each row
+ * a result set moves onto is one row fetched.
+ *
+ * Connections, statements and result sets are JDK proxies over the driver's objects; everything other than the
+ * counted calls goes straight through. Being a {@link DelegatingDataSource}, the pool stays reachable for the Hikari
+ * metrics and health checks.
+ */
+public class CountingDataSource extends DelegatingDataSource {
+
+    private static final Set<Class<?>> STATEMENT_TYPES =
+            Set.of(Statement.class, PreparedStatement.class, CallableStatement.class);
+
+    public CountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private static <T> T proxy(Class<T> type, T target) {
+        final InvocationHandler handler;
+        if (target instanceof Connection) {
+            handler = new ConnectionHandler(target);
+        } else if (target instanceof Statement) {
+            handler = new StatementHandler(target);
+        } else {
+            handler = new ResultSetHandler(target);
+        }
+        return type.cast(Proxy.newProxyInstance(CountingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private abstract static class CountingHandler implements InvocationHandler {
+        private final Object target;
+
+        CountingHandler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            // Hibernate keeps statements and result sets in hash-based registries, so equality is the proxy's own
+            if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+                return proxy == args[0];
+            }
+            if (method.getName().equals("hashCode") && method.getParameterCount() == 0) {
+                return System.identityHashCode(proxy);
+            }
+            beforeCall(method);
+            final Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            return afterCall(method, result);
+        }
+
+        void beforeCall(Method method) {
+        }
+
+        abstract Object afterCall(Method method, Object result);
+    }
+
+    private static final class ConnectionHandler extends CountingHandler {
+        ConnectionHandler(Object connection) {
+            super(connection);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Object afterCall(Method method, Object result) {
+            if (result instanceof Statement statement && STATEMENT_TYPES.contains(method.getReturnType())) {
+                return proxy((Class<Statement>) method.getReturnType(), statement);
+            }
+            return result;
+        }
+    }
+
+    private static final class StatementHandler extends CountingHandler {
+        private int batched;
+
+        StatementHandler(Object statement) {
+            super(statement);
+        }
+
+        @Override
+        void beforeCall(Method method) {
+            // Counted before the call so a statement the database rejects is still a round trip
+            final var name = method.getName();
+            if (name.equals("addBatch")) {
+                batched++;
+            } else if (name.equals("clearBatch")) {
+                batched = 0;
+            } else if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+                SqlStatementCounter.executed(batched);
+                batched = 0;
+            } else if (name.startsWith("execute")) {
+                SqlStatementCounter.executed(1);
+            }
+        }
+
+        @Override
+        Object afterCall(Method method, Object result) {
+            if (result instanceof ResultSet resultSet && method.getReturnType() == ResultSet.class) {
+                return proxy(ResultSet.class, resultSet);
+            }
+            return result;
+        }
+    }
+
+    private static final class ResultSetHandler extends CountingHandler {
+        ResultSetHandler(Object resultSet) {
+            super(resultSet);
+        }
+
+        @Override
+        Object afterCall(Method method, Object result) {
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                SqlStatementCounter.fetched();
+            }
+            return result;
+        }
+    }
+}
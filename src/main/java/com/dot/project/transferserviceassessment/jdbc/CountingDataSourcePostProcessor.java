@@ -0,0 +1,23 @@
+package com.dot.project.transferserviceassessment.jdbc;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import javax.sql.DataSource;
+
+/**
+ * Wraps the data source in a {@link CountingDataSource} when app.sql-statistics-enabled is set, before JPA and the
+ * JDBC templates are given it.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app", name = "sql-statistics-enabled", havingValue = "true")
+public class CountingDataSourcePostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof CountingDataSource)) {
+            return new CountingDataSource(dataSource);
+        }
+        return bean;
+    }
+}
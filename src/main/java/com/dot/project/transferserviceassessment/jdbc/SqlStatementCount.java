@@ -0,0 +1,15 @@
+package com.dot.project.transferserviceassessment.jdbc;
+
+/**
+ * JDBC work done on one thread: statements executed (each statement of a batch counts), round trips to the database
+ * (a batch is one) and result set rows fetched.
+ */
+public record SqlStatementCount(long statements, long roundTrips, long rows) {
+
+    public static final SqlStatementCount NONE = new SqlStatementCount(0, 0, 0);
+
+    public SqlStatementCount minus(SqlStatementCount earlier) {
+        return new SqlStatementCount(statements - earlier.statements, roundTrips - earlier.roundTrips,
+                rows - earlier.rows);
+    }
+}
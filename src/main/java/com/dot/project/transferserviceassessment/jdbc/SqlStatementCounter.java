@@ -0,0 +1,32 @@
+package com.dot.project.transferserviceassessment.jdbc;
+
+/**
+ * Running totals of the JDBC work done on the current thread through {@link CountingDataSource}. The totals only
+ * grow; a caller takes a {@link #snapshot()} before and after a unit of work and subtracts them, so nested units
+ * (a job calling a service that is measured too) do not reset each other.
+ *
+ * Work handed to another thread, such as the ledger shard writers or an export streamed after the request returns,
+ * is counted on that thread and not attributed to the caller.
+ */
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<long[]> COUNTS = ThreadLocal.withInitial(() -> new long[3]);
+
+    private SqlStatementCounter() {
+    }
+
+    public static SqlStatementCount snapshot() {
+        final var counts = COUNTS.get();
+        return new SqlStatementCount(counts[0], counts[1], counts[2]);
+    }
+
+    static void executed(int statements) {
+        final var counts = COUNTS.get();
+        counts[0] += statements;
+        counts[1]++;
+    }
+
+    static void fetched() {
+        COUNTS.get()[2]++;
+    }
+}
@@ -0,0 +1,45 @@
+package com.dot.project.transferserviceassessment.jdbc;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import java.io.IOException;
+
+/**
+ * Counts the JDBC work of each HTTP request and records it under the request's method and route, e.g.
+ * "POST /api/v1/transactions/transfer". The counts at the start of the request are left in a request attribute
+ * for {@link SqlStatementHeaderAdvice}.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app", name = "sql-statistics-enabled", havingValue = "true")
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    static final String START_ATTRIBUTE = SqlStatementFilter.class.getName() + ".start";
+
+    private final SqlStatementRecorder recorder;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        final var start = SqlStatementCounter.snapshot();
+        request.setAttribute(START_ATTRIBUTE, start);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            recorder.record("http", route(request), SqlStatementCounter.snapshot().minus(start));
+        }
+    }
+
+    private static String route(HttpServletRequest request) {
+        // The matched pattern rather than the path, so path variables and unmatched URLs do not multiply the tags
+        final var pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern == null ? "UNKNOWN" : pattern);
+    }
+}
@@ -0,0 +1,45 @@
+package com.dot.project.transferserviceassessment.jdbc;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the JDBC work done so far by the request to its response as X-Sql-Statements, X-Sql-Round-Trips and
+ * X-Sql-Rows, just before the body is written. Streamed bodies, such as exports, do their work after the headers
+ * are sent and are only counted in the metrics.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(prefix = "app", name = "sql-statistics-enabled", havingValue = "true")
+public class SqlStatementHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    public static final String ROUND_TRIPS_HEADER = "X-Sql-Round-Trips";
+    public static final String ROWS_HEADER = "X-Sql-Rows";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && servletRequest.getServletRequest().getAttribute(SqlStatementFilter.START_ATTRIBUTE)
+                instanceof SqlStatementCount start) {
+            final var count = SqlStatementCounter.snapshot().minus(start);
+            response.getHeaders().set(STATEMENTS_HEADER, Long.toString(count.statements()));
+            response.getHeaders().set(ROUND_TRIPS_HEADER, Long.toString(count.roundTrips()));
+            response.getHeaders().set(ROWS_HEADER, Long.toString(count.rows()));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,41 @@
+package com.dot.project.transferserviceassessment.jdbc;
+
+import com.dot.project.transferserviceassessment.config.ExternalRequestProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records the JDBC work of one HTTP request or scheduled job run as "sql.statements", "sql.round.trips" and
+ * "sql.rows" distribution summaries, tagged with kind (http or job) and name (the request's method and route, or
+ * the job). Does nothing unless app.sql-statistics-enabled is set, as nothing is counted then.
+ */
+@Component
+@RequiredArgsConstructor
+public class SqlStatementRecorder {
+
+    private final ExternalRequestProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public boolean enabled() {
+        return properties.isSqlStatisticsEnabled();
+    }
+
+    public void record(String kind, String name, SqlStatementCount count) {
+        if (!enabled()) {
+            return;
+        }
+        summary("sql.statements", "Statements executed", kind, name).record(count.statements());
+        summary("sql.round.trips", "Round trips to the database", kind, name).record(count.roundTrips());
+        summary("sql.rows", "Result set rows fetched", kind, name).record(count.rows());
+    }
+
+    private DistributionSummary summary(String meter, String description, String kind, String name) {
+        return DistributionSummary.builder(meter)
+                .description(description + " per HTTP request or job run")
+                .tag("kind", kind)
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,10 @@
+package com.dot.project.transferserviceassessment.ledger;
+
+import com.dot.project.transferserviceassessment.dao.entity.Transaction;
+
+/**
+ * A transaction waiting to be persisted, with the journal segment that holds it; the segment is null for
+ * failed transactions, which are not journaled, and for transactions recovered from a previous run.
+ */
+record LedgerEntry(Transaction transaction, LedgerJournal.Segment segment) {
+}
@@ -0,0 +1,322 @@
+package com.dot.project.transferserviceassessment.ledger;
+
+import com.dot.project.transferserviceassessment.constant.CurrencyEnum;
+import com.dot.project.transferserviceassessment.constant.StatusEnum;
+import com.dot.project.transferserviceassessment.dao.entity.Transaction;
+import lombok.extern.slf4j.Slf4j;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Write-ahead journal of one ledger shard. Every settled transfer is appended here, and forced to disk, before
+ * its caller is answered, so transfers that had not reached the database when the node stopped can be replayed.
+ *
+ * Only the owning shard thread appends. Records appended since the last successful {@link #force()} can be
+ * discarded again, so a transfer whose caller is told it failed is never replayed; a segment is therefore only
+ * rolled by a force, once it has reached the segment size, and never holds part of an unforced group. A segment
+ * is deleted once it has been rolled and every transfer in it has been persisted. Segment layout: int magic, int version, int shard, long creation epoch millis, then records
+ * of [int payload length][int payload CRC32][payload]; a torn record at the tail ends the segment.
+ *
+ * Settled transfers the database refuses are parked in a dead-letter file of the same layout, with shard -1, which is
+ * never recovered or deleted: its transfers are left for an operator, who can list them with {@link #read}.
+ */
+@Slf4j
+class LedgerJournal {
+
+    static final int MAGIC = 0x4C44474A; // "LDGJ"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 20;
+    private static final String SUFFIX = ".journal";
+    static final String DEAD_LETTERS = "ledger-dead-letters.parked";
+
+    /**
+     * A segment file and the number of its transfers not yet persisted.
+     */
+    static final class Segment {
+        private final Path path;
+        private final AtomicInteger unpersisted = new AtomicInteger();
+        private volatile boolean closed;
+
+        private Segment(Path path) {
+            this.path = path;
+        }
+
+        void persisted() {
+            if (unpersisted.decrementAndGet() == 0 && closed) {
+                delete();
+            }
+        }
+
+        private void close() {
+            closed = true;
+            if (unpersisted.get() == 0) {
+                delete();
+            }
+        }
+
+        private void delete() {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("Unable to delete persisted ledger journal segment {}: {}", path, e.getMessage());
+            }
+        }
+    }
+
+    private final Path directory;
+    private final int shard;
+    private final long segmentBytes;
+    private ByteBuffer buffer = ByteBuffer.allocate(4096);
+    private FileChannel channel;
+    private Segment segment;
+    private long forcedPosition;
+    private boolean unusable;
+
+    LedgerJournal(Path directory, int shard, long segmentBytes) {
+        this.directory = directory;
+        this.shard = shard;
+        this.segmentBytes = segmentBytes;
+    }
+
+    void open() throws IOException {
+        var file = directory.resolve("ledger-" + shard + "-" + System.currentTimeMillis() + SUFFIX);
+        for (int suffix = 1; Files.exists(file); suffix++) {
+            file = directory.resolve("ledger-" + shard + "-" + System.currentTimeMillis() + "-" + suffix + SUFFIX);
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        segment = new Segment(file);
+        write(channel, header(shard));
+        forcedPosition = channel.position();
+    }
+
+    /**
+     * Appends a settled transfer. The record is durable only after the next {@link #force()}.
+     *
+     * @return the segment holding the record; call {@link Segment#persisted()} once the transfer is in the database.
+     */
+    Segment append(Transaction transaction) throws IOException {
+        if (unusable) {
+            throw new IOException("Ledger journal of shard " + shard + " is unusable after an I/O failure");
+        }
+        final var record = record(transaction);
+        final var start = channel.position();
+        try {
+            write(channel, record);
+        } catch (IOException e) {
+            // A torn record would hide every record after it from recovery
+            truncate(start);
+            throw e;
+        }
+        segment.unpersisted.incrementAndGet();
+        return segment;
+    }
+
+    /**
+     * Makes every appended record durable, then rolls the segment if it has reached the segment size.
+     */
+    void force() throws IOException {
+        channel.force(false);
+        forcedPosition = channel.position();
+        if (forcedPosition >= segmentBytes) {
+            try {
+                roll();
+            } catch (IOException e) {
+                // The group is durable already; only later appends are refused
+                unusable = true;
+                log.error("Unable to roll ledger journal segment of shard {}: {}", shard, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Removes the records appended since the last successful {@link #force()}, after forcing them failed, so they
+     * are not replayed as settled transfers on the next start. The callers release the records from their segment.
+     * If even that fails the journal refuses further appends.
+     */
+    void discardUnforced() throws IOException {
+        truncate(forcedPosition);
+    }
+
+    private void truncate(long position) throws IOException {
+        try {
+            channel.truncate(position);
+            channel.position(position);
+        } catch (IOException e) {
+            unusable = true;
+            throw e;
+        }
+    }
+
+    void close() throws IOException {
+        channel.force(false);
+        channel.close();
+        segment.close();
+    }
+
+    private void roll() throws IOException {
+        close();
+        open();
+    }
+
+    /**
+     * Appends a settled transfer to the dead-letter file of a journal directory and forces it.
+     */
+    static void deadLetter(Path directory, Transaction transaction) throws IOException {
+        try (var channel = FileChannel.open(directory.resolve(DEAD_LETTERS), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            if (channel.size() == 0) {
+                write(channel, header(-1));
+            }
+            write(channel, new LedgerJournal(directory, -1, Long.MAX_VALUE).record(transaction));
+            channel.force(false);
+        }
+    }
+
+    private static ByteBuffer header(int shard) {
+        return ByteBuffer.allocate(HEADER_BYTES)
+                .putInt(MAGIC).putInt(VERSION).putInt(shard).putLong(System.currentTimeMillis())
+                .flip();
+    }
+
+    private static void write(FileChannel channel, ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+
+    private ByteBuffer record(Transaction transaction) {
+        buffer.clear();
+        buffer.position(2 * Integer.BYTES);
+        encode(transaction);
+        final var payloadLength = buffer.position() - 2 * Integer.BYTES;
+        final var crc = new CRC32();
+        crc.update(buffer.array(), 2 * Integer.BYTES, payloadLength);
+        return buffer.putInt(0, payloadLength).putInt(Integer.BYTES, (int) crc.getValue()).flip();
+    }
+
+    private void encode(Transaction transaction) {
+        putString(transaction.getReference());
+        putString(transaction.getSourceAccountNumber());
+        putString(transaction.getDestinationAccountNumber());
+        putString(transaction.getAmount().toPlainString());
+        putString(transaction.getFee().toPlainString());
+        putString(transaction.getBilledAmount().toPlainString());
+        putString(transaction.getCurrency() == null ? null : transaction.getCurrency().name());
+        putString(transaction.getDescription());
+        putString(transaction.getCreatedAt().toString());
+    }
+
+    private void putString(String value) {
+        if (value == null) {
+            ensureCapacity(Integer.BYTES);
+            buffer.putInt(-1);
+            return;
+        }
+        final var bytes = value.getBytes(StandardCharsets.UTF_8);
+        ensureCapacity(Integer.BYTES + bytes.length);
+        buffer.putInt(bytes.length).put(bytes);
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (buffer.remaining() < bytes) {
+            final var grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+            grown.put(buffer.flip());
+            buffer = grown;
+        }
+    }
+
+    /**
+     * Lists the segments left in a journal directory by a previous run.
+     */
+    static List<Path> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+        }
+    }
+
+    /**
+     * Reads every intact record of a segment as a SUCCESSFUL transaction, stopping at the first torn record.
+     */
+    static List<Transaction> read(Path segment) throws IOException {
+        final var transactions = new ArrayList<Transaction>();
+        final var buffer = ByteBuffer.wrap(Files.readAllBytes(segment));
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a ledger journal segment: " + segment);
+        }
+        final var version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported ledger journal version " + version + " in " + segment);
+        }
+        buffer.position(HEADER_BYTES);
+
+        while (buffer.remaining() >= 2 * Integer.BYTES) {
+            final var length = buffer.getInt();
+            final var expectedCrc = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining()) {
+                log.warn("Ledger journal segment {} ends with a torn record", segment);
+                break;
+            }
+            final var crc = new CRC32();
+            crc.update(buffer.array(), buffer.position(), length);
+            if ((int) crc.getValue() != expectedCrc) {
+                log.warn("Ledger journal segment {} ends with a corrupt record", segment);
+                break;
+            }
+            try {
+                transactions.add(decode(buffer.slice(buffer.position(), length)));
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                throw new IOException("Undecodable record in ledger journal segment " + segment, e);
+            }
+            buffer.position(buffer.position() + length);
+        }
+        return transactions;
+    }
+
+    private static Transaction decode(ByteBuffer payload) {
+        final var reference = getString(payload);
+        final var source = getString(payload);
+        final var destination = getString(payload);
+        final var amount = new BigDecimal(getString(payload));
+        final var fee = new BigDecimal(getString(payload));
+        final var billedAmount = new BigDecimal(getString(payload));
+        final var currency = getString(payload);
+        final var description = getString(payload);
+        final var createdAt = LocalDateTime.parse(getString(payload));
+        return Transaction.builder()
+                .reference(reference)
+                .sourceAccountNumber(source)
+                .destinationAccountNumber(destination)
+                .amount(amount)
+                .fee(fee)
+                .billedAmount(billedAmount)
+                .currency(currency == null ? null : CurrencyEnum.valueOf(currency))
+                .description(description)
+                .createdAt(createdAt)
+                .status(StatusEnum.SUCCESSFUL)
+                .statusMessage("Transaction Successful")
+                .build();
+    }
+
+    private static String getString(ByteBuffer payload) {
+        final var length = payload.getInt();
+        if (length < 0) {
+            return null;
+        }
+        final var bytes = new byte[length];
+        payload.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
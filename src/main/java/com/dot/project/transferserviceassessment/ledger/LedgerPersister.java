@@ -0,0 +1,295 @@
+package com.dot.project.transferserviceassessment.ledger;
+
+import com.dot.project.transferserviceassessment.constant.StatusEnum;
+import com.dot.project.transferserviceassessment.dao.entity.Transaction;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionAccountRepository;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionRepository;
+import com.dot.project.transferserviceassessment.service.FeeScheduleService;
+import com.dot.project.transferserviceassessment.service.TransactionRollupService;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Writes ledger outcomes to the database behind the shards. Each batch nets the balance movements of its settled
+ * transfers to one update per account and inserts all transaction records and their hourly rollups, in a single
+ * database transaction, so the stored balances and summaries always match the stored transactions.
+ *
+ * A batch that fails because the database is unreachable or busy is retried until it succeeds; the journal keeps its
+ * transfers recoverable meanwhile. A batch the database refuses, such as one breaking a constraint or moving money
+ * for an account it does not hold, is tried app.ledger-persist-max-attempts times and then split in halves until the
+ * refused transfers are isolated, so one bad transfer does not stall the others. An isolated settled transfer is
+ * parked in the journal's dead-letter file and handed to onDeadLetter; an isolated rejected transfer moved no money
+ * and is only logged.
+ */
+@Slf4j
+final class LedgerPersister implements Runnable {
+
+    private static final long IDLE_PARK_NANOS = 1_000_000;
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 5_000;
+
+    private final TransactionAccountRepository transactionAccountRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionRollupService rollupService;
+    private final FeeScheduleService feeScheduleService;
+    private final Path journalDirectory;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Timer batchTimer;
+    private final ConcurrentLinkedQueue<LedgerEntry> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicInteger failedAttempts = new AtomicInteger();
+    private Consumer<List<LedgerEntry>> onPersisted;
+    private Consumer<List<LedgerEntry>> onDuplicate;
+    private Consumer<LedgerEntry> onDeadLetter;
+    private volatile boolean running;
+    private Thread thread;
+
+    LedgerPersister(TransactionAccountRepository transactionAccountRepository, TransactionRepository transactionRepository,
+                    TransactionTemplate transactionTemplate, TransactionRollupService rollupService,
+                    FeeScheduleService feeScheduleService, Path journalDirectory, int batchSize, int maxAttempts,
+                    Timer batchTimer) {
+        this.transactionAccountRepository = transactionAccountRepository;
+        this.transactionRepository = transactionRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.rollupService = rollupService;
+        this.feeScheduleService = feeScheduleService;
+        this.journalDirectory = journalDirectory;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.batchTimer = batchTimer;
+    }
+
+    /**
+     * Starts the writer thread; onPersisted receives every batch after it commits, onDuplicate the entries that
+     * were skipped because their reference is already recorded, and onDeadLetter every entry the database refused.
+     */
+    void start(Consumer<List<LedgerEntry>> onPersisted, Consumer<List<LedgerEntry>> onDuplicate,
+               Consumer<LedgerEntry> onDeadLetter) {
+        this.onPersisted = onPersisted;
+        this.onDuplicate = onDuplicate;
+        this.onDeadLetter = onDeadLetter;
+        running = true;
+        thread = new Thread(this, "ledger-persister");
+        thread.start();
+    }
+
+    /**
+     * Writes transfers recovered from the journal before the writer thread starts, isolating and parking the ones the
+     * database refuses as the writer does, so one of them cannot keep the node from starting.
+     *
+     * @return the number of transfers written.
+     */
+    int recover(List<LedgerEntry> batch) {
+        final var written = new AtomicInteger();
+        onPersisted = entries -> written.addAndGet(entries.size());
+        onDuplicate = entries -> { };
+        onDeadLetter = entry -> { };
+        persistWithRetry(batch);
+        return written.get();
+    }
+
+    void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(thread);
+        thread.join(MAX_RETRY_BACKOFF_MILLIS * 2);
+        if (thread.isAlive()) {
+            // Still retrying a failed batch; its transfers stay in the journal for the next start
+            thread.interrupt();
+            thread.join();
+        }
+    }
+
+    void submit(LedgerEntry entry) {
+        queue.offer(entry);
+        queueDepth.incrementAndGet();
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Entries submitted and not yet taken into a batch.
+     */
+    int queueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * Consecutive failed attempts at the batch being written; zero while batches are being written.
+     */
+    int failedAttempts() {
+        return failedAttempts.get();
+    }
+
+    @Override
+    public void run() {
+        final var batch = new ArrayList<LedgerEntry>(batchSize);
+        while (running || !queue.isEmpty()) {
+            LedgerEntry entry;
+            while (batch.size() < batchSize && (entry = queue.poll()) != null) {
+                queueDepth.decrementAndGet();
+                batch.add(entry);
+            }
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            if (!persistWithRetry(batch)) {
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * @return false if the thread was interrupted while backing off.
+     */
+    private boolean persistWithRetry(List<LedgerEntry> batch) {
+        var backoff = 10L;
+        var refusals = 0;
+        List<LedgerEntry> duplicates = null;
+        while (duplicates == null) {
+            try {
+                duplicates = batchTimer.record(() -> persist(batch));
+            } catch (RuntimeException e) {
+                failedAttempts.incrementAndGet();
+                if (!isTransient(e) && ++refusals >= maxAttempts) {
+                    log.error("Database refused a batch of {} ledger transactions {} times, isolating the failing ones: {}",
+                            batch.size(), refusals, e.getMessage());
+                    return batch.size() == 1 ? deadLetter(batch.get(0), e) : split(batch);
+                }
+                log.error("Unable to persist a batch of {} ledger transactions, retrying in {} ms: {}",
+                        batch.size(), backoff, e.getMessage());
+                if (!sleep(backoff)) {
+                    return false;
+                }
+                backoff = Math.min(backoff * 2, MAX_RETRY_BACKOFF_MILLIS);
+            }
+        }
+        failedAttempts.set(0);
+
+        if (!duplicates.isEmpty()) {
+            onDuplicate.accept(duplicates);
+            batch.removeAll(duplicates);
+        }
+        onPersisted.accept(batch);
+        return true;
+    }
+
+    private boolean split(List<LedgerEntry> batch) {
+        final var half = batch.size() / 2;
+        return persistWithRetry(new ArrayList<>(batch.subList(0, half)))
+                && persistWithRetry(new ArrayList<>(batch.subList(half, batch.size())));
+    }
+
+    private boolean deadLetter(LedgerEntry entry, RuntimeException cause) {
+        final var transaction = entry.transaction();
+        if (StatusEnum.SUCCESSFUL.equals(transaction.getStatus())) {
+            var backoff = 10L;
+            while (true) {
+                try {
+                    LedgerJournal.deadLetter(journalDirectory, transaction);
+                    break;
+                } catch (IOException e) {
+                    // Until it is parked the transfer is only safe in its journal segment
+                    log.error("Unable to park ledger transaction {} in the dead-letter file, retrying in {} ms: {}",
+                            transaction.getReference(), backoff, e.getMessage());
+                    if (!sleep(backoff)) {
+                        return false;
+                    }
+                    backoff = Math.min(backoff * 2, MAX_RETRY_BACKOFF_MILLIS);
+                }
+            }
+            log.error("Parked settled ledger transaction {} in the dead-letter file: {}", transaction.getReference(),
+                    cause.getMessage());
+        } else {
+            log.error("Dropped rejected ledger transaction {}, which moved no money: {}", transaction.getReference(),
+                    cause.getMessage());
+        }
+        failedAttempts.set(0);
+        onDeadLetter.accept(entry);
+        return true;
+    }
+
+    /**
+     * Whether a failure is the database being unreachable or busy rather than refusing the batch itself.
+     */
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException || e instanceof CannotCreateTransactionException;
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Persists a batch in one database transaction, skipping transactions whose reference is already recorded.
+     *
+     * @return the skipped entries.
+     */
+    List<LedgerEntry> persist(List<LedgerEntry> batch) {
+        final var existingReferences = new HashSet<>(transactionRepository.findExistingReferences(
+                batch.stream().map(entry -> entry.transaction().getReference()).toList()));
+        final var duplicates = new ArrayList<LedgerEntry>();
+        final var transactions = new ArrayList<Transaction>(batch.size());
+        for (LedgerEntry entry : batch) {
+            if (existingReferences.contains(entry.transaction().getReference())) {
+                duplicates.add(entry);
+            } else {
+                // Accrued here rather than on the shards so recovered journal entries earn it too
+                feeScheduleService.accrueCommission(entry.transaction());
+                transactions.add(entry.transaction());
+            }
+        }
+        if (transactions.isEmpty()) {
+            return duplicates;
+        }
+
+        // Sorted so that concurrent writers touching the same accounts always update them in the same order
+        final Map<String, BigDecimal> netMovements = new TreeMap<>();
+        transactions.stream()
+                .filter(transaction -> StatusEnum.SUCCESSFUL.equals(transaction.getStatus()))
+                .forEach(transaction -> {
+                    netMovements.merge(transaction.getSourceAccountNumber(),
+                            LedgerShard.stored(transaction.getBilledAmount()).negate(), BigDecimal::add);
+                    netMovements.merge(transaction.getDestinationAccountNumber(),
+                            LedgerShard.stored(transaction.getAmount()), BigDecimal::add);
+                });
+
+        transactionTemplate.executeWithoutResult(txStatus -> {
+            netMovements.forEach((accountNumber, delta) -> {
+                if (delta.signum() != 0 && transactionAccountRepository.applyBalanceDelta(accountNumber, delta) == 0) {
+                    // Rolls back the batch; its transaction records must not land without their money
+                    throw new IllegalStateException("Ledger movement of " + delta + " for account " + accountNumber
+                            + " has no account to land on");
+                }
+            });
+            transactionRepository.insertAll(transactions);
+            rollupService.record(transactions);
+        });
+        return duplicates;
+    }
+}
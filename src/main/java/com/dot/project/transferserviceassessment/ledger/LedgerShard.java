@@ -0,0 +1,233 @@
+package com.dot.project.transferserviceassessment.ledger;
+
+import com.dot.project.transferserviceassessment.audit.TransferAuditJournal;
+import com.dot.project.transferserviceassessment.constant.AuditEventEnum;
+import com.dot.project.transferserviceassessment.constant.StatusEnum;
+import com.dot.project.transferserviceassessment.dao.entity.Transaction;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionAccountRepository;
+import com.dot.project.transferserviceassessment.exception.AccountNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * One partition of the in-memory ledger. The balances of the accounts hashed to this shard are only ever read
+ * and written by its writer thread, which takes commands from a lock-free queue, so no locking is needed.
+ *
+ * A transfer is debited on the shard of its source account. Debits drained together are journaled and forced
+ * to disk as one group before their callers are answered; only then is the credit handed to the shard of the
+ * destination account, which in turn hands the transfer to the persister. An account is loaded from the
+ * database the first time its shard touches it, which is always before any of its movements is persisted.
+ */
+@Slf4j
+final class LedgerShard implements Runnable {
+
+    private static final int MAX_GROUP_SIZE = 256;
+    private static final long IDLE_PARK_NANOS = 1_000_000;
+    private static final int STORED_SCALE = 2;
+
+    sealed interface Command permits Debit, Credit, Adjust {
+    }
+
+    record Debit(Transaction transaction, CompletableFuture<Boolean> result) implements Command {
+    }
+
+    record Credit(LedgerEntry entry) implements Command {
+    }
+
+    record Adjust(String accountNumber, BigDecimal delta) implements Command {
+    }
+
+    private record Journaled(Debit debit, LedgerEntry entry) {
+    }
+
+    private final int index;
+    private final LedgerTransferEngine engine;
+    private final LedgerJournal journal;
+    private final LedgerPersister persister;
+    private final TransactionAccountRepository transactionAccountRepository;
+    private final TransferAuditJournal auditJournal;
+    private final ConcurrentLinkedQueue<Command> queue = new ConcurrentLinkedQueue<>();
+    private final Map<String, BigDecimal> balances = new HashMap<>();
+    private final List<Journaled> awaitingForce = new ArrayList<>();
+    private volatile boolean running;
+    private Thread thread;
+
+    LedgerShard(int index, LedgerTransferEngine engine, LedgerJournal journal, LedgerPersister persister,
+                TransactionAccountRepository transactionAccountRepository, TransferAuditJournal auditJournal) {
+        this.index = index;
+        this.engine = engine;
+        this.journal = journal;
+        this.persister = persister;
+        this.transactionAccountRepository = transactionAccountRepository;
+        this.auditJournal = auditJournal;
+    }
+
+    void start() throws IOException {
+        journal.open();
+        running = true;
+        thread = new Thread(this, "ledger-shard-" + index);
+        thread.start();
+    }
+
+    void stop() throws InterruptedException, IOException {
+        running = false;
+        LockSupport.unpark(thread);
+        thread.join();
+        journal.close();
+    }
+
+    void submit(Command command) {
+        queue.offer(command);
+        LockSupport.unpark(thread);
+    }
+
+    @Override
+    public void run() {
+        while (running || !queue.isEmpty()) {
+            final var command = queue.poll();
+            if (command == null) {
+                if (awaitingForce.isEmpty()) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                } else {
+                    commit();
+                }
+                continue;
+            }
+            apply(command);
+            if (awaitingForce.size() >= MAX_GROUP_SIZE) {
+                commit();
+            }
+        }
+        commit();
+    }
+
+    private void apply(Command command) {
+        switch (command) {
+            case Debit debit -> debit(debit);
+            case Credit credit -> credit(credit.entry());
+            case Adjust adjust -> adjust(adjust.accountNumber(), adjust.delta());
+        }
+    }
+
+    private void debit(Debit debit) {
+        final var transaction = debit.transaction();
+        try {
+            final var balance = balance(transaction.getSourceAccountNumber());
+            final var billedAmount = stored(transaction.getBilledAmount());
+            if (balance.compareTo(billedAmount) < 0) {
+                debit.result().complete(false);
+                return;
+            }
+            transaction.setStatus(StatusEnum.SUCCESSFUL);
+            transaction.setStatusMessage("Transaction Successful");
+            final var segment = journal.append(transaction);
+            balances.put(transaction.getSourceAccountNumber(), balance.subtract(billedAmount));
+            awaitingForce.add(new Journaled(debit, new LedgerEntry(transaction, segment)));
+        } catch (IOException e) {
+            debit.result().completeExceptionally(new UncheckedIOException("Unable to journal transfer", e));
+        } catch (RuntimeException e) {
+            debit.result().completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Forces the journaled debits to disk, answers their callers and forwards their credits.
+     */
+    private void commit() {
+        if (awaitingForce.isEmpty()) {
+            return;
+        }
+        try {
+            journal.force();
+        } catch (IOException e) {
+            log.error("Unable to force ledger journal of shard {}, failing {} transfers: {}",
+                    index, awaitingForce.size(), e.getMessage());
+            discardUnforced();
+            awaitingForce.forEach(journaled -> {
+                final var transaction = journaled.entry().transaction();
+                balances.merge(transaction.getSourceAccountNumber(), stored(transaction.getBilledAmount()), BigDecimal::add);
+                journaled.entry().segment().persisted();
+                journaled.debit().result().completeExceptionally(new UncheckedIOException("Unable to journal transfer", e));
+            });
+            awaitingForce.clear();
+            return;
+        }
+
+        for (Journaled journaled : awaitingForce) {
+            final var transaction = journaled.entry().transaction();
+            audit(AuditEventEnum.DEBITED, transaction, transaction.getBilledAmount());
+            journaled.debit().result().complete(true);
+            engine.shardFor(transaction.getDestinationAccountNumber()).submit(new Credit(journaled.entry()));
+        }
+        awaitingForce.clear();
+    }
+
+    private void discardUnforced() {
+        try {
+            journal.discardUnforced();
+        } catch (IOException e) {
+            log.error("Unable to discard the failed group from the ledger journal of shard {}; these references would be "
+                            + "replayed as settled on restart unless recorded as failed: {}", index,
+                    awaitingForce.stream().map(journaled -> journaled.entry().transaction().getReference()).toList());
+        }
+    }
+
+    private void credit(LedgerEntry entry) {
+        final var transaction = entry.transaction();
+        try {
+            balances.put(transaction.getDestinationAccountNumber(),
+                    balance(transaction.getDestinationAccountNumber()).add(stored(transaction.getAmount())));
+            audit(AuditEventEnum.CREDITED, transaction, transaction.getAmount());
+        } catch (RuntimeException e) {
+            // The debit is journaled and acknowledged; the persister still applies both sides to the database
+            log.error("Unable to credit ledger account {} for reference {}: {}",
+                    transaction.getDestinationAccountNumber(), transaction.getReference(), e.getMessage());
+        }
+        persister.submit(entry);
+    }
+
+    private void adjust(String accountNumber, BigDecimal delta) {
+        try {
+            final var balance = balance(accountNumber).add(stored(delta));
+            balances.put(accountNumber, balance);
+            if (balance.signum() < 0) {
+                log.error("Ledger account {} is overdrawn after a reversal: {}", accountNumber, balance);
+            }
+        } catch (RuntimeException e) {
+            log.error("Unable to adjust ledger account {} by {}: {}", accountNumber, delta, e.getMessage());
+        }
+    }
+
+    private BigDecimal balance(String accountNumber) {
+        var balance = balances.get(accountNumber);
+        if (balance == null) {
+            balance = transactionAccountRepository.findBalanceByAccountNumber(accountNumber)
+                    .orElseThrow(() -> new AccountNotFoundException("No active account found with number: " + accountNumber));
+            balances.put(accountNumber, balance);
+        }
+        return balance;
+    }
+
+    /**
+     * Balances, amounts and fees are stored with two decimals. Moving exactly the stored amounts keeps the in-memory
+     * balances, the netted database balances and the transaction records in agreement.
+     */
+    static BigDecimal stored(BigDecimal amount) {
+        return amount.setScale(STORED_SCALE, RoundingMode.HALF_UP);
+    }
+
+    private void audit(AuditEventEnum event, Transaction transaction, BigDecimal amount) {
+        auditJournal.append(event, transaction.getReference(), transaction.getSourceAccountNumber(),
+                transaction.getDestinationAccountNumber(), amount, null);
+    }
+}
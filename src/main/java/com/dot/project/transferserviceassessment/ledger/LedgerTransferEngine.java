@@ -0,0 +1,269 @@
+package com.dot.project.transferserviceassessment.ledger;
+
+import com.dot.project.transferserviceassessment.audit.TransferAuditJournal;
+import com.dot.project.transferserviceassessment.config.ExternalRequestProperties;
+import com.dot.project.transferserviceassessment.constant.AuditEventEnum;
+import com.dot.project.transferserviceassessment.constant.StatusEnum;
+import com.dot.project.transferserviceassessment.constant.TransferStageEnum;
+import com.dot.project.transferserviceassessment.dao.entity.Transaction;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionAccountRepository;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionRepository;
+import com.dot.project.transferserviceassessment.service.FeeScheduleService;
+import com.dot.project.transferserviceassessment.service.TransactionRollupService;
+import com.dot.project.transferserviceassessment.service.TransferEngine;
+import com.dot.project.transferserviceassessment.service.TransferMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import static com.dot.project.transferserviceassessment.scheduler.ScheduledTasks.ZONE_ID;
+
+/**
+ * Settles transfers against in-memory balances partitioned by account number hash, one writer thread per shard,
+ * and writes the results to the database in batches behind a durable journal.
+ *
+ * A caller is answered once its transfer is debited and forced to the journal of the source account's shard; the
+ * credit and the database write follow asynchronously. On startup, journaled transfers that never reached the
+ * database are written before any balance is loaded. The engine owns the balances it has loaded, so ledger mode
+ * must run on a single instance and nothing else may move money in the database while it runs.
+ *
+ * References are reserved from settlement until their record is written. References that were already recorded
+ * before this node saw them (older than app.idempotency-seed-hours) are only detected by the persister, which
+ * reverses such a transfer in memory instead of writing it.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "app", name = "transfer-engine", havingValue = "ledger")
+public class LedgerTransferEngine implements TransferEngine {
+
+    private static final long STOP_TIMEOUT_SECONDS = 30;
+
+    private final ExternalRequestProperties properties;
+    private final TransferAuditJournal auditJournal;
+    private final LedgerShard[] shards;
+    private final LedgerPersister persister;
+    private final Set<String> pendingReferences = ConcurrentHashMap.newKeySet();
+    private final Counter reversals;
+    private final Counter deadLetters;
+    private final TransferMetrics transferMetrics;
+    private volatile boolean accepting;
+
+    public LedgerTransferEngine(ExternalRequestProperties properties, TransactionAccountRepository transactionAccountRepository,
+                                TransactionRepository transactionRepository, TransactionTemplate transactionTemplate,
+                                TransactionRollupService rollupService, FeeScheduleService feeScheduleService,
+                                TransferAuditJournal auditJournal, TransferMetrics transferMetrics,
+                                MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.auditJournal = auditJournal;
+        this.transferMetrics = transferMetrics;
+        final var directory = Path.of(properties.getLedgerJournalDirectory());
+        this.persister = new LedgerPersister(transactionAccountRepository, transactionRepository, transactionTemplate,
+                rollupService, feeScheduleService, directory, properties.getLedgerPersistBatchSize(),
+                properties.getLedgerPersistMaxAttempts(),
+                Timer.builder("transfer.ledger.persist.batch")
+                        .description("Time to write one batch of ledger transactions to the database")
+                        .register(meterRegistry));
+        this.shards = new LedgerShard[Math.max(1, properties.getLedgerShards())];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new LedgerShard(i, this, new LedgerJournal(directory, i, properties.getLedgerJournalSegmentBytes()),
+                    persister, transactionAccountRepository, auditJournal);
+        }
+        this.reversals = Counter.builder("transfer.ledger.reversals")
+                .description("Settled transfers reversed because their reference was already recorded")
+                .register(meterRegistry);
+        this.deadLetters = Counter.builder("transfer.ledger.dead.letters")
+                .description("Transactions the database refused, parked in the journal's dead-letter file")
+                .register(meterRegistry);
+        Gauge.builder("transfer.ledger.pending", pendingReferences, Set::size)
+                .description("Transactions settled or rejected by the ledger and not yet written to the database")
+                .register(meterRegistry);
+        Gauge.builder("transfer.ledger.persist.queue", persister, LedgerPersister::queueDepth)
+                .description("Transactions waiting for the ledger persister to take them into a batch")
+                .register(meterRegistry);
+        Gauge.builder("transfer.ledger.persist.failed.attempts", persister, LedgerPersister::failedAttempts)
+                .description("Consecutive failed attempts at the batch the ledger persister is writing")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        final var directory = Path.of(properties.getLedgerJournalDirectory());
+        Files.createDirectories(directory);
+        recover(directory);
+        for (LedgerShard shard : shards) {
+            shard.start();
+        }
+        persister.start(this::persisted, this::duplicated, this::deadLettered);
+        accepting = true;
+        log.info("Ledger transfer engine started. Shards = {}, Journal = {}", shards.length, directory);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        accepting = false;
+        if (!awaitPending(TimeUnit.SECONDS.toNanos(STOP_TIMEOUT_SECONDS))) {
+            log.warn("Stopping ledger engine with {} transactions not yet persisted; they will be recovered from the journal",
+                    pendingReferences.size());
+        }
+        for (LedgerShard shard : shards) {
+            shard.stop();
+        }
+        persister.stop();
+        log.info("Ledger transfer engine stopped");
+    }
+
+    @Override
+    public boolean settle(Transaction transaction) {
+        if (!accepting) {
+            throw new IllegalStateException("Ledger engine is not accepting transfers");
+        }
+        reserve(transaction);
+
+        final var result = new CompletableFuture<Boolean>();
+        // The debit stage covers the wait for the shard and the journal force; credit and persist are asynchronous
+        final var debit = Timer.start();
+        shardFor(transaction.getSourceAccountNumber()).submit(new LedgerShard.Debit(transaction, result));
+        try {
+            final boolean settled = result.join();
+            debit.stop(transferMetrics.stage(TransferStageEnum.DEBIT));
+            if (!settled) {
+                pendingReferences.remove(transaction.getReference());
+            }
+            return settled;
+        } catch (CompletionException e) {
+            pendingReferences.remove(transaction.getReference());
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    @Override
+    public void recordFailure(Transaction transaction) {
+        reserve(transaction);
+        persister.submit(new LedgerEntry(transaction, null));
+    }
+
+    @Override
+    public void flush() {
+        awaitPending(Long.MAX_VALUE);
+    }
+
+    LedgerShard shardFor(String accountNumber) {
+        final var hash = accountNumber.hashCode();
+        return shards[Math.floorMod(hash ^ (hash >>> 16), shards.length)];
+    }
+
+    private void reserve(Transaction transaction) {
+        if (!pendingReferences.add(transaction.getReference())) {
+            throw new DuplicateKeyException("Transaction reference is already being settled: " + transaction.getReference());
+        }
+        if (transaction.getCreatedAt() == null) {
+            transaction.setCreatedAt(LocalDateTime.now(ZONE_ID));
+        }
+    }
+
+    private boolean awaitPending(long timeoutNanos) {
+        final var startedAt = System.nanoTime();
+        while (!pendingReferences.isEmpty()) {
+            if (System.nanoTime() - startedAt > timeoutNanos) {
+                return false;
+            }
+            LockSupport.parkNanos(1_000_000);
+        }
+        return true;
+    }
+
+    private void persisted(List<LedgerEntry> entries) {
+        for (LedgerEntry entry : entries) {
+            final var transaction = entry.transaction();
+            if (entry.segment() != null) {
+                entry.segment().persisted();
+                auditJournal.append(AuditEventEnum.PERSISTED, transaction.getReference(), transaction.getSourceAccountNumber(),
+                        transaction.getDestinationAccountNumber(), transaction.getAmount(), transaction.getStatusMessage());
+            }
+            pendingReferences.remove(transaction.getReference());
+        }
+    }
+
+    private void duplicated(List<LedgerEntry> entries) {
+        for (LedgerEntry entry : entries) {
+            final var transaction = entry.transaction();
+            if (StatusEnum.SUCCESSFUL.equals(transaction.getStatus())) {
+                log.error("Settled transfer reuses an already recorded reference and is reversed. Reference = {}",
+                        transaction.getReference());
+                reverse(entry, "Reference already recorded, reversed");
+                reversals.increment();
+            }
+            pendingReferences.remove(transaction.getReference());
+        }
+    }
+
+    /**
+     * A transfer the database refused is reversed in memory, so the ledger keeps agreeing with the database, and
+     * left to an operator in the dead-letter file.
+     */
+    private void deadLettered(LedgerEntry entry) {
+        final var transaction = entry.transaction();
+        if (StatusEnum.SUCCESSFUL.equals(transaction.getStatus())) {
+            reverse(entry, "Refused by the database, reversed and parked");
+        }
+        deadLetters.increment();
+        pendingReferences.remove(transaction.getReference());
+    }
+
+    private void reverse(LedgerEntry entry, String detail) {
+        final var transaction = entry.transaction();
+        shardFor(transaction.getSourceAccountNumber()).submit(
+                new LedgerShard.Adjust(transaction.getSourceAccountNumber(), transaction.getBilledAmount()));
+        shardFor(transaction.getDestinationAccountNumber()).submit(
+                new LedgerShard.Adjust(transaction.getDestinationAccountNumber(), transaction.getAmount().negate()));
+        auditJournal.append(AuditEventEnum.FAILED, transaction.getReference(), transaction.getSourceAccountNumber(),
+                transaction.getDestinationAccountNumber(), transaction.getAmount(), detail);
+        if (entry.segment() != null) {
+            entry.segment().persisted();
+        }
+    }
+
+    /**
+     * Writes the transfers journaled by a previous run that are not in the database yet, then removes their segments.
+     */
+    private void recover(Path directory) throws IOException {
+        final var segments = LedgerJournal.segments(directory);
+        if (segments.isEmpty()) {
+            return;
+        }
+        final var batchSize = Math.max(1, properties.getLedgerPersistBatchSize());
+        var recovered = 0;
+        for (Path segment : segments) {
+            final var entries = LedgerJournal.read(segment).stream()
+                    .map(transaction -> new LedgerEntry(transaction, null))
+                    .toList();
+            for (int from = 0; from < entries.size(); from += batchSize) {
+                final var batch = new ArrayList<>(entries.subList(from, Math.min(entries.size(), from + batchSize)));
+                recovered += persister.recover(batch);
+            }
+        }
+        for (Path segment : segments) {
+            Files.delete(segment);
+        }
+        log.info("Ledger journal recovery wrote {} transfers from {} segments", recovered, segments.size());
+    }
+}
@@ -0,0 +1,104 @@
+package com.dot.project.transferserviceassessment.scheduler;
+
+import com.dot.project.transferserviceassessment.config.ExternalRequestProperties;
+import com.dot.project.transferserviceassessment.dao.repository.JobLeaseRepository;
+import io.micrometer.common.util.StringUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import static com.dot.project.transferserviceassessment.scheduler.ScheduledTasks.ZONE_ID;
+
+/**
+ * Runs a scheduled job on one node of the cluster at a time, coordinated through the job_lease table.
+ *
+ * A node runs the job only if it takes the job's lease; the others skip that trigger. The lease is taken for
+ * app.job-lease-at-most-for-seconds and extended by a heartbeat while the job runs, so the lease of a node that dies
+ * runs out and is reclaimed by the next trigger on any node. When the job finishes the lease is kept until at least
+ * app.job-lease-at-least-for-seconds after it was taken, so nodes whose clocks fire the same trigger a little later
+ * do not run the job again. Lease times come from each node's clock, which must be kept in sync well within that
+ * window.
+ */
+@Slf4j
+@Component
+public class JobLeaseCoordinator {
+
+    private final JobLeaseRepository jobLeaseRepository;
+    private final ExternalRequestProperties properties;
+    private final String owner;
+    private final ScheduledExecutorService heartbeat;
+
+    public JobLeaseCoordinator(JobLeaseRepository jobLeaseRepository, ExternalRequestProperties properties) {
+        this.jobLeaseRepository = jobLeaseRepository;
+        this.properties = properties;
+        this.owner = StringUtils.isBlank(properties.getNodeId()) ? defaultNodeId() : properties.getNodeId();
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final var thread = new Thread(runnable, "job-lease-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Runs the job if this node takes its lease.
+     *
+     * @return whether this node ran the job.
+     */
+    public boolean runExclusively(String jobName, Runnable job) {
+        final var atMostFor = Duration.ofSeconds(properties.getJobLeaseAtMostForSeconds());
+        final var atLeastFor = Duration.ofSeconds(properties.getJobLeaseAtLeastForSeconds());
+        final var lockedAt = now();
+        if (!jobLeaseRepository.tryAcquire(jobName, owner, lockedAt, lockedAt.plus(atMostFor))) {
+            log.info("Skipping {}: its lease is held by another node", jobName);
+            return false;
+        }
+
+        log.info("Running {} under lease as {}", jobName, owner);
+        final var heartbeatMillis = Math.max(1, atMostFor.toMillis() / 3);
+        final var renewal = heartbeat.scheduleAtFixedRate(() -> {
+            final var now = now();
+            if (!jobLeaseRepository.extend(jobName, owner, now, now.plus(atMostFor))) {
+                log.error("Lost the lease of {} while running it; another node may run it concurrently", jobName);
+            }
+        }, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        try {
+            job.run();
+        } finally {
+            renewal.cancel(false);
+            final var minimumEnd = lockedAt.plus(atLeastFor);
+            final var now = now();
+            jobLeaseRepository.release(jobName, owner, minimumEnd.isAfter(now) ? minimumEnd : now);
+        }
+        return true;
+    }
+
+    public String owner() {
+        return owner;
+    }
+
+    @PreDestroy
+    public void stop() {
+        heartbeat.shutdownNow();
+    }
+
+    private static LocalDateTime now() {
+        return LocalDateTime.now(ZONE_ID);
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -1,71 +1,92 @@
 package com.dot.project.transferserviceassessment.scheduler;
 
 import com.dot.project.transferserviceassessment.config.ExternalRequestProperties;
-import com.dot.project.transferserviceassessment.constant.StatusEnum;
-import com.dot.project.transferserviceassessment.dao.entity.Transaction;
-import com.dot.project.transferserviceassessment.dao.repository.TransactionRepository;
+import com.dot.project.transferserviceassessment.jdbc.SqlStatementCounter;
+import com.dot.project.transferserviceassessment.jdbc.SqlStatementRecorder;
+import com.dot.project.transferserviceassessment.service.CommissionSettlementService;
+import com.dot.project.transferserviceassessment.service.TransactionRollupService;
 import com.dot.project.transferserviceassessment.service.TransactionService;
+import com.dot.project.transferserviceassessment.service.TransactionSummaryCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.LongSupplier;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class ScheduledTasks {
 
-    private final TransactionRepository transactionRepository;
-    private final ExternalRequestProperties properties;
     private final TransactionService transactionService;
+    private final TransactionRollupService rollupService;
+    private final CommissionSettlementService commissionSettlementService;
+    private final TransactionSummaryCache summaryCache;
+    private final JobLeaseCoordinator jobLeaseCoordinator;
+    private final MeterRegistry meterRegistry;
+    private final SqlStatementRecorder sqlStatementRecorder;
+    private final ExternalRequestProperties properties;
     public static final ZoneId ZONE_ID = ZoneId.of("Africa/Lagos");
+    // Held by every job that writes the rollups of a closed day, so a rebuild never overlaps a settlement
+    private static final String ROLLUP_LEASE = "rollups";
 
     /**
      * Processes commissions for successful transactions from the previous day.
      * This method is scheduled to run daily at 1 AM.
      * 
      * The process involves:
-     * 1. Retrieving all successful transactions from the previous day.
-     * 2. Calculating and setting the commission for each transaction.
-     * 3. Marking each processed transaction as commission-worthy.
-     * 4. Saving the updated transaction information.
+     * 1. Finding the id range of the successful transactions of each day to settle: every earlier day whose run
+     *    failed or died part-way, oldest first, then the previous day.
+     * 2. Settling the range in chunks: each chunk marks its transactions as commission-worthy and sets their
+     *    commission with one UPDATE, moves their hourly rollups by the change and records a checkpoint,
+     *    all in one database transaction.
+     * 3. Dropping the cached summary of each day.
      * 
      * The commission is calculated as a percentage of the transaction fee,
-     * where the percentage is defined in the application properties.
+     * where the percentage is defined by the current fee schedule.
      * 
-     * Any errors during the processing of individual transactions are logged,
-     * but do not stop the overall process.
+     * A run that fails part-way keeps the chunks it committed; the next run resumes after them, and a day that fails
+     * does not stop the days after it.
+     * Only the node holding the rollup lease runs it.
      */
     @Scheduled(cron = "0 0 1 * * ?") // Daily at 1 AM
     public void processCommissions() {
-        log.info("Starting commission processing task...");
-
-        LocalDateTime yesterdayStartOfDayMidnight = getYesterdayStartOfDay();
-        LocalDateTime yesterdayEndOfDay = getYesterdayEndOfDay();
-        log.info("Processing commissions for transactions created between: {} and {}",
-                yesterdayStartOfDayMidnight, yesterdayEndOfDay);
+        jobLeaseCoordinator.runExclusively(ROLLUP_LEASE, () -> timed("processCommissions", this::settleCommissions));
+    }
 
-        List<Transaction> successfulTransactions = transactionRepository.findByStatusAndCreatedAtBetween(
-                StatusEnum.SUCCESSFUL, yesterdayStartOfDayMidnight, yesterdayEndOfDay);
+    private long settleCommissions() {
+        log.info("Starting commission processing task...");
 
-        log.info("Found {} successful transactions for commission processing.", successfulTransactions.size());
+        LocalDate yesterday = getYesterdayStartOfDay().toLocalDate();
+        final List<LocalDate> days = new ArrayList<>(commissionSettlementService.incompleteDaysBefore(yesterday));
+        if (!days.isEmpty()) {
+            log.info("Resuming incomplete commission settlements for: {}", days);
+        }
+        days.add(yesterday);
 
-        for (Transaction transaction : successfulTransactions) {
+        long settled = 0;
+        for (LocalDate day : days) {
+            log.info("Processing commissions for transactions created on: {}", day);
             try {
-                transaction.setCommissionWorthy(true);
-                BigDecimal transactionFee = transaction.getFee();
-                transaction.setCommission(transactionFee.multiply(new BigDecimal(properties.getCommissionPercentage()))); // 20% of transaction fee
-                transactionRepository.save(transaction);
-                log.info("Commission processed for transaction ID: {}", transaction.getId());
+                settled += commissionSettlementService.settle(day);
             } catch (Exception e) {
-                log.error("Error processing commission for transaction ID: {} , {}", transaction.getId(), e.getMessage());
+                log.error("Error processing commissions for {}, the next run resumes from the last checkpoint: {}",
+                        day, e.getMessage());
             }
+            summaryCache.invalidate(day);
         }
+        return settled;
     }
 
 
@@ -81,28 +102,93 @@ public class ScheduledTasks {
      * 4. Placeholder for sending the summary via email (to be implemented).
      *
      * Note:
+     * - Only the node holding the job's lease runs it.
      * - Future enhancements can include sending the summary to a specified recipient via email.
      */
     @Scheduled(cron = "0 0 2 * * ?") // Daily at 2 AM
     public void generateDailySummary() {
+        jobLeaseCoordinator.runExclusively("generateDailySummary", () -> timed("generateDailySummary", this::summariseYesterday));
+    }
+
+    private long summariseYesterday() {
         log.info("Starting daily summary generation task...");
 
-        LocalDateTime yesterdayStartOfDayMidnight = getYesterdayStartOfDay();
-        LocalDateTime yesterdayEndOfDay = getYesterdayEndOfDay();
-        log.info("Generating daily summary for transactions created between: {} and {}",
-                yesterdayStartOfDayMidnight, yesterdayEndOfDay);
+        LocalDate yesterday = LocalDate.now(ZONE_ID).minusDays(1);
+        log.info("Generating daily summary for transactions created on: {}", yesterday);
 
-        final var summary = transactionService.getTransactionSummary(yesterdayStartOfDayMidnight,yesterdayEndOfDay);
-        log.info("Daily summary generated successfully for date: {}", yesterdayStartOfDayMidnight);
+        final var summary = transactionService.getDaySummary(yesterday);
+        log.info("Daily summary generated successfully for date: {}", yesterday);
 
         // TODO: send email asychronously
+        return summary.getTotalTransactions();
     }
 
-    private LocalDateTime getYesterdayStartOfDay() {
-        return LocalDateTime.now(ZONE_ID).with(LocalTime.MIDNIGHT).minusDays(1);
+    /**
+     * Rebuilds the hourly transaction rollups of the previous day from its transactions, repairing any drift.
+     * Runs after commissions are processed; by then the day is closed and no transfer is written into it.
+     * Takes the rollup lease that settlement holds, so it never rebuilds a day whose commissions are still moving its
+     * rollups; if settlement still runs, the rebuild is skipped and the day keeps the rollups settlement kept exact.
+     */
+    @Scheduled(cron = "${app.rollup-rebuild-cron:0 30 1 * * ?}")
+    public void rebuildRollups() {
+        jobLeaseCoordinator.runExclusively(ROLLUP_LEASE, () -> timed("rebuildRollups", this::rebuildYesterdaysRollups));
     }
 
-    private LocalDateTime getYesterdayEndOfDay() {
-        return LocalDateTime.now(ZONE_ID).with(LocalTime.of(23, 59)).minusDays(1);
+    private long rebuildYesterdaysRollups() {
+        LocalDateTime yesterdayStartOfDayMidnight = getYesterdayStartOfDay();
+        log.info("Rebuilding transaction rollups for: {}", yesterdayStartOfDayMidnight.toLocalDate());
+        final var rows = rollupService.rebuild(yesterdayStartOfDayMidnight, yesterdayStartOfDayMidnight.plusDays(1));
+        summaryCache.invalidate(yesterdayStartOfDayMidnight.toLocalDate());
+        return rows;
+    }
+
+    /**
+     * Rebuilds, once the application has started and before it reports ready, the rollups of the transactions written
+     * before rollups existed; summaries of those days would otherwise read as empty. A no-op once the rollups cover
+     * the whole history. Takes the rollup lease, so only one node of a rolling deploy does the work, but only
+     * when there is history to backfill, so a routine restart does not hold the lease against the nightly rebuild.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void backfillRollups() {
+        if (!properties.isRollupBackfillEnabled() || !rollupService.needsBackfill()) {
+            return;
+        }
+        jobLeaseCoordinator.runExclusively(ROLLUP_LEASE, () -> timed("backfillRollups", this::backfillRollupHistory));
+    }
+
+    private long backfillRollupHistory() {
+        final var rows = rollupService.backfill(LocalDateTime.now(ZONE_ID));
+        if (rows > 0) {
+            summaryCache.invalidateAll();
+        }
+        return rows;
+    }
+
+    /**
+     * Runs a job, timing it as "scheduled.job" and adding the rows it processed to "scheduled.job.rows", both tagged
+     * with the job's name, and records the JDBC work it did on this thread.
+     */
+    private void timed(String job, LongSupplier work) {
+        final var sample = Timer.start(meterRegistry);
+        final var statements = SqlStatementCounter.snapshot();
+        long rows = 0;
+        try {
+            rows = work.getAsLong();
+        } finally {
+            sample.stop(Timer.builder("scheduled.job")
+                    .description("Duration of a scheduled job run")
+                    .tag("job", job)
+                    .register(meterRegistry));
+            Counter.builder("scheduled.job.rows")
+                    .description("Rows processed by scheduled job runs")
+                    .tag("job", job)
+                    .register(meterRegistry)
+                    .increment(rows);
+            sqlStatementRecorder.record("job", job, SqlStatementCounter.snapshot().minus(statements));
+        }
+    }
+
+    private LocalDateTime getYesterdayStartOfDay() {
+        return LocalDateTime.now(ZONE_ID).with(LocalTime.MIDNIGHT).minusDays(1);
     }
 }
@@ -0,0 +1,95 @@
+package com.dot.project.transferserviceassessment.service;
+
+import com.dot.project.transferserviceassessment.config.ExternalRequestProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped lock manager keyed by account number.
+ *
+ * Each account number hashes onto one of a fixed number of stripes, so transfers on unrelated
+ * accounts proceed in parallel while transfers touching the same account are serialized.
+ * When several accounts are locked together the stripes are always acquired in ascending
+ * stripe order, which makes opposing transfers (A to B and B to A) deadlock free.
+ */
+@Slf4j
+@Component
+public class AccountLockManager {
+
+    private final ReentrantLock[] stripes;
+    private final Timer lockWaitTimer;
+
+    public AccountLockManager(ExternalRequestProperties properties, MeterRegistry meterRegistry) {
+        int stripeCount = Math.max(1, properties.getLockStripes());
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.lockWaitTimer = Timer.builder("transfer.account.lock.wait")
+                .description("Time spent waiting for account stripe locks")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        log.info("Account lock manager initialized with {} stripes", stripeCount);
+    }
+
+    /**
+     * Locks the stripes of the given accounts in canonical order.
+     *
+     * @param accountNumbers the account numbers to lock; duplicates and accounts sharing a stripe are locked once.
+     * @return a handle that releases every acquired stripe when closed.
+     */
+    public LockHandle lock(String... accountNumbers) {
+        int[] indexes = Arrays.stream(accountNumbers)
+                .mapToInt(this::stripeIndex)
+                .sorted()
+                .distinct()
+                .toArray();
+
+        long startedAt = System.nanoTime();
+        int acquired = 0;
+        try {
+            for (int index : indexes) {
+                stripes[index].lock();
+                acquired++;
+            }
+        } finally {
+            if (acquired < indexes.length) {
+                unlock(indexes, acquired);
+            }
+        }
+        lockWaitTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        return new LockHandle(indexes);
+    }
+
+    private int stripeIndex(String accountNumber) {
+        return Math.floorMod(accountNumber.hashCode(), stripes.length);
+    }
+
+    private void unlock(int[] indexes, int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            stripes[indexes[i]].unlock();
+        }
+    }
+
+    public final class LockHandle implements AutoCloseable {
+        private final int[] indexes;
+        private boolean released;
+
+        private LockHandle(int[] indexes) {
+            this.indexes = indexes;
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                unlock(indexes, indexes.length);
+            }
+        }
+    }
+}
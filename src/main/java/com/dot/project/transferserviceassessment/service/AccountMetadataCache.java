@@ -0,0 +1,50 @@
+package com.dot.project.transferserviceassessment.service;
+
+import com.dot.project.transferserviceassessment.config.ExternalRequestProperties;
+import com.dot.project.transferserviceassessment.dao.projection.AccountMetadata;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionAccountRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Bounded cache of {@link AccountMetadata} in front of {@link TransactionAccountRepository}.
+ *
+ * Entries are evicted by size and by time since they were loaded, so a status change made on another node
+ * is picked up within the configured TTL; changes made through {@link AccountService} invalidate immediately.
+ * Unknown account numbers are not cached. Hit, miss and eviction counts are published under the
+ * "accountMetadata" cache name.
+ */
+@Slf4j
+@Component
+public class AccountMetadataCache {
+
+    private final TransactionAccountRepository transactionAccountRepository;
+    private final Cache<String, AccountMetadata> cache;
+
+    public AccountMetadataCache(TransactionAccountRepository transactionAccountRepository,
+                                ExternalRequestProperties properties, MeterRegistry meterRegistry) {
+        this.transactionAccountRepository = transactionAccountRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getAccountCacheMaxSize())
+                .expireAfterWrite(Duration.ofSeconds(properties.getAccountCacheTtlSeconds()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "accountMetadata");
+    }
+
+    public Optional<AccountMetadata> get(String accountNumber) {
+        return Optional.ofNullable(cache.get(accountNumber,
+                key -> transactionAccountRepository.findMetadataByAccountNumber(key).orElse(null)));
+    }
+
+    public void invalidate(String accountNumber) {
+        log.info("Invalidating cached metadata for account: {}", accountNumber);
+        cache.invalidate(accountNumber);
+    }
+}
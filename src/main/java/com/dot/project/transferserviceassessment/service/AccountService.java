@@ -2,6 +2,7 @@ package com.dot.project.transferserviceassessment.service;
 
 import com.dot.project.transferserviceassessment.constant.AccountStatusEnum;
 import com.dot.project.transferserviceassessment.dao.entity.TransactionAccount;
+import com.dot.project.transferserviceassessment.dao.projection.AccountMetadata;
 import com.dot.project.transferserviceassessment.dao.repository.TransactionAccountRepository;
 import com.dot.project.transferserviceassessment.exception.AccountNotFoundException;
 import lombok.AccessLevel;
@@ -16,6 +17,7 @@ import java.math.BigDecimal;
 public class AccountService {
 
     private final TransactionAccountRepository transactionAccountRepository;
+    private final AccountMetadataCache accountMetadataCache;
 
     public TransactionAccount accountEnquiry(String accountNumber) {
         log.info("Initiating account enquiry for account number: {}", accountNumber);
@@ -30,31 +32,58 @@ public class AccountService {
                 });
     }
 
-    public synchronized void debitAccount(TransactionAccount transactionAccount , BigDecimal amountToDebit){
-        log.info("Debiting account: {}, Current Balance: {}, Amount to Debit: {}",
-                transactionAccount.getAccountNumber(), transactionAccount.getBalance(), amountToDebit);
+    /**
+     * Resolves the metadata of an active account from the metadata cache, touching the database only on a miss.
+     * Balances are not part of the metadata and must be read through {@link #accountEnquiry}.
+     */
+    public AccountMetadata activeAccountMetadata(String accountNumber) {
+        return accountMetadataCache.get(accountNumber)
+                .filter(AccountMetadata::isActive)
+                .orElseThrow(() -> {
+                    log.error("No active account found with number: {}", accountNumber);
+                    return new AccountNotFoundException(
+                            "No active account found with number: " + accountNumber);
+                });
+    }
+
+    public void updateAccountStatus(String accountNumber, AccountStatusEnum accountStatus) {
+        log.info("Updating account status. Account: {}, Status: {}", accountNumber, accountStatus);
+
+        final var updated = transactionAccountRepository.updateAccountStatus(accountNumber, accountStatus);
+        accountMetadataCache.invalidate(accountNumber);
+        if (updated == 0) {
+            throw new AccountNotFoundException("No account found with number: " + accountNumber);
+        }
+    }
+
+    /**
+     * Debits the account with a single conditional UPDATE that only succeeds when the stored balance
+     * covers the amount, so the check and the deduction cannot be separated by another writer on any node.
+     *
+     * @return true if the account was debited, false if the balance was insufficient.
+     */
+    public boolean debitAccount(String accountNumber, BigDecimal amountToDebit){
+        log.debug("Debiting account: {}, Amount to Debit: {}", accountNumber, amountToDebit);
 
-        // Deduct the amount and update balance
-        final var newBalance = transactionAccount.getBalance().subtract(amountToDebit);
-        transactionAccount.setBalance(newBalance);
+        final var updated = transactionAccountRepository.debitIfSufficientFunds(
+                accountNumber, amountToDebit, AccountStatusEnum.ACTIVE);
+        if (updated == 0) {
+            log.debug("Debit rejected for account: {}, insufficient funds for amount: {}", accountNumber, amountToDebit);
+            return false;
+        }
 
-        // Save the updated account and return the new balance
-        final var updatedBalance = transactionAccountRepository.save(transactionAccount).getBalance();
-        log.info("Account debited successfully. Account: {}, New Balance: {}",
-                transactionAccount.getAccountNumber(), updatedBalance);
+        log.debug("Account debited successfully. Account: {}", accountNumber);
+        return true;
     }
 
-    public synchronized void creditAccount(TransactionAccount transactionAccount , BigDecimal amountToCredit){
-        log.info("Crediting account: {}, Current Balance: {}, Amount to Credit: {}",
-                transactionAccount.getAccountNumber(), transactionAccount.getBalance(), amountToCredit);
+    public void creditAccount(String accountNumber, BigDecimal amountToCredit){
+        log.debug("Crediting account: {}, Amount to Credit: {}", accountNumber, amountToCredit);
 
-        // add the amount and update balance
-        final var newBalance = transactionAccount.getBalance().add(amountToCredit);
-        transactionAccount.setBalance(newBalance);
+        final var updated = transactionAccountRepository.credit(accountNumber, amountToCredit, AccountStatusEnum.ACTIVE);
+        if (updated == 0) {
+            throw new AccountNotFoundException("No active account found with number: " + accountNumber);
+        }
 
-        // Save the updated account and return the new balance
-        final var updatedBalance = transactionAccountRepository.save(transactionAccount).getBalance();
-        log.info("Account Credited successfully. Account: {}, New Balance: {}",
-                transactionAccount.getAccountNumber(), updatedBalance);
+        log.debug("Account Credited successfully. Account: {}", accountNumber);
     }
 }
@@ -0,0 +1,217 @@
+package com.dot.project.transferserviceassessment.service;
+
+import com.dot.project.transferserviceassessment.audit.TransferAuditJournal;
+import com.dot.project.transferserviceassessment.config.ExternalRequestProperties;
+import com.dot.project.transferserviceassessment.constant.AccountStatusEnum;
+import com.dot.project.transferserviceassessment.constant.AuditEventEnum;
+import com.dot.project.transferserviceassessment.constant.StatusEnum;
+import com.dot.project.transferserviceassessment.constant.TransferEngineEnum;
+import com.dot.project.transferserviceassessment.dao.entity.Transaction;
+import com.dot.project.transferserviceassessment.dao.entity.TransactionAccount;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionAccountRepository;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionRepository;
+import com.dot.project.transferserviceassessment.dto.request.TransactionReq;
+import com.dot.project.transferserviceassessment.dto.response.ApiResponse;
+import com.dot.project.transferserviceassessment.dto.response.TransactionRes;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import static com.dot.project.transferserviceassessment.scheduler.ScheduledTasks.ZONE_ID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor(access = AccessLevel.PUBLIC)
+public class BulkTransferService {
+    private final TransactionService transactionService;
+    private final TransactionAccountRepository transactionAccountRepository;
+    private final TransactionRepository transactionRepository;
+    private final AccountLockManager accountLockManager;
+    private final RetryExecutor retryExecutor;
+    private final IdempotencyService idempotencyService;
+    private final TransactionTemplate transactionTemplate;
+    private final TransferAuditJournal auditJournal;
+    private final ExternalRequestProperties properties;
+    private final TransactionRollupService rollupService;
+    private final FeeScheduleService feeScheduleService;
+
+
+    /**
+     * Processes a batch of transfers with per-account netting.
+     *
+     * Every item is validated up front against the accounts touched by the batch, applying the same rules as a
+     * single transfer in request order against running balances. The accepted items are then netted per account
+     * so that each touched account receives exactly one balance update, and all transaction records are written
+     * with batched inserts, all inside a single database transaction. With the ledger engine, which owns the
+     * balances, the items are instead settled one by one through {@link TransactionService#processTransfer}.
+     *
+     * Only the stripes of the source accounts are locked while the batch settles, as only they can be debited:
+     * credits are unconditional increments, and a net debit that no longer fits is caught by the conditional debit
+     * and replanned, so a large batch does not hold the stripes of every account it pays into.
+     *
+     * @param transactionReqs the transfer requests, processed in the order given.
+     * @return an ApiResponse containing one TransactionRes per request, in request order, carrying its status.
+     */
+    public ApiResponse<List<TransactionRes>> processBulkTransfer(List<TransactionReq> transactionReqs) {
+        log.debug("Starting bulk transfer process. Items = {}", transactionReqs.size());
+
+        if (TransferEngineEnum.LEDGER.equals(properties.getTransferEngine())) {
+            return ApiResponse.success(transactionReqs.stream().map(this::processThroughEngine).toList());
+        }
+
+        final var transactions = transactionReqs.stream()
+                .map(transactionService::buildTransaction)
+                .toList();
+
+        final var accountNumbers = new TreeSet<String>();
+        final var sourceAccountNumbers = new TreeSet<String>();
+        transactionReqs.forEach(req -> {
+            accountNumbers.add(req.getSourceAccountNumber());
+            accountNumbers.add(req.getDestinationAccountNumber());
+            sourceAccountNumbers.add(req.getSourceAccountNumber());
+        });
+
+        final var existingReferences = new HashSet<>(transactionRepository.findExistingReferences(
+                transactionReqs.stream().map(TransactionReq::getReference).collect(Collectors.toSet())));
+
+        final List<Transaction> persisted;
+        try (var ignored = accountLockManager.lock(sourceAccountNumbers.toArray(String[]::new))) {
+            persisted = retryExecutor.execute(() -> transactionTemplate.execute(
+                    txStatus -> settle(transactionReqs, transactions, accountNumbers, existingReferences)));
+        }
+        persisted.forEach(idempotencyService::record);
+        transactions.forEach(this::audit);
+
+        final var successful = transactions.stream().filter(t -> StatusEnum.SUCCESSFUL.equals(t.getStatus())).count();
+        log.debug("Bulk transfer completed. Items = {}, Successful = {}, Accounts updated = {}",
+                transactions.size(), successful, accountNumbers.size());
+
+        return ApiResponse.success(transactions.stream().map(TransactionRes::new).toList());
+    }
+
+    private TransactionRes processThroughEngine(TransactionReq transactionReq) {
+        String failure;
+        try {
+            final var response = transactionService.processTransfer(transactionReq);
+            if (response.getData() != null) {
+                return response.getData();
+            }
+            failure = response.getResponseDesc();
+        } catch (RuntimeException e) {
+            failure = e.getMessage();
+        }
+        final var transaction = transactionService.buildTransaction(transactionReq);
+        reject(transaction, failure);
+        return new TransactionRes(transaction);
+    }
+
+    /**
+     * Validates every item against fresh balances, applies one net update per account, inserts the records and adds
+     * them to their hourly rollups.
+     * A net debit that no longer fits the stored balance (another node moved money after the balances were read)
+     * aborts the attempt with an optimistic failure so the whole settlement is replanned.
+     *
+     * @return the transactions that were persisted.
+     */
+    private List<Transaction> settle(List<TransactionReq> transactionReqs, List<Transaction> transactions,
+                        Set<String> accountNumbers, Set<String> existingReferences) {
+        final Map<String, TransactionAccount> accounts = transactionAccountRepository
+                .findAllByAccountNumberInAndAccountStatusIs(accountNumbers, AccountStatusEnum.ACTIVE)
+                .stream()
+                .collect(Collectors.toMap(TransactionAccount::getAccountNumber, Function.identity()));
+
+        final Map<String, BigDecimal> balances = new HashMap<>();
+        accounts.values().forEach(account -> balances.put(account.getAccountNumber(), account.getBalance()));
+        final Map<String, BigDecimal> netMovements = new TreeMap<>();
+        final Set<String> batchReferences = new HashSet<>();
+        final List<Transaction> toPersist = new ArrayList<>();
+        final var createdAt = LocalDateTime.now(ZONE_ID);
+
+        for (int i = 0; i < transactions.size(); i++) {
+            final var transactionReq = transactionReqs.get(i);
+            final var transaction = transactions.get(i);
+            transaction.setCreatedAt(createdAt);
+
+            if (existingReferences.contains(transaction.getReference()) || !batchReferences.add(transaction.getReference())) {
+                reject(transaction, "Duplicate transaction reference");
+                continue;
+            }
+
+            final var source = accounts.get(transactionReq.getSourceAccountNumber());
+            final var destination = accounts.get(transactionReq.getDestinationAccountNumber());
+            if (source == null || destination == null) {
+                final var missing = source == null ? transactionReq.getSourceAccountNumber() : transactionReq.getDestinationAccountNumber();
+                reject(transaction, "No active account found with number: " + missing);
+                continue;
+            }
+
+            toPersist.add(transaction);
+            if (source.getAccountNumber().equals(destination.getAccountNumber())) {
+                reject(transaction, "Source and destination accounts cannot be the same");
+            } else if (!source.getCurrency().equals(transactionReq.getCurrency())
+                    || !destination.getCurrency().equals(transactionReq.getCurrency())) {
+                reject(transaction, "Currency mismatch detected");
+            } else if (balances.get(source.getAccountNumber()).compareTo(transaction.getBilledAmount()) < 0) {
+                reject(transaction, "Insufficient funds in source account");
+            } else {
+                balances.merge(source.getAccountNumber(), transaction.getBilledAmount().negate(), BigDecimal::add);
+                balances.merge(destination.getAccountNumber(), transaction.getAmount(), BigDecimal::add);
+                netMovements.merge(source.getAccountNumber(), transaction.getBilledAmount().negate(), BigDecimal::add);
+                netMovements.merge(destination.getAccountNumber(), transaction.getAmount(), BigDecimal::add);
+                transaction.setStatus(StatusEnum.SUCCESSFUL);
+                transaction.setStatusMessage("Transaction Successful");
+                feeScheduleService.accrueCommission(transaction);
+            }
+        }
+
+        netMovements.forEach(this::applyNetMovement);
+        transactionRepository.insertAll(toPersist);
+        rollupService.record(toPersist);
+        return toPersist;
+    }
+
+    private void applyNetMovement(String accountNumber, BigDecimal netMovement) {
+        final var signum = netMovement.signum();
+        if (signum < 0) {
+            final var updated = transactionAccountRepository.debitIfSufficientFunds(
+                    accountNumber, netMovement.negate(), AccountStatusEnum.ACTIVE);
+            if (updated == 0) {
+                throw new OptimisticLockingFailureException("Balance changed during bulk settlement of account " + accountNumber);
+            }
+        } else if (signum > 0) {
+            final var updated = transactionAccountRepository.credit(accountNumber, netMovement, AccountStatusEnum.ACTIVE);
+            if (updated == 0) {
+                throw new OptimisticLockingFailureException("Account changed during bulk settlement: " + accountNumber);
+            }
+        }
+    }
+
+    // Netted settlement has no per-item debit or credit step, so each item is journaled once with its final outcome
+    private void audit(Transaction transaction) {
+        final var event = StatusEnum.SUCCESSFUL.equals(transaction.getStatus()) ? AuditEventEnum.PERSISTED : AuditEventEnum.FAILED;
+        auditJournal.append(event, transaction.getReference(), transaction.getSourceAccountNumber(),
+                transaction.getDestinationAccountNumber(), transaction.getAmount(), transaction.getStatusMessage());
+    }
+
+    private void reject(Transaction transaction, String message) {
+        transaction.setStatus(StatusEnum.FAILED);
+        transaction.setStatusMessage(message);
+        // A replanned attempt may reject an item an earlier attempt accepted and accrued commission on
+        transaction.setCommissionWorthy(null);
+        transaction.setCommission(null);
+    }
+}
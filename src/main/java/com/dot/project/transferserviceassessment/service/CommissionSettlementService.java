@@ -0,0 +1,146 @@
+package com.dot.project.transferserviceassessment.service;
+
+import com.dot.project.transferserviceassessment.config.ExternalRequestProperties;
+import com.dot.project.transferserviceassessment.constant.StatusEnum;
+import com.dot.project.transferserviceassessment.dao.entity.CommissionSettlement;
+import com.dot.project.transferserviceassessment.dao.repository.CommissionSettlementRepository;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import static com.dot.project.transferserviceassessment.scheduler.ScheduledTasks.ZONE_ID;
+
+/**
+ * Settles the commission of a day's successful transactions in chunks of app.commission-settlement-chunk-size ids.
+ *
+ * Each chunk is one set-based UPDATE over an id range, committed together with the change of its hourly rollups and
+ * the day's checkpoint, so a run that stops part-way resumes after the last committed chunk and a completed day is
+ * not settled again. A day is checkpointed before its first chunk, so a run that fails or dies at any point leaves an
+ * incomplete checkpoint that later runs find through {@link #incompleteDaysBefore} and finish. The commission percentage is read once per run. Run duration, chunk duration, settled rows and
+ * the rows per second of the last run are published under "commission.settlement".
+ *
+ * With app.commission-accrual-enabled, successful transfers earn their commission when they are written and this
+ * becomes a backfill: only transactions that were written without it, such as those recovered from the ledger
+ * journal or written before accrual was enabled, are settled.
+ */
+@Slf4j
+@Service
+public class CommissionSettlementService {
+
+    private final TransactionRepository transactionRepository;
+    private final CommissionSettlementRepository settlementRepository;
+    private final TransactionRollupService rollupService;
+    private final FeeScheduleService feeScheduleService;
+    private final TransactionTemplate transactionTemplate;
+    private final ExternalRequestProperties properties;
+    private final Timer runTimer;
+    private final Timer chunkTimer;
+    private final Counter settledRows;
+    private final AtomicLong lastRowsPerSecond = new AtomicLong();
+
+    public CommissionSettlementService(TransactionRepository transactionRepository,
+                                       CommissionSettlementRepository settlementRepository,
+                                       TransactionRollupService rollupService, FeeScheduleService feeScheduleService,
+                                       TransactionTemplate transactionTemplate, ExternalRequestProperties properties,
+                                       MeterRegistry meterRegistry) {
+        this.transactionRepository = transactionRepository;
+        this.settlementRepository = settlementRepository;
+        this.rollupService = rollupService;
+        this.feeScheduleService = feeScheduleService;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.runTimer = Timer.builder("commission.settlement")
+                .description("Time to settle the commissions of one day")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("commission.settlement.chunk")
+                .description("Time to settle one chunk of transactions")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.settledRows = Counter.builder("commission.settlement.rows")
+                .description("Transactions whose commission was settled")
+                .register(meterRegistry);
+        Gauge.builder("commission.settlement.rows.per.second", lastRowsPerSecond, AtomicLong::get)
+                .description("Settlement throughput of the last run")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the days before the given one whose settlement started but did not complete, oldest first.
+     */
+    public List<LocalDate> incompleteDaysBefore(LocalDate day) {
+        return settlementRepository.findByCompletedFalseAndSettlementDateBeforeOrderBySettlementDateAsc(day).stream()
+                .map(CommissionSettlement::getSettlementDate)
+                .toList();
+    }
+
+    /**
+     * Settles the commissions of the successful transactions created on the given day, resuming from its checkpoint.
+     *
+     * @return the number of transactions settled by this run.
+     */
+    public long settle(LocalDate day) {
+        final var checkpoint = settlementRepository.findById(day)
+                .orElseGet(() -> settlementRepository.save(CommissionSettlement.builder().settlementDate(day).build()));
+        if (checkpoint.isCompleted()) {
+            log.info("Commissions for {} are already settled ({} transactions)", day, checkpoint.getSettledRows());
+            return 0;
+        }
+
+        final var from = day.atStartOfDay();
+        final var to = day.plusDays(1).atStartOfDay();
+        final var idRange = transactionRepository.findIdRange(StatusEnum.SUCCESSFUL, from, to);
+        final var percentage = feeScheduleService.commissionPercentage();
+        final var chunkSize = Math.max(1, properties.getCommissionSettlementChunkSize());
+        final var missedOnly = properties.isCommissionAccrualEnabled();
+        final var startNanos = System.nanoTime();
+        long rows = 0;
+
+        if (idRange.min() != null) {
+            var nextId = checkpoint.getLastId() == null ? idRange.min() : Math.max(idRange.min(), checkpoint.getLastId() + 1);
+            if (nextId > idRange.min()) {
+                log.info("Resuming commission settlement for {} from transaction ID: {}", day, nextId);
+            }
+            while (nextId <= idRange.max()) {
+                final var fromId = nextId;
+                final var toId = Math.min(fromId + chunkSize, idRange.max() + 1);
+                final var chunkStart = System.nanoTime();
+                final Integer settled = transactionTemplate.execute(txStatus -> {
+                    rollupService.recordCommissionChanges(transactionRepository.sumCommissionChanges(
+                            percentage, StatusEnum.SUCCESSFUL, from, to, fromId, toId, missedOnly));
+                    final var updated = transactionRepository.settleCommissions(percentage, LocalDateTime.now(ZONE_ID),
+                            StatusEnum.SUCCESSFUL, from, to, fromId, toId, missedOnly);
+                    checkpoint.setLastId(toId - 1);
+                    checkpoint.setSettledRows(checkpoint.getSettledRows() + updated);
+                    settlementRepository.save(checkpoint);
+                    return updated;
+                });
+                chunkTimer.record(System.nanoTime() - chunkStart, TimeUnit.NANOSECONDS);
+                final var updated = settled == null ? 0 : settled;
+                settledRows.increment(updated);
+                rows += updated;
+                nextId = toId;
+            }
+        }
+
+        checkpoint.setCompleted(true);
+        settlementRepository.save(checkpoint);
+
+        final var elapsedNanos = System.nanoTime() - startNanos;
+        runTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        final var rowsPerSecond = elapsedNanos == 0 ? rows : rows * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        lastRowsPerSecond.set(rowsPerSecond);
+        log.info("{} commissions for {} transactions created on {} in {} ms ({} rows/s)",
+                missedOnly ? "Backfilled" : "Settled", rows, day, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                rowsPerSecond);
+        return rows;
+    }
+}
@@ -0,0 +1,156 @@
+package com.dot.project.transferserviceassessment.service;
+
+import com.dot.project.transferserviceassessment.constant.CurrencyEnum;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable, compiled fee schedule. Each currency has its amount bands sorted by lower bound, so finding the
+ * band of a transfer is a binary search and computing its fee is a multiply, an add and two comparisons on
+ * values parsed once when the schedule was compiled.
+ *
+ * A band applies from its minAmount (inclusive) up to the minAmount of the next band. Its fee is
+ * amount * percentage + flatFee, raised to minimumFee and lowered to cap where those are set. Tiers without a
+ * currency apply to every currency that has no tiers of its own. The commission earned on a transfer is the
+ * commissionPercentage of its fee.
+ */
+public final class FeeSchedule {
+
+    /**
+     * The schedule as written in a schedule file.
+     */
+    public record Definition(BigDecimal commissionPercentage, List<TierDefinition> tiers) {
+    }
+
+    public record TierDefinition(CurrencyEnum currency, BigDecimal minAmount, BigDecimal percentage,
+                                 BigDecimal flatFee, BigDecimal minimumFee, BigDecimal cap) {
+    }
+
+    private record Band(BigDecimal minAmount, BigDecimal percentage, BigDecimal flatFee,
+                        BigDecimal minimumFee, BigDecimal cap) {
+
+        BigDecimal fee(BigDecimal amount) {
+            var fee = amount.multiply(percentage);
+            if (flatFee != null) {
+                fee = fee.add(flatFee);
+            }
+            if (minimumFee != null) {
+                fee = fee.max(minimumFee);
+            }
+            return cap == null ? fee : fee.min(cap);
+        }
+    }
+
+    private final Band[][] bandsByCurrency;
+    private final BigDecimal commissionPercentage;
+
+    private FeeSchedule(Band[][] bandsByCurrency, BigDecimal commissionPercentage) {
+        this.bandsByCurrency = bandsByCurrency;
+        this.commissionPercentage = commissionPercentage;
+    }
+
+    /**
+     * Validates a definition and compiles it into a schedule.
+     *
+     * @throws IllegalArgumentException if a currency is left without a band starting at zero, two bands of a
+     *                                  currency start at the same amount, or a rate or amount is missing or negative.
+     */
+    public static FeeSchedule compile(Definition definition) {
+        requireNonNegative(definition.commissionPercentage(), "commissionPercentage");
+        if (definition.tiers() == null || definition.tiers().isEmpty()) {
+            throw new IllegalArgumentException("Fee schedule has no tiers");
+        }
+
+        final List<Band> defaultBands = new ArrayList<>();
+        final Map<CurrencyEnum, List<Band>> currencyBands = new EnumMap<>(CurrencyEnum.class);
+        for (TierDefinition tier : definition.tiers()) {
+            requireNonNegative(tier.minAmount(), "minAmount");
+            requireNonNegative(tier.percentage(), "percentage");
+            requireOptionalNonNegative(tier.flatFee(), "flatFee");
+            requireOptionalNonNegative(tier.minimumFee(), "minimumFee");
+            requireOptionalNonNegative(tier.cap(), "cap");
+            if (tier.minimumFee() != null && tier.cap() != null && tier.minimumFee().compareTo(tier.cap()) > 0) {
+                throw new IllegalArgumentException("Fee tier minimumFee exceeds its cap: " + tier);
+            }
+            final var band = new Band(tier.minAmount(), tier.percentage(), tier.flatFee(), tier.minimumFee(), tier.cap());
+            if (tier.currency() == null) {
+                defaultBands.add(band);
+            } else {
+                currencyBands.computeIfAbsent(tier.currency(), currency -> new ArrayList<>()).add(band);
+            }
+        }
+
+        final var currencies = CurrencyEnum.values();
+        final var bandsByCurrency = new Band[currencies.length][];
+        for (CurrencyEnum currency : currencies) {
+            final var bands = currencyBands.getOrDefault(currency, defaultBands);
+            bandsByCurrency[currency.ordinal()] = sorted(currency, bands);
+        }
+        return new FeeSchedule(bandsByCurrency, definition.commissionPercentage());
+    }
+
+    /**
+     * The single flat band every currency used before fee schedules existed.
+     */
+    public static FeeSchedule flat(BigDecimal percentage, BigDecimal cap, BigDecimal commissionPercentage) {
+        return compile(new Definition(commissionPercentage,
+                List.of(new TierDefinition(null, BigDecimal.ZERO, percentage, null, null, cap))));
+    }
+
+    public BigDecimal fee(CurrencyEnum currency, BigDecimal amount) {
+        final var bands = bandsByCurrency[currency.ordinal()];
+        var low = 0;
+        var high = bands.length - 1;
+        // Last band whose minAmount is not above the amount; the first band always starts at zero
+        while (low < high) {
+            final var middle = (low + high + 1) >>> 1;
+            if (bands[middle].minAmount().compareTo(amount) <= 0) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return bands[low].fee(amount);
+    }
+
+    public BigDecimal commission(BigDecimal fee) {
+        return fee.multiply(commissionPercentage);
+    }
+
+    public BigDecimal commissionPercentage() {
+        return commissionPercentage;
+    }
+
+    private static Band[] sorted(CurrencyEnum currency, List<Band> bands) {
+        if (bands.isEmpty()) {
+            throw new IllegalArgumentException("Fee schedule has no tiers for currency " + currency);
+        }
+        final var sorted = bands.stream().sorted(Comparator.comparing(Band::minAmount)).toArray(Band[]::new);
+        if (sorted[0].minAmount().signum() != 0) {
+            throw new IllegalArgumentException("First fee tier of currency " + currency + " must start at 0");
+        }
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i].minAmount().compareTo(sorted[i - 1].minAmount()) == 0) {
+                throw new IllegalArgumentException("Fee tiers of currency " + currency + " overlap at " + sorted[i].minAmount());
+            }
+        }
+        return sorted;
+    }
+
+    private static void requireNonNegative(BigDecimal value, String name) {
+        if (value == null) {
+            throw new IllegalArgumentException("Fee schedule " + name + " is required");
+        }
+        requireOptionalNonNegative(value, name);
+    }
+
+    private static void requireOptionalNonNegative(BigDecimal value, String name) {
+        if (value != null && value.signum() < 0) {
+            throw new IllegalArgumentException("Fee schedule " + name + " cannot be negative: " + value);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.dot.project.transferserviceassessment.service;
+
+import com.dot.project.transferserviceassessment.config.ExternalRequestProperties;
+import com.dot.project.transferserviceassessment.constant.CurrencyEnum;
+import com.dot.project.transferserviceassessment.constant.StatusEnum;
+import com.dot.project.transferserviceassessment.dao.entity.Transaction;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.common.util.StringUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Computes transfer fees and commissions from the current {@link FeeSchedule}.
+ *
+ * The schedule is read from app.fee-schedule-location (a JSON {@link FeeSchedule.Definition}) when it is set,
+ * otherwise it is the flat schedule of app.fee-percentage, app.fee-cap and app.commission-percentage. An invalid
+ * schedule fails startup. The location is polled every app.fee-schedule-reload-interval-millis; a changed file is
+ * compiled off the hot path and published with a single reference swap, so a transfer always prices against one
+ * complete schedule and is never held up by a reload. A changed file that does not compile is logged and ignored.
+ */
+@Slf4j
+@Service
+public class FeeScheduleService {
+
+    private final ExternalRequestProperties properties;
+    private final ResourceLoader resourceLoader;
+    private final ObjectMapper objectMapper;
+    private final AtomicReference<FeeSchedule> schedule = new AtomicReference<>();
+    private byte[] loadedContent;
+
+    public FeeScheduleService(ExternalRequestProperties properties, ResourceLoader resourceLoader, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.resourceLoader = resourceLoader;
+        this.objectMapper = objectMapper;
+        if (StringUtils.isBlank(properties.getFeeScheduleLocation())) {
+            schedule.set(FeeSchedule.flat(new BigDecimal(properties.getFeePercentage()),
+                    new BigDecimal(properties.getFeeCap()), new BigDecimal(properties.getCommissionPercentage())));
+            log.info("Using flat fee schedule from application properties");
+        } else {
+            final var content = read();
+            schedule.set(compile(content));
+            loadedContent = content;
+            log.info("Loaded fee schedule from {}", properties.getFeeScheduleLocation());
+        }
+    }
+
+    public BigDecimal calculateFee(CurrencyEnum currency, BigDecimal amount) {
+        return schedule.get().fee(currency, amount);
+    }
+
+    public BigDecimal calculateCommission(BigDecimal fee) {
+        return schedule.get().commission(fee);
+    }
+
+    /**
+     * Accrues the commission of a successful transaction as it is written, when app.commission-accrual-enabled is
+     * set; otherwise, and for other statuses, the transaction is left to the nightly commission settlement.
+     */
+    public void accrueCommission(Transaction transaction) {
+        if (properties.isCommissionAccrualEnabled() && StatusEnum.SUCCESSFUL.equals(transaction.getStatus())) {
+            transaction.setCommissionWorthy(true);
+            transaction.setCommission(calculateCommission(transaction.getFee()).setScale(2, RoundingMode.HALF_UP));
+        }
+    }
+
+    /**
+     * The share of the fee earned as commission under the current schedule, for settling commissions in bulk.
+     */
+    public BigDecimal commissionPercentage() {
+        return schedule.get().commissionPercentage();
+    }
+
+    /**
+     * Publishes the schedule at the configured location if its content changed since it was last loaded.
+     */
+    @Scheduled(fixedDelayString = "${app.fee-schedule-reload-interval-millis:30000}")
+    public synchronized void reload() {
+        if (StringUtils.isBlank(properties.getFeeScheduleLocation())) {
+            return;
+        }
+        try {
+            final var content = read();
+            if (Arrays.equals(content, loadedContent)) {
+                return;
+            }
+            schedule.set(compile(content));
+            loadedContent = content;
+            log.info("Reloaded fee schedule from {}", properties.getFeeScheduleLocation());
+        } catch (RuntimeException e) {
+            log.error("Keeping the current fee schedule, unable to reload {}: {}",
+                    properties.getFeeScheduleLocation(), e.getMessage());
+        }
+    }
+
+    private byte[] read() {
+        final var resource = resourceLoader.getResource(properties.getFeeScheduleLocation());
+        try (var input = resource.getInputStream()) {
+            return input.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read fee schedule " + properties.getFeeScheduleLocation(), e);
+        }
+    }
+
+    private FeeSchedule compile(byte[] content) {
+        try {
+            return FeeSchedule.compile(objectMapper.readValue(content, FeeSchedule.Definition.class));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed fee schedule " + properties.getFeeScheduleLocation(), e);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.dot.project.transferserviceassessment.service;
+
+import com.dot.project.transferserviceassessment.config.ExternalRequestProperties;
+import com.dot.project.transferserviceassessment.constant.StatusEnum;
+import com.dot.project.transferserviceassessment.dao.entity.Transaction;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionRepository;
+import com.dot.project.transferserviceassessment.dto.response.ApiResponse;
+import com.dot.project.transferserviceassessment.dto.response.TransactionRes;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import static com.dot.project.transferserviceassessment.scheduler.ScheduledTasks.ZONE_ID;
+
+/**
+ * Rejects duplicate transfer references before any account I/O happens.
+ *
+ * Lookups go through three tiers: a Bloom filter of references seen by this node (a miss means the reference
+ * is new here and the request proceeds), an LRU of recent outcomes (a hit is replayed directly), and finally the
+ * unique reference index (a hit is replayed and cached, a miss was a Bloom false positive). References created on
+ * other nodes and not yet seen here, or by a concurrent request, still fail on the unique index inside the transfer
+ * transaction; the loser is then answered through {@link #replayRecorded}.
+ *
+ * The Bloom filter rotates between two generations once a generation has taken its expected number of
+ * insertions, so the false positive rate stays bounded on a long running node.
+ */
+@Slf4j
+@Component
+public class IdempotencyService {
+
+    private final TransactionRepository transactionRepository;
+    private final ExternalRequestProperties properties;
+    private final Cache<String, TransactionRes> recentOutcomes;
+    private final AtomicLong insertions = new AtomicLong();
+    private volatile ReferenceBloomFilter currentFilter;
+    private volatile ReferenceBloomFilter previousFilter;
+    private final Counter bloomMisses;
+    private final Counter cacheHits;
+    private final Counter indexHits;
+    private final Counter falsePositives;
+
+    public IdempotencyService(TransactionRepository transactionRepository, ExternalRequestProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.transactionRepository = transactionRepository;
+        this.properties = properties;
+        this.currentFilter = newFilter();
+        this.previousFilter = newFilter();
+        this.recentOutcomes = Caffeine.newBuilder()
+                .maximumSize(properties.getIdempotencyCacheSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, recentOutcomes, "idempotencyOutcomes");
+        this.bloomMisses = lookupCounter(meterRegistry, "bloom_miss");
+        this.cacheHits = lookupCounter(meterRegistry, "cache_hit");
+        this.indexHits = lookupCounter(meterRegistry, "index_hit");
+        this.falsePositives = lookupCounter(meterRegistry, "false_positive");
+    }
+
+    /**
+     * Returns the original outcome for a reference that was already processed, or empty if it is new.
+     */
+    public Optional<ApiResponse<TransactionRes>> replay(String reference) {
+        if (!currentFilter.mightContain(reference) && !previousFilter.mightContain(reference)) {
+            bloomMisses.increment();
+            return Optional.empty();
+        }
+
+        var outcome = recentOutcomes.getIfPresent(reference);
+        if (outcome != null) {
+            cacheHits.increment();
+        } else {
+            outcome = transactionRepository.findByReference(reference).map(TransactionRes::new).orElse(null);
+            if (outcome == null) {
+                falsePositives.increment();
+                return Optional.empty();
+            }
+            indexHits.increment();
+            recentOutcomes.put(reference, outcome);
+        }
+
+        log.debug("Duplicate transfer reference detected, replaying original outcome. Reference = {}, Status = {}",
+                reference, outcome.getStatus());
+        return Optional.of(response(outcome));
+    }
+
+    /**
+     * Returns the original outcome of a reference that a concurrent request recorded first, read from the unique
+     * reference index, or empty if the other request has not recorded it yet.
+     */
+    public Optional<ApiResponse<TransactionRes>> replayRecorded(String reference) {
+        final var outcome = transactionRepository.findByReference(reference).map(TransactionRes::new);
+        outcome.ifPresent(recorded -> {
+            indexHits.increment();
+            remember(reference);
+            recentOutcomes.put(reference, recorded);
+        });
+        return outcome.map(IdempotencyService::response);
+    }
+
+    /**
+     * Remembers the outcome of a transaction whose record has been persisted.
+     */
+    public void record(Transaction transaction) {
+        remember(transaction.getReference());
+        recentOutcomes.put(transaction.getReference(), new TransactionRes(transaction));
+    }
+
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedRecentReferences() {
+        final var since = LocalDateTime.now(ZONE_ID).minusHours(properties.getIdempotencySeedHours());
+        try (var references = transactionRepository.streamReferencesCreatedSince(since)) {
+            references.forEach(this::remember);
+        }
+        log.info("Idempotency filter seeded with {} references created since {}", insertions.get(), since);
+    }
+
+    private void remember(String reference) {
+        if (insertions.incrementAndGet() % properties.getIdempotencyExpectedReferences() == 0) {
+            previousFilter = currentFilter;
+            currentFilter = newFilter();
+            log.info("Idempotency filter generation rotated after {} insertions", insertions.get());
+        }
+        currentFilter.put(reference);
+    }
+
+    private static ApiResponse<TransactionRes> response(TransactionRes outcome) {
+        return StatusEnum.SUCCESSFUL.equals(outcome.getStatus())
+                ? ApiResponse.success(outcome)
+                : ApiResponse.error(outcome.getStatusMessage());
+    }
+
+    private ReferenceBloomFilter newFilter() {
+        return new ReferenceBloomFilter(properties.getIdempotencyExpectedReferences(),
+                properties.getIdempotencyFalsePositiveRate());
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("transfer.idempotency.lookups")
+                .description("Duplicate reference lookups by the tier that answered them")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,99 @@
+package com.dot.project.transferserviceassessment.service;
+
+import com.dot.project.transferserviceassessment.audit.TransferAuditJournal;
+import com.dot.project.transferserviceassessment.constant.AuditEventEnum;
+import com.dot.project.transferserviceassessment.constant.StatusEnum;
+import com.dot.project.transferserviceassessment.constant.TransferStageEnum;
+import com.dot.project.transferserviceassessment.dao.entity.Transaction;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionRepository;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Settles each transfer as one database transaction.
+ *
+ * The source and destination accounts are locked (in canonical order) around the transaction so concurrent
+ * transfers on the same accounts queue up here instead of conflicting in the database, while transfers on
+ * unrelated accounts run in parallel. The funds check happens atomically inside the conditional debit.
+ */
+@Service
+@RequiredArgsConstructor(access = AccessLevel.PUBLIC)
+@ConditionalOnProperty(prefix = "app", name = "transfer-engine", havingValue = "jpa", matchIfMissing = true)
+public class JpaTransferEngine implements TransferEngine {
+    private final AccountService accountService;
+    private final AccountLockManager accountLockManager;
+    private final RetryExecutor retryExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionRepository transactionRepository;
+    private final TransferAuditJournal auditJournal;
+    private final TransactionRollupService rollupService;
+    private final FeeScheduleService feeScheduleService;
+    private final TransferMetrics transferMetrics;
+
+
+    @Override
+    public boolean settle(Transaction transaction) {
+        try (var ignored = accountLockManager.lock(
+                transaction.getSourceAccountNumber(), transaction.getDestinationAccountNumber())) {
+            final var completed = retryExecutor.execute(() -> transactionTemplate.execute(
+                    txStatus -> executeTransfer(transaction)));
+            if (!Boolean.TRUE.equals(completed)) {
+                return false;
+            }
+        }
+        audit(AuditEventEnum.PERSISTED, transaction, transaction.getAmount(), transaction.getStatusMessage());
+        return true;
+    }
+
+    @Override
+    public void recordFailure(Transaction transaction) {
+        transactionTemplate.executeWithoutResult(txStatus -> {
+            transactionRepository.save(transaction);
+            rollupService.record(List.of(transaction));
+        });
+    }
+
+    @Override
+    public void flush() {
+        // Every transaction is written before settle returns
+    }
+
+    /**
+     * Debits the source, credits the destination, inserts the transaction record and adds it to its hourly rollup.
+     * Runs inside the transaction opened by {@link #settle}, so all four writes commit or roll back together. The
+     * debit, credit and persist stages are timed separately; a debit's wait for the row lock is part of its stage.
+     *
+     * @return false if the source account could not cover the billed amount; nothing is written in that case.
+     */
+    private boolean executeTransfer(Transaction transaction) {
+        final Boolean debited = transferMetrics.stage(TransferStageEnum.DEBIT).record(() ->
+                accountService.debitAccount(transaction.getSourceAccountNumber(), transaction.getBilledAmount()));
+        if (!Boolean.TRUE.equals(debited)) {
+            return false;
+        }
+        audit(AuditEventEnum.DEBITED, transaction, transaction.getBilledAmount(), null);
+
+        transferMetrics.stage(TransferStageEnum.CREDIT).record(() ->
+                accountService.creditAccount(transaction.getDestinationAccountNumber(), transaction.getAmount()));
+        audit(AuditEventEnum.CREDITED, transaction, transaction.getAmount(), null);
+
+        transaction.setStatus(StatusEnum.SUCCESSFUL);
+        transaction.setStatusMessage("Transaction Successful");
+        feeScheduleService.accrueCommission(transaction);
+        transferMetrics.stage(TransferStageEnum.PERSIST).record(() -> {
+            transactionRepository.save(transaction);
+            rollupService.record(List.of(transaction));
+        });
+        return true;
+    }
+
+    private void audit(AuditEventEnum event, Transaction transaction, BigDecimal amount, String detail) {
+        auditJournal.append(event, transaction.getReference(), transaction.getSourceAccountNumber(),
+                transaction.getDestinationAccountNumber(), amount, detail);
+    }
+}
@@ -0,0 +1,68 @@
+package com.dot.project.transferserviceassessment.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter over transaction references.
+ *
+ * A negative answer is definitive for the references added to this filter; a positive answer may be a false
+ * positive at roughly the configured rate once the expected number of insertions has been added.
+ */
+class ReferenceBloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    ReferenceBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        final var expected = Math.max(1, expectedInsertions);
+        final var optimalBits = (long) Math.ceil(-expected * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bits = new AtomicLongArray((int) Math.min(Integer.MAX_VALUE - 8, (optimalBits + 63) / 64));
+        this.bitCount = (long) bits.length() * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expected * Math.log(2)));
+    }
+
+    void put(String reference) {
+        final var hash1 = hash(reference);
+        final var hash2 = mix(hash1);
+        for (int i = 0; i < hashCount; i++) {
+            final var bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            final var index = (int) (bit >>> 6);
+            final var mask = 1L << bit;
+            long current;
+            do {
+                current = bits.get(index);
+            } while ((current & mask) == 0 && !bits.compareAndSet(index, current, current | mask));
+        }
+    }
+
+    boolean mightContain(String reference) {
+        final var hash1 = hash(reference);
+        final var hash2 = mix(hash1);
+        for (int i = 0; i < hashCount; i++) {
+            final var bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 64-bit FNV-1a over the UTF-8 bytes
+    private static long hash(String reference) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : reference.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // SplitMix64 finalizer, used to derive the second hash for double hashing
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return (value ^ (value >>> 31)) | 1L;
+    }
+}
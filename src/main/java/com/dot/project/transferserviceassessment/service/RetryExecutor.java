@@ -0,0 +1,71 @@
+package com.dot.project.transferserviceassessment.service;
+
+import com.dot.project.transferserviceassessment.config.ExternalRequestProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Retries a unit of work that failed on a database lock or version conflict (deadlock, lock wait timeout,
+ * optimistic failure) with bounded exponential backoff and jitter.
+ *
+ * The unit of work must be a whole transaction: once the database aborts a statement on a conflict the
+ * surrounding transaction is lost, so retrying a single statement inside it is never safe.
+ *
+ * Conflicts are counted as "transfer.row.conflicts" and the backoff they cost is timed as
+ * "transfer.row.conflict.wait".
+ */
+@Slf4j
+@Component
+public class RetryExecutor {
+
+    private final ExternalRequestProperties properties;
+    private final Counter conflicts;
+    private final Timer conflictWait;
+
+    public RetryExecutor(ExternalRequestProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.conflicts = Counter.builder("transfer.row.conflicts")
+                .description("Units of work that failed on a database lock or version conflict")
+                .register(meterRegistry);
+        this.conflictWait = Timer.builder("transfer.row.conflict.wait")
+                .description("Time spent backing off before retrying after a database conflict")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(Supplier<T> work) {
+        final var maxAttempts = Math.max(1, properties.getBalanceUpdateMaxAttempts());
+        var backoff = properties.getBalanceUpdateBackoffMillis();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return work.get();
+            } catch (ConcurrencyFailureException e) {
+                conflicts.increment();
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.warn("Database conflict on attempt {} of {}: {}", attempt, maxAttempts, e.getMessage());
+                final var wait = backoff + ThreadLocalRandom.current().nextLong(backoff + 1);
+                sleep(wait);
+                conflictWait.record(wait, TimeUnit.MILLISECONDS);
+                backoff *= 2;
+            }
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while backing off a database retry", e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.dot.project.transferserviceassessment.service;
+
+import com.dot.project.transferserviceassessment.exception.InvalidCursorException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of a keyset walk: the (created_at, id) of the last transaction returned. Clients see it only as an
+ * opaque URL-safe token.
+ */
+record TransactionCursor(LocalDateTime createdAt, long id) {
+
+    private static final char SEPARATOR = '|';
+
+    String encode() {
+        final var raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static TransactionCursor decode(String token) {
+        try {
+            final var raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            final var separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException("Invalid cursor: " + token);
+            }
+            return new TransactionCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor: " + token, e);
+        }
+    }
+}
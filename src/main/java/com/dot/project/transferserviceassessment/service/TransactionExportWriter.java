@@ -0,0 +1,169 @@
+package com.dot.project.transferserviceassessment.service;
+
+import com.dot.project.transferserviceassessment.constant.ExportFormatEnum;
+import com.dot.project.transferserviceassessment.dao.projection.TransactionView;
+import com.dot.project.transferserviceassessment.dto.response.TransactionRes;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes exported transactions one row at a time to a buffered stream, flushing every flushRows rows so the client
+ * receives the export in chunks and nothing beyond the buffer is held in memory.
+ */
+abstract class TransactionExportWriter implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final int flushRows;
+    private int pendingRows;
+    private long rows;
+
+    private TransactionExportWriter(int flushRows) {
+        this.flushRows = flushRows;
+    }
+
+    static TransactionExportWriter open(ExportFormatEnum format, OutputStream out, ObjectMapper objectMapper,
+                                        int flushRows) {
+        final var writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        try {
+            return switch (format) {
+                case NDJSON -> new Ndjson(writer, objectMapper, flushRows);
+                case CSV -> new Csv(writer, flushRows);
+            };
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes one row. Failures to write, typically a client that went away, surface as UncheckedIOException so they
+     * abort the cursor the rows come from.
+     */
+    void write(TransactionView transaction) {
+        try {
+            writeRow(transaction);
+            rows++;
+            if (++pendingRows == flushRows) {
+                flush();
+                pendingRows = 0;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+    abstract void writeRow(TransactionView transaction) throws IOException;
+
+    abstract void flush() throws IOException;
+
+    /**
+     * One JSON object per line, in the same shape as the search results.
+     */
+    private static final class Ndjson extends TransactionExportWriter {
+        private final Writer writer;
+        private final SequenceWriter sequenceWriter;
+
+        private Ndjson(Writer writer, ObjectMapper objectMapper, int flushRows) throws IOException {
+            super(flushRows);
+            this.writer = writer;
+            this.sequenceWriter = objectMapper.writer()
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .withRootValueSeparator("\n")
+                    .writeValues(writer);
+        }
+
+        @Override
+        void writeRow(TransactionView transaction) throws IOException {
+            sequenceWriter.write(new TransactionRes(transaction));
+        }
+
+        @Override
+        void flush() throws IOException {
+            sequenceWriter.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            sequenceWriter.close();
+            // The separator is written before each value, so the last line still needs its end
+            if (rows() > 0) {
+                writer.write('\n');
+            }
+            writer.flush();
+        }
+    }
+
+    /**
+     * RFC 4180 CSV with a header row.
+     */
+    private static final class Csv extends TransactionExportWriter {
+        private static final String HEADER = "reference,amount,fee,currency,billedAmount,createdAt,status," +
+                "statusMessage,commissionWorthy,commission,sourceAccountNumber,destinationAccountNumber\r\n";
+        private static final DateTimeFormatter CREATED_AT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+        private final Writer writer;
+
+        private Csv(Writer writer, int flushRows) throws IOException {
+            super(flushRows);
+            this.writer = writer;
+            writer.write(HEADER);
+        }
+
+        @Override
+        void writeRow(TransactionView transaction) throws IOException {
+            writeField(transaction.reference());
+            writeField(transaction.amount());
+            writeField(transaction.fee());
+            writeField(transaction.currency());
+            writeField(transaction.billedAmount());
+            writeField(transaction.createdAt() == null ? null : CREATED_AT_FORMAT.format(transaction.createdAt()));
+            writeField(transaction.status());
+            writeField(transaction.statusMessage());
+            writeField(transaction.commissionWorthy());
+            writeField(transaction.commission());
+            writeField(transaction.sourceAccountNumber());
+            writer.write(escape(transaction.destinationAccountNumber()));
+            writer.write("\r\n");
+        }
+
+        @Override
+        void flush() throws IOException {
+            writer.flush();
+        }
+
+        private void writeField(Object value) throws IOException {
+            writer.write(escape(value));
+            writer.write(',');
+        }
+
+        private static String escape(Object value) {
+            if (value == null) {
+                return "";
+            }
+            final var text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                return text;
+            }
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.dot.project.transferserviceassessment.service;
+
+import com.dot.project.transferserviceassessment.config.ExternalRequestProperties;
+import com.dot.project.transferserviceassessment.constant.CurrencyEnum;
+import com.dot.project.transferserviceassessment.constant.StatusEnum;
+import com.dot.project.transferserviceassessment.dao.entity.Transaction;
+import com.dot.project.transferserviceassessment.dao.projection.CommissionChangeBucket;
+import com.dot.project.transferserviceassessment.dao.projection.TransactionStatusTotals;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionRepository;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionRollupDelta;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionRollupRepository;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Maintains the hourly transaction rollups and answers period totals from them.
+ *
+ * Every writer of transactions adds them to their rollups in the same database transaction, so the rollups commit
+ * or roll back with the rows they count. Each write lands in a random one of app.rollup-slots rows of its key,
+ * which keeps concurrent transfers in the same hour from queueing on one row.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor(access = AccessLevel.PUBLIC)
+public class TransactionRollupService {
+    private static final int STORED_SCALE = 2;
+    private static final Comparator<RollupKey> KEY_ORDER = Comparator.comparing(RollupKey::bucketStart)
+            .thenComparing(RollupKey::status)
+            .thenComparing(RollupKey::currency, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final TransactionRollupRepository rollupRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ExternalRequestProperties properties;
+
+
+    /**
+     * Adds newly inserted transactions to their rollups. Must run inside the transaction that inserts them.
+     */
+    public void record(Collection<Transaction> transactions) {
+        // Sorted so that concurrent writers touching the same rollup rows always update them in the same order
+        final Map<RollupKey, TransactionRollupDelta> deltas = new TreeMap<>(KEY_ORDER);
+        for (Transaction transaction : transactions) {
+            final var key = RollupKey.of(transaction);
+            final var commission = Boolean.TRUE.equals(transaction.getCommissionWorthy())
+                    ? stored(transaction.getCommission())
+                    : BigDecimal.ZERO;
+            deltas.merge(key, key.delta(1, stored(transaction.getAmount()), stored(transaction.getFee()), commission),
+                    TransactionRollupService::add);
+        }
+        rollupRepository.addAll(new ArrayList<>(deltas.values()), slot());
+    }
+
+    /**
+     * Adds the commission changes of a settled chunk to their rollups. Must run inside the transaction that settles it.
+     */
+    public void recordCommissionChanges(List<CommissionChangeBucket> changes) {
+        final var deltas = changes.stream()
+                .map(change -> new TransactionRollupDelta(change.bucketStart(), change.status(), change.currency(), 0,
+                        BigDecimal.ZERO, BigDecimal.ZERO, orZero(change.settled()).subtract(orZero(change.previous()))))
+                .filter(delta -> delta.commission().signum() != 0)
+                .sorted(Comparator.comparing(delta -> new RollupKey(delta.bucketStart(), delta.status(), delta.currency()), KEY_ORDER))
+                .toList();
+        if (!deltas.isEmpty()) {
+            rollupRepository.addAll(deltas, slot());
+        }
+    }
+
+    /**
+     * Returns the per-status totals of the transactions created from start to end. Whole hours are read from the
+     * rollups; only the partial hours at either edge of the period are aggregated from the raw transactions.
+     *
+     * @param endInclusive whether transactions created exactly at end are included.
+     */
+    public List<TransactionStatusTotals> totals(LocalDateTime start, LocalDateTime end, boolean endInclusive) {
+        final var firstHour = ceilHour(start);
+        final var endHour = endInclusive ? floorHour(end.plusNanos(1)) : floorHour(end);
+        if (!firstHour.isBefore(endHour)) {
+            return endInclusive
+                    ? transactionRepository.sumByStatusCreatedBetween(start, end)
+                    : transactionRepository.sumByStatusCreatedFrom(start, end);
+        }
+
+        final var totals = new ArrayList<>(rollupRepository.sumByStatusBucketsFrom(firstHour, endHour));
+        if (start.isBefore(firstHour)) {
+            totals.addAll(transactionRepository.sumByStatusCreatedFrom(start, firstHour));
+        }
+        if (endInclusive && !endHour.isAfter(end)) {
+            totals.addAll(transactionRepository.sumByStatusCreatedBetween(endHour, end));
+        } else if (!endInclusive && endHour.isBefore(end)) {
+            totals.addAll(transactionRepository.sumByStatusCreatedFrom(endHour, end));
+        }
+        return totals;
+    }
+
+    /**
+     * Recomputes the rollups of the hours from start to end from the raw transactions, replacing what they held.
+     * Meant to repair closed periods: transfers committed into a rebuilt hour while it is being rebuilt may be
+     * counted twice or not at all.
+     *
+     * @return the number of rollup rows written.
+     */
+    public int rebuild(LocalDateTime start, LocalDateTime end) {
+        final var from = floorHour(start);
+        final var to = ceilHour(end);
+        final Integer rows = transactionTemplate.execute(txStatus -> {
+            rollupRepository.deleteBucketsFrom(from, to);
+            final var deltas = transactionRepository.sumHourlyBucketsCreatedFrom(from, to).stream()
+                    .map(bucket -> new TransactionRollupDelta(bucket.bucketStart(), bucket.status(), bucket.currency(),
+                            bucket.count(), orZero(bucket.amount()), orZero(bucket.fee()), orZero(bucket.commission())))
+                    .filter(delta -> delta.status() != null)
+                    .sorted(Comparator.comparing(delta -> new RollupKey(delta.bucketStart(), delta.status(), delta.currency()), KEY_ORDER))
+                    .toList();
+            rollupRepository.addAll(deltas, 0);
+            return deltas.size();
+        });
+        log.info("Rebuilt transaction rollups from {} to {}: {} rows", from, to, rows);
+        return rows == null ? 0 : rows;
+    }
+
+    /**
+     * Rebuilds the rollups of the transactions created before the earliest rollup, one day per database transaction,
+     * so that history written before rollups existed is summarised. The hour of the earliest rollup is rebuilt too,
+     * as it may hold transactions written before it, unless it is still the current hour. Does nothing once the
+     * rollups reach back to the first transaction.
+     *
+     * @return the number of rollup rows written.
+     */
+    public long backfill(LocalDateTime now) {
+        final var firstTransaction = transactionRepository.findEarliestCreatedAt();
+        final var firstBucket = rollupRepository.findEarliestBucketStart();
+        if (!precedesRollups(firstTransaction, firstBucket)) {
+            return 0;
+        }
+        final var currentHour = floorHour(now);
+        final var to = firstBucket == null || !firstBucket.isBefore(currentHour) ? currentHour : firstBucket.plusHours(1);
+        long rows = 0;
+        for (var from = floorHour(firstTransaction); from.isBefore(to); from = from.plusDays(1)) {
+            final var dayEnd = from.plusDays(1);
+            rows += rebuild(from, dayEnd.isBefore(to) ? dayEnd : to);
+        }
+        log.info("Backfilled transaction rollups from {} to {}: {} rows", floorHour(firstTransaction), to, rows);
+        return rows;
+    }
+
+    /**
+     * Whether there are transactions older than the earliest rollup for {@link #backfill} to summarise.
+     */
+    public boolean needsBackfill() {
+        return precedesRollups(transactionRepository.findEarliestCreatedAt(), rollupRepository.findEarliestBucketStart());
+    }
+
+    private static boolean precedesRollups(LocalDateTime firstTransaction, LocalDateTime firstBucket) {
+        return firstTransaction != null && (firstBucket == null || floorHour(firstTransaction).isBefore(firstBucket));
+    }
+
+    private int slot() {
+        return ThreadLocalRandom.current().nextInt(Math.max(1, properties.getRollupSlots()));
+    }
+
+    private static TransactionRollupDelta add(TransactionRollupDelta left, TransactionRollupDelta right) {
+        return new TransactionRollupDelta(left.bucketStart(), left.status(), left.currency(), left.count() + right.count(),
+                left.amount().add(right.amount()), left.fee().add(right.fee()), left.commission().add(right.commission()));
+    }
+
+    /**
+     * Amounts are stored with two decimals, so rollups add exactly what the transaction rows hold.
+     */
+    private static BigDecimal stored(BigDecimal amount) {
+        return amount == null ? BigDecimal.ZERO : amount.setScale(STORED_SCALE, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal orZero(BigDecimal amount) {
+        return amount == null ? BigDecimal.ZERO : amount;
+    }
+
+    private static LocalDateTime floorHour(LocalDateTime time) {
+        return time.truncatedTo(ChronoUnit.HOURS);
+    }
+
+    private static LocalDateTime ceilHour(LocalDateTime time) {
+        final var floor = floorHour(time);
+        return floor.equals(time) ? floor : floor.plusHours(1);
+    }
+
+    private record RollupKey(LocalDateTime bucketStart, StatusEnum status, CurrencyEnum currency) {
+
+        static RollupKey of(Transaction transaction) {
+            return new RollupKey(floorHour(transaction.getCreatedAt()), transaction.getStatus(), transaction.getCurrency());
+        }
+
+        TransactionRollupDelta delta(long count, BigDecimal amount, BigDecimal fee, BigDecimal commission) {
+            return new TransactionRollupDelta(bucketStart, status, currency, count, amount, fee, commission);
+        }
+    }
+}
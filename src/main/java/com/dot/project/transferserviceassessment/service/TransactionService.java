@@ -1,28 +1,42 @@
 package com.dot.project.transferserviceassessment.service;
 
+import com.dot.project.transferserviceassessment.audit.TransferAuditJournal;
+import com.dot.project.transferserviceassessment.constant.AuditEventEnum;
 import com.dot.project.transferserviceassessment.config.ExternalRequestProperties;
 import com.dot.project.transferserviceassessment.constant.CurrencyEnum;
+import com.dot.project.transferserviceassessment.constant.ExportFormatEnum;
 import com.dot.project.transferserviceassessment.constant.StatusEnum;
+import com.dot.project.transferserviceassessment.constant.TransferFailureReasonEnum;
+import com.dot.project.transferserviceassessment.constant.TransferStageEnum;
 import com.dot.project.transferserviceassessment.dao.entity.Transaction;
-import com.dot.project.transferserviceassessment.dao.entity.TransactionAccount;
+import com.dot.project.transferserviceassessment.dao.projection.AccountMetadata;
+import com.dot.project.transferserviceassessment.dao.projection.TransactionStatusTotals;
+import com.dot.project.transferserviceassessment.dao.projection.TransactionView;
 import com.dot.project.transferserviceassessment.dao.repository.TransactionRepository;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionSearchCriteria;
 import com.dot.project.transferserviceassessment.dto.request.TransactionReq;
 import com.dot.project.transferserviceassessment.dto.response.ApiResponse;
 import com.dot.project.transferserviceassessment.dto.response.TransactionRes;
+import com.dot.project.transferserviceassessment.dto.response.TransactionSliceRes;
 import com.dot.project.transferserviceassessment.dto.response.TransactionSummaryRes;
+import com.dot.project.transferserviceassessment.exception.AccountNotFoundException;
+import com.dot.project.transferserviceassessment.exception.InvalidCursorException;
+import com.dot.project.transferserviceassessment.exception.InvalidSearchCriteriaException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.micrometer.common.util.StringUtils;
+import io.micrometer.core.instrument.Timer;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 @Slf4j
@@ -30,250 +44,343 @@ import java.util.List;
 @RequiredArgsConstructor(access = AccessLevel.PUBLIC)
 public class TransactionService {
     private final AccountService accountService;
+    private final TransferEngine transferEngine;
+    private final IdempotencyService idempotencyService;
     private final TransactionRepository transactionRepository;
+    private final FeeScheduleService feeScheduleService;
+    private final TransferAuditJournal auditJournal;
+    private final TransactionRollupService rollupService;
     private final ExternalRequestProperties properties;
+    private final ObjectMapper objectMapper;
+    private final TransferMetrics transferMetrics;
 
 
     /**
      * Processes a transfer transaction between two accounts.
      *
+     * References that were already processed are answered with their original outcome without touching any account.
+     * Transfers that pass validation are settled by the configured {@link TransferEngine}. Every lifecycle step is
+     * recorded in the {@link TransferAuditJournal} rather than logged. The enquiry and validation stages are timed here
+     * and the rest by the engine, and every rejection or failure is counted by reason, in {@link TransferMetrics}.
+     *
      * @param transactionReq the transaction request containing details such as source account number,
      *                       destination account number, reference, amount, and currency.
      * @return an ApiResponse containing a TransactionRes object if the transaction is successful,
      *         or an error message if the transaction fails.
      */
     public ApiResponse<TransactionRes> processTransfer(TransactionReq transactionReq) {
-        log.info("Starting transfer process. Source Account = {}, Destination Account = {}, Reference = {}",
-                transactionReq.getSourceAccountNumber(), transactionReq.getDestinationAccountNumber(), transactionReq.getReference());
+        audit(AuditEventEnum.RECEIVED, transactionReq, transactionReq.getAmount(), null);
+
+        // Known duplicates are answered with their original outcome before any account I/O
+        final var replayed = idempotencyService.replay(transactionReq.getReference());
+        if (replayed.isPresent()) {
+            transferMetrics.failed(TransferFailureReasonEnum.DUPLICATE_REFERENCE);
+            audit(AuditEventEnum.FAILED, transactionReq, transactionReq.getAmount(), "Duplicate reference replayed");
+            return replayed.get();
+        }
 
-        // Fetch and log account details
-        final var sourceAccount = accountService.accountEnquiry(transactionReq.getSourceAccountNumber());
-        logAccountDetails(sourceAccount, "Source");
-        final var destinationAccount = accountService.accountEnquiry(transactionReq.getDestinationAccountNumber());
-        logAccountDetails(destinationAccount, "Destination");
+        try {
+            return processNewTransfer(transactionReq);
+        } catch (RuntimeException e) {
+            // Unknown accounts and failures to record the outcome propagate to the exception handler
+            transferMetrics.failed(e instanceof AccountNotFoundException
+                    ? TransferFailureReasonEnum.ACCOUNT_NOT_FOUND : TransferFailureReasonEnum.PROCESSING_ERROR);
+            audit(AuditEventEnum.FAILED, transactionReq, transactionReq.getAmount(), e.getMessage());
+            throw e;
+        }
+    }
 
-        // Build transaction object
-        final var transaction = buildTransaction(transactionReq);
-        log.info("Transaction initialized: {}", transaction);
+    private ApiResponse<TransactionRes> processNewTransfer(TransactionReq transactionReq) {
+        // Resolve account metadata from the cache; balances are checked by the debit itself
+        final var enquiry = Timer.start();
+        final var sourceAccount = accountService.activeAccountMetadata(transactionReq.getSourceAccountNumber());
+        final var destinationAccount = accountService.activeAccountMetadata(transactionReq.getDestinationAccountNumber());
+        enquiry.stop(transferMetrics.stage(TransferStageEnum.ENQUIRY));
 
-        // Validation checks
+        // Build transaction object and run the validation checks
+        final var validation = Timer.start();
+        final var transaction = buildTransaction(transactionReq);
+        final TransferFailureReasonEnum rejection;
         if (isSameAccount(sourceAccount, destinationAccount)) {
-            return handleValidationFailure(transaction, "Source and destination accounts cannot be the same");
-        }
-
-        if (isCurrencyMismatch(sourceAccount, transactionReq.getCurrency(), "Source")
+            rejection = TransferFailureReasonEnum.SAME_ACCOUNT;
+        } else if (isCurrencyMismatch(sourceAccount, transactionReq.getCurrency(), "Source")
                 || isCurrencyMismatch(destinationAccount, transactionReq.getCurrency(), "Destination")) {
-            return handleValidationFailure(transaction, "Currency mismatch detected");
+            rejection = TransferFailureReasonEnum.CURRENCY_MISMATCH;
+        } else {
+            rejection = null;
         }
+        validation.stop(transferMetrics.stage(TransferStageEnum.VALIDATION));
 
-        if (hasInsufficientFunds(sourceAccount, transaction.getBilledAmount())) {
-            return handleValidationFailure(transaction, "Insufficient funds in source account");
+        if (rejection == TransferFailureReasonEnum.SAME_ACCOUNT) {
+            return handleValidationFailure(transaction, rejection, "Source and destination accounts cannot be the same");
+        }
+        if (rejection == TransferFailureReasonEnum.CURRENCY_MISMATCH) {
+            return handleValidationFailure(transaction, rejection, "Currency mismatch detected");
         }
 
         //TODO:limit check on source account
 
-        // Perform the transfer
+        audit(AuditEventEnum.VALIDATED, transactionReq, transaction.getBilledAmount(), null);
+
+        // Settle the transfer; the funds check happens atomically inside the engine's debit
         try {
-            executeTransfer(transactionReq, sourceAccount, destinationAccount, transaction);
-            log.info("Transaction completed successfully. Source Account = {}, Reference = {}",
-                    sourceAccount.getAccountNumber(), transactionReq.getReference());
+            if (!transferEngine.settle(transaction)) {
+                return handleValidationFailure(transaction, TransferFailureReasonEnum.INSUFFICIENT_FUNDS,
+                        "Insufficient funds in source account");
+            }
+            idempotencyService.record(transaction);
             return ApiResponse.success(new TransactionRes(transaction));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request with the same reference got there first and holds the only outcome; recording a
+            // failure under its reference would break the unique index again
+            transferMetrics.failed(TransferFailureReasonEnum.DUPLICATE_REFERENCE);
+            audit(AuditEventEnum.FAILED, transactionReq, transactionReq.getAmount(), "Duplicate reference settled concurrently");
+            return idempotencyService.replayRecorded(transactionReq.getReference())
+                    .orElseGet(() -> ApiResponse.error("Duplicate transaction reference"));
         } catch (Exception e) {
-            // TODO: Reversal process(Event Driven)
+            // The engine moves no money for a transfer it fails to settle, no reversal is needed
             log.error("Error during transfer process for Reference: {}", transactionReq.getReference(), e);
-            return handleTransactionFailure(transaction, StatusEnum.FAILED, "An error occurred during transaction processing");
+            transaction.setId(null);
+            return handleTransactionFailure(transaction, StatusEnum.FAILED, TransferFailureReasonEnum.PROCESSING_ERROR,
+                    "An error occurred during transaction processing");
         }
     }
 
-    private void logAccountDetails(TransactionAccount account, String accountType) {
-        log.info("{} Account: {}, Balance: {}, Currency: {}",
-                accountType, account.getAccountNumber(), account.getBalance(), account.getCurrency());
-    }
-
-    private boolean isSameAccount(TransactionAccount source, TransactionAccount destination) {
-        if (source.getAccountNumber().equals(destination.getAccountNumber())) {
-            log.warn("Validation failed: Source and destination accounts are the same. Account = {}", source.getAccountNumber());
+    private boolean isSameAccount(AccountMetadata source, AccountMetadata destination) {
+        if (source.accountNumber().equals(destination.accountNumber())) {
+            log.debug("Validation failed: Source and destination accounts are the same. Account = {}", source.accountNumber());
             return true;
         }
         return false;
     }
 
-    private boolean isCurrencyMismatch(TransactionAccount account, CurrencyEnum expectedCurrency, String accountType) {
-        if (!account.getCurrency().equals(expectedCurrency)) {
-            log.warn("Validation failed: Currency mismatch for {} Account = {}, Expected = {}, Provided = {}",
-                    accountType, account.getAccountNumber(), account.getCurrency(), expectedCurrency);
+    private boolean isCurrencyMismatch(AccountMetadata account, CurrencyEnum expectedCurrency, String accountType) {
+        if (!account.currency().equals(expectedCurrency)) {
+            log.debug("Validation failed: Currency mismatch for {} Account = {}, Expected = {}, Provided = {}",
+                    accountType, account.accountNumber(), account.currency(), expectedCurrency);
             return true;
         }
         return false;
     }
 
-    private boolean hasInsufficientFunds(TransactionAccount source, BigDecimal requiredAmount) {
-        if (source.getBalance().compareTo(requiredAmount) < 0) {
-            log.warn("Validation failed: Insufficient funds for Source Account = {}, Balance = {}, Required = {}",
-                    source.getAccountNumber(), source.getBalance(), requiredAmount);
-            return true;
-        }
-        return false;
+    private ApiResponse<TransactionRes> handleValidationFailure(Transaction transaction, TransferFailureReasonEnum reason,
+                                                                String errorMessage) {
+        log.debug("Validation error: {}", errorMessage);
+        return handleTransactionFailure(transaction, StatusEnum.FAILED, reason, errorMessage);
     }
 
-    private void executeTransfer(TransactionReq transactionReq, TransactionAccount sourceAccount, TransactionAccount destinationAccount, Transaction transaction) {
-        log.info("Debiting Source Account: {}, Amount: {}", sourceAccount.getAccountNumber(), transactionReq.getAmount());
-        accountService.debitAccount(sourceAccount, transaction.getBilledAmount());
-
-        log.info("Crediting Destination Account: {}, Amount: {}", destinationAccount.getAccountNumber(), transaction.getAmount());
-        accountService.creditAccount(destinationAccount, transaction.getAmount());
-
-        transaction.setStatus(StatusEnum.SUCCESSFUL);
-        transaction.setStatusMessage("Transaction Successful");
-        transactionRepository.save(transaction);
-    }
-
-    private ApiResponse<TransactionRes> handleValidationFailure(Transaction transaction, String errorMessage) {
-        log.warn("Validation error: {}", errorMessage);
-        return handleTransactionFailure(transaction, StatusEnum.FAILED, errorMessage);
-    }
-
-    private ApiResponse<TransactionRes> handleTransactionFailure(Transaction transaction, StatusEnum status, String message) {
+    private ApiResponse<TransactionRes> handleTransactionFailure(Transaction transaction, StatusEnum status,
+                                                                 TransferFailureReasonEnum reason, String message) {
         transaction.setStatus(status);
         transaction.setStatusMessage(message);
-        transactionRepository.save(transaction);
-        log.info("Transaction failed. Status = {}, Message = {}, Reference = {}", status, message, transaction.getReference());
+        transferEngine.recordFailure(transaction);
+        // Counted once recorded: a failure to record it is counted by processTransfer as a processing error instead
+        transferMetrics.failed(reason);
+        idempotencyService.record(transaction);
+        auditJournal.append(AuditEventEnum.FAILED, transaction.getReference(), transaction.getSourceAccountNumber(),
+                transaction.getDestinationAccountNumber(), transaction.getAmount(), message);
         return ApiResponse.error(message);
     }
 
+    private void audit(AuditEventEnum event, TransactionReq transactionReq, BigDecimal amount, String detail) {
+        auditJournal.append(event, transactionReq.getReference(), transactionReq.getSourceAccountNumber(),
+                transactionReq.getDestinationAccountNumber(), amount, detail);
+    }
 
-    private Transaction buildTransaction(TransactionReq transactionReq) {
-        final var fee = calculateFee(transactionReq.getAmount());
+
+    Transaction buildTransaction(TransactionReq transactionReq) {
+        final var fee = feeScheduleService.calculateFee(transactionReq.getCurrency(), transactionReq.getAmount());
         return Transaction.builder()
                 .sourceAccountNumber(transactionReq.getSourceAccountNumber())
                 .destinationAccountNumber(transactionReq.getDestinationAccountNumber())
                 .reference(transactionReq.getReference())
                 .amount(transactionReq.getAmount())
+                .currency(transactionReq.getCurrency())
                 .fee(fee)
                 .billedAmount(transactionReq.getAmount().add(fee))
                 .description(transactionReq.getDescription())
                 .build();
     }
 
-    private BigDecimal calculateFee(BigDecimal transactionAmount) {
-        BigDecimal fee = transactionAmount.multiply(new BigDecimal(properties.getFeePercentage())); // Percentage of amount
-        return fee.min(new BigDecimal(properties.getFeeCap())); // Apply cap
-    }
-
 
     /**
      * Retrieves a paginated list of transactions based on the provided filters.
      *
+     * Rows are read as {@link TransactionView} projections without their description, and the total is only
+     * counted when the page alone cannot tell it.
+     *
      * @param status               the status of the transactions to filter by (e.g., SUCCESSFUL, FAILED).
      * @param sourceAccountNumber  the source account number to filter transactions by.
      * @param destinationAccountNumber the destination account number to filter transactions by.
-     * @param startDate            the start date for the transaction creation date filter, in "yyyy-MM-dd HH:mm:ss" format.
-     * @param endDate              the end date for the transaction creation date filter, in "yyyy-MM-dd HH:mm:ss" format.
+     * @param startDate            the inclusive lower bound of the transaction creation time.
+     * @param endDate              the inclusive upper bound of the transaction creation time.
      * @param pageable             the pagination information, including page number and size.
      * @return an ApiResponse containing a Page of TransactionRes objects that match the specified filters.
+     * @throws InvalidSearchCriteriaException if the date range is reversed or the sort is not supported.
      */
     public ApiResponse<Page<TransactionRes>> getTransactions(String status, String sourceAccountNumber,
-                                                             String destinationAccountNumber, String startDate,
-                                                             String endDate, Pageable pageable) {
+                                                             String destinationAccountNumber, LocalDateTime startDate,
+                                                             LocalDateTime endDate, Pageable pageable) {
 
-        Specification<Transaction> specification = Specification.where(null);
+        final var criteria = searchCriteria(status, sourceAccountNumber, destinationAccountNumber, startDate, endDate);
 
-        // Build the specification dynamically based on input filters
-        if (StringUtils.isNotBlank(status)) {
-            specification = specification.and((root, query, cb) -> cb.equal(root.get("status"), status));
-        }
+        // Fetch paginated results
+        final var pagedResults = transactionRepository.search(criteria, pageable);
 
-        if (StringUtils.isNotBlank(sourceAccountNumber)) {
-            specification = specification.and((root, query, cb) -> cb.equal(root.get("sourceAccountNumber"), sourceAccountNumber));
-        }
+        log.debug("Fetched {} transactions for {}", pagedResults.getNumberOfElements(), criteria);
 
-        if (StringUtils.isNotBlank(destinationAccountNumber)) {
-            specification = specification.and((root, query, cb) -> cb.equal(root.get("destinationAccountNumber"), destinationAccountNumber));
-        }
+        return ApiResponse.success(pagedResults.map(TransactionRes::new));
+    }
 
-        if (startDate != null && endDate != null) {
-            specification = specification.and((root, query, cb) -> cb.between(root.get("createdAt"), startDate, endDate));
-        } else if (startDate != null) {
-            LocalDateTime finalStartDate = LocalDateTime.parse(startDate, DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-            specification = specification.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), finalStartDate));
-        } else if (endDate != null) {
-            LocalDateTime finalEndDate = LocalDateTime.parse(endDate, DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-            specification = specification.and((root, query, cb) -> cb.lessThanOrEqualTo(root.get("createdAt"), finalEndDate));
-        }
+    /**
+     * Retrieves one slice of a keyset walk over the transactions matching the provided filters, ordered by
+     * creation time and id.
+     *
+     * Unlike {@link #getTransactions}, no total count is run and the next slice is found by seeking past the
+     * last returned (created_at, id) on its index, so every slice costs the same however deep the walk is.
+     *
+     * @param status               the status of the transactions to filter by (e.g., SUCCESSFUL, FAILED).
+     * @param sourceAccountNumber  the source account number to filter transactions by.
+     * @param destinationAccountNumber the destination account number to filter transactions by.
+     * @param startDate            the inclusive lower bound of the transaction creation time.
+     * @param endDate              the inclusive upper bound of the transaction creation time.
+     * @param cursor               the nextCursor of the previous slice, or blank to start the walk.
+     * @param size                 the maximum number of transactions in the slice.
+     * @return an ApiResponse containing the slice and, unless it is the last one, the cursor of the next slice.
+     * @throws InvalidCursorException if the cursor was not issued by this service.
+     * @throws InvalidSearchCriteriaException if the date range is reversed.
+     */
+    public ApiResponse<TransactionSliceRes> getTransactionSlice(String status, String sourceAccountNumber,
+                                                                String destinationAccountNumber, LocalDateTime startDate,
+                                                                LocalDateTime endDate, String cursor, int size) {
 
-        // Fetch paginated results
-        Page<Transaction> pagedResults = transactionRepository.findAll(specification, pageable);
+        final var criteria = searchCriteria(status, sourceAccountNumber, destinationAccountNumber, startDate, endDate);
+        final var position = StringUtils.isNotBlank(cursor) ? TransactionCursor.decode(cursor) : null;
 
-        if (pagedResults.isEmpty()) {
-            log.info("No transactions found for the given filters: Status={}, SourceAccount={}, DestinationAccount={}, StartDate={}, EndDate={}",
-                    status, sourceAccountNumber, destinationAccountNumber, startDate, endDate);
-        }
+        // One extra row tells whether another slice follows without counting
+        final var rows = position == null
+                ? transactionRepository.searchAfter(criteria, null, 0, size + 1)
+                : transactionRepository.searchAfter(criteria, position.createdAt(), position.id(), size + 1);
 
-        // Map entities to DTOs
-        List<TransactionRes> transactionResponses = pagedResults.getContent()
-                .stream()
-                .map(TransactionRes::new)
-                .toList();
+        final var hasNext = rows.size() > size;
+        final var content = hasNext ? rows.subList(0, size) : rows;
+        final var nextCursor = hasNext
+                ? new TransactionCursor(content.getLast().createdAt(), content.getLast().id()).encode()
+                : null;
 
-        log.info("Fetched {} transactions for the given filters.", transactionResponses.size());
+        log.debug("Fetched {} transactions for keyset slice, hasNext={}", content.size(), hasNext);
+
+        return ApiResponse.success(new TransactionSliceRes(
+                content.stream().map(TransactionRes::new).toList(), content.size(), hasNext, nextCursor));
+    }
 
-        // Return paginated response
-        return ApiResponse.success(new PageImpl<>(transactionResponses, pageable, pagedResults.getTotalElements()));
+    /**
+     * Streams every transaction matching the criteria to the output, ordered by creation time and id.
+     *
+     * Rows are read through a forward-only cursor of app.export-fetch-size rows and written as they arrive, with a
+     * flush every app.export-flush-rows rows, so memory use does not grow with the size of the export.
+     *
+     * @param criteria the filters built by {@link #searchCriteria}.
+     * @param format   the format of the rows, NDJSON or CSV.
+     * @param out      the stream the export is written to; it is flushed but not closed.
+     */
+    public void exportTransactions(TransactionSearchCriteria criteria, ExportFormatEnum format,
+                                   OutputStream out) throws IOException {
+        try (var writer = TransactionExportWriter.open(format, out, objectMapper, properties.getExportFlushRows())) {
+            transactionRepository.forEachMatch(criteria, properties.getExportFetchSize(), writer::write);
+            log.debug("Exported {} transactions as {} for {}", writer.rows(), format, criteria);
+        }
+    }
+
+    /**
+     * Builds the filters of a transaction search from request parameters, blank ones meaning no filter.
+     *
+     * @throws InvalidSearchCriteriaException if the date range is reversed.
+     */
+    public TransactionSearchCriteria searchCriteria(String status, String sourceAccountNumber,
+                                                    String destinationAccountNumber, LocalDateTime startDate,
+                                                    LocalDateTime endDate) {
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            throw new InvalidSearchCriteriaException("startDate must not be after endDate");
+        }
+        return new TransactionSearchCriteria(
+                StringUtils.isNotBlank(status) ? StatusEnum.valueOf(status) : null,
+                StringUtils.isNotBlank(sourceAccountNumber) ? sourceAccountNumber : null,
+                StringUtils.isNotBlank(destinationAccountNumber) ? destinationAccountNumber : null,
+                startDate, endDate);
     }
 
 
     public ApiResponse<TransactionSummaryRes> getDailySummary(LocalDate date) {
-        LocalDateTime startOfDay = date.atStartOfDay();
-        LocalDateTime endOfDay = date.atTime(23,59);
-        return ApiResponse.success(getTransactionSummary(startOfDay,endOfDay));
+        return ApiResponse.success(getDaySummary(date));
+    }
+
+    /**
+     * Generates a summary of the transactions created on the given day, read entirely from its 24 hourly rollups.
+     *
+     * @param date The day to summarise.
+     * @return A TransactionSummaryRes object covering the whole day.
+     */
+    public TransactionSummaryRes getDaySummary(LocalDate date) {
+        return getPeriodSummary(date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * Generates a summary of the transactions created in the half-open period [start, end), read from the hourly
+     * rollups for its whole hours. The summary reports the period as start to the last instant before end.
+     *
+     * @param start The start of the period, inclusive.
+     * @param end The end of the period, exclusive.
+     * @return A TransactionSummaryRes object covering the period.
+     */
+    public TransactionSummaryRes getPeriodSummary(LocalDateTime start, LocalDateTime end) {
+        return summarise(start, end.minusNanos(1), rollupService.totals(start, end, false));
     }
 
     /**
      * Generates a summary of transactions for a specified time period.
-     * This method fetches all transactions within the given time range and calculates
-     * various metrics such as total transactions, total amount, total commission,
-     * and counts of successful and failed transactions.
+     * Whole hours of the period are read from the hourly rollups and only its partial edge hours are
+     * aggregated from the transactions themselves, so the cost of the summary does not depend on how
+     * many transactions the period holds. This method only folds the per-status totals into the total
+     * number of transactions, total amount, total commission, and counts of successful and failed transactions.
      *
      * @param start The start date and time of the period for which to generate the summary.
-     * @param end The end date and time of the period for which to generate the summary.
+     * @param end The end date and time of the period for which to generate the summary, inclusive.
      * @return A TransactionSummaryRes object containing the calculated metrics for the specified period.
      *         This includes the total number of transactions, counts of successful and failed transactions,
      *         total transaction amount, and total commission earned.
      */
     public TransactionSummaryRes getTransactionSummary(LocalDateTime start, LocalDateTime end) {
-        log.info("Starting transaction summary for period: {} to {}", start, end);
-
-        // Fetch all transactions for the specified day
-        List<Transaction> transactions = transactionRepository.findByCreatedAtBetween(start, end);
-        log.info("Fetched {} transactions for the specified period.", transactions.size());
-
-        // Aggregate metrics
-        int totalTransactions = transactions.size();
-        BigDecimal totalAmount = transactions.stream()
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        log.info("Calculated total amount: {}", totalAmount);
-
-        BigDecimal totalCommission = transactions.stream()
-                .filter(transaction -> Boolean.TRUE.equals(transaction.getCommissionWorthy()))
-                .map(Transaction::getCommission)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        log.info("Calculated total commission: {}", totalCommission);
-
-        long successfulTransactions = transactions.stream()
-                .filter(transaction -> StatusEnum.SUCCESSFUL.equals(transaction.getStatus()))
-                .count();
-        log.info("Counted {} successful transactions.", successfulTransactions);
-
-        long failedTransactions = transactions.stream()
-                .filter(transaction -> StatusEnum.FAILED.equals(transaction.getStatus()) ||
-                        StatusEnum.INSUFFICIENT_FUND.equals(transaction.getStatus()))
-                .count();
-        log.info("Counted {} failed transactions.", failedTransactions);
-
-        log.info("Transaction summary completed for period: {} to {}", start, end);
+        return summarise(start, end, rollupService.totals(start, end, true));
+    }
+
+    private TransactionSummaryRes summarise(LocalDateTime start, LocalDateTime end, List<TransactionStatusTotals> totals) {
+        long totalTransactions = 0;
+        long successfulTransactions = 0;
+        long failedTransactions = 0;
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        BigDecimal totalCommission = BigDecimal.ZERO;
+
+        for (TransactionStatusTotals statusTotals : totals) {
+            totalTransactions += statusTotals.count();
+            if (StatusEnum.SUCCESSFUL.equals(statusTotals.status())) {
+                successfulTransactions += statusTotals.count();
+            } else if (StatusEnum.FAILED.equals(statusTotals.status())
+                    || StatusEnum.INSUFFICIENT_FUND.equals(statusTotals.status())) {
+                failedTransactions += statusTotals.count();
+            }
+            if (statusTotals.amount() != null) {
+                totalAmount = totalAmount.add(statusTotals.amount());
+            }
+            if (statusTotals.commission() != null) {
+                totalCommission = totalCommission.add(statusTotals.commission());
+            }
+        }
+
+        log.debug("Transaction summary for period {} to {}: transactions={}, amount={}, commission={}",
+                start, end, totalTransactions, totalAmount, totalCommission);
 
         return new TransactionSummaryRes(start, end, totalTransactions, successfulTransactions,
                 failedTransactions, totalAmount, totalCommission);
     }
-}
\ No newline at end of file
+}
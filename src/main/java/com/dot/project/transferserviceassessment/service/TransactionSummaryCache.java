@@ -0,0 +1,101 @@
+package com.dot.project.transferserviceassessment.service;
+
+import com.dot.project.transferserviceassessment.config.ExternalRequestProperties;
+import com.dot.project.transferserviceassessment.dto.response.ApiResponse;
+import com.dot.project.transferserviceassessment.dto.response.TransactionSummaryRes;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import java.time.Duration;
+import java.time.LocalDate;
+import static com.dot.project.transferserviceassessment.scheduler.ScheduledTasks.ZONE_ID;
+
+/**
+ * Cache of daily summaries in front of {@link TransactionService#getDaySummary}, each with the ETag of its body.
+ *
+ * Days before yesterday are closed: no transfer is written into them and their commissions are settled, so their
+ * summaries are kept until evicted by size. Yesterday and today are open and kept for a short TTL only; the jobs
+ * that still change yesterday invalidate it when they finish. Hit, miss and eviction counts are published under the
+ * "closedDaySummary" and "openDaySummary" cache names.
+ */
+@Slf4j
+@Component
+public class TransactionSummaryCache {
+
+    private final TransactionService transactionService;
+    private final ObjectMapper objectMapper;
+    private final Cache<LocalDate, CachedSummary> closedDays;
+    private final Cache<LocalDate, CachedSummary> openDays;
+
+    public TransactionSummaryCache(TransactionService transactionService, ObjectMapper objectMapper,
+                                   ExternalRequestProperties properties, MeterRegistry meterRegistry) {
+        this.transactionService = transactionService;
+        this.objectMapper = objectMapper;
+        this.closedDays = Caffeine.newBuilder()
+                .maximumSize(properties.getSummaryCacheMaxDays())
+                .recordStats()
+                .build();
+        this.openDays = Caffeine.newBuilder()
+                .maximumSize(2)
+                .expireAfterWrite(Duration.ofSeconds(properties.getSummaryCacheOpenDayTtlSeconds()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, closedDays, "closedDaySummary");
+        CaffeineCacheMetrics.monitor(meterRegistry, openDays, "openDaySummary");
+    }
+
+    public CachedSummary get(LocalDate date) {
+        if (isClosed(date)) {
+            return closedDays.get(date, this::load);
+        }
+        if (date.isAfter(LocalDate.now(ZONE_ID))) {
+            // Nothing to cache for days that have not started yet
+            return load(date);
+        }
+        return openDays.get(date, this::load);
+    }
+
+    public void invalidate(LocalDate date) {
+        log.info("Invalidating cached summary for date: {}", date);
+        closedDays.invalidate(date);
+        openDays.invalidate(date);
+    }
+
+    public void invalidateAll() {
+        log.info("Invalidating all cached summaries");
+        closedDays.invalidateAll();
+        openDays.invalidateAll();
+    }
+
+    /**
+     * Whether the summary of the given day can no longer change.
+     */
+    public static boolean isClosed(LocalDate date) {
+        return date.isBefore(LocalDate.now(ZONE_ID).minusDays(1));
+    }
+
+    private CachedSummary load(LocalDate date) {
+        final var response = ApiResponse.success(transactionService.getDaySummary(date));
+        try {
+            // Hashed once here, so a request revalidating its copy is answered without serializing anything
+            final var etag = '"' + DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(response)) + '"';
+            return new CachedSummary(response, etag, isClosed(date));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize the summary of " + date, e);
+        }
+    }
+
+    /**
+     * A daily summary response with the strong ETag of its JSON body.
+     *
+     * @param closed whether the day was closed when the summary was computed.
+     */
+    public record CachedSummary(ApiResponse<TransactionSummaryRes> response, String etag, boolean closed) {
+    }
+}
@@ -0,0 +1,129 @@
+package com.dot.project.transferserviceassessment.service;
+
+import com.dot.project.transferserviceassessment.config.ExternalRequestProperties;
+import com.dot.project.transferserviceassessment.constant.SummaryGranularityEnum;
+import com.dot.project.transferserviceassessment.dto.response.TransactionSummaryRes;
+import com.dot.project.transferserviceassessment.exception.InvalidSearchCriteriaException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Summarises a range as a time series of hour, day, week or month buckets.
+ *
+ * The buckets are split into chunks of app.summary-range-chunk-buckets that are aggregated concurrently on a
+ * dedicated fork-join pool of app.summary-range-parallelism threads and merged back in order. Every bucket is
+ * answered from the hourly rollups, so a bucket costs the same whatever its size. The pool threads block on the
+ * database, so the parallelism must stay well below the connection pool size.
+ */
+@Slf4j
+@Service
+public class TransactionSummaryRangeService {
+
+    private final TransactionService transactionService;
+    private final ExternalRequestProperties properties;
+    private final ForkJoinPool pool;
+
+    public TransactionSummaryRangeService(TransactionService transactionService, ExternalRequestProperties properties) {
+        this.transactionService = transactionService;
+        this.properties = properties;
+        this.pool = new ForkJoinPool(Math.max(1, properties.getSummaryRangeParallelism()));
+    }
+
+    /**
+     * Summarises the transactions created in [from, to) per bucket of the given granularity. Buckets are aligned to
+     * the start of their hour, day, week (Monday) or month; the first and last bucket are cut at from and to.
+     */
+    public List<TransactionSummaryRes> getRangeSummary(LocalDateTime from, LocalDateTime to,
+                                                       SummaryGranularityEnum granularity) {
+        if (!from.isBefore(to)) {
+            throw new InvalidSearchCriteriaException("from must be before to");
+        }
+        final var boundaries = boundaries(from, to, granularity);
+        log.debug("Range summary from {} to {} by {}: {} buckets", from, to, granularity, boundaries.size() - 1);
+        return pool.invoke(new BucketTask(boundaries, 0, boundaries.size() - 1));
+    }
+
+    @PreDestroy
+    public void stop() {
+        pool.shutdown();
+    }
+
+    /**
+     * Returns from, every bucket start after it and before to, and to.
+     */
+    private List<LocalDateTime> boundaries(LocalDateTime from, LocalDateTime to, SummaryGranularityEnum granularity) {
+        final var maxBuckets = properties.getSummaryRangeMaxBuckets();
+        final var boundaries = new ArrayList<LocalDateTime>();
+        boundaries.add(from);
+        var next = next(truncate(from, granularity), granularity);
+        while (next.isBefore(to)) {
+            if (boundaries.size() == maxBuckets) {
+                throw new InvalidSearchCriteriaException("The range covers more than " + maxBuckets + " "
+                        + granularity.name().toLowerCase() + " buckets");
+            }
+            boundaries.add(next);
+            next = next(next, granularity);
+        }
+        boundaries.add(to);
+        return boundaries;
+    }
+
+    private static LocalDateTime truncate(LocalDateTime time, SummaryGranularityEnum granularity) {
+        return switch (granularity) {
+            case HOUR -> time.truncatedTo(ChronoUnit.HOURS);
+            case DAY -> time.truncatedTo(ChronoUnit.DAYS);
+            case WEEK -> time.truncatedTo(ChronoUnit.DAYS).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> time.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+        };
+    }
+
+    private static LocalDateTime next(LocalDateTime bucketStart, SummaryGranularityEnum granularity) {
+        return switch (granularity) {
+            case HOUR -> bucketStart.plusHours(1);
+            case DAY -> bucketStart.plusDays(1);
+            case WEEK -> bucketStart.plusWeeks(1);
+            case MONTH -> bucketStart.plusMonths(1);
+        };
+    }
+
+    /**
+     * Summarises the buckets between boundaries[first] and boundaries[last], forking halves above the chunk size.
+     */
+    private final class BucketTask extends RecursiveTask<List<TransactionSummaryRes>> {
+        private final List<LocalDateTime> boundaries;
+        private final int first;
+        private final int last;
+
+        private BucketTask(List<LocalDateTime> boundaries, int first, int last) {
+            this.boundaries = boundaries;
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        protected List<TransactionSummaryRes> compute() {
+            if (last - first <= Math.max(1, properties.getSummaryRangeChunkBuckets())) {
+                final var buckets = new ArrayList<TransactionSummaryRes>(last - first);
+                for (int i = first; i < last; i++) {
+                    buckets.add(transactionService.getPeriodSummary(boundaries.get(i), boundaries.get(i + 1)));
+                }
+                return buckets;
+            }
+            final var middle = (first + last) >>> 1;
+            final var right = new BucketTask(boundaries, middle, last);
+            right.fork();
+            final var buckets = new ArrayList<>(new BucketTask(boundaries, first, middle).compute());
+            buckets.addAll(right.join());
+            return buckets;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.dot.project.transferserviceassessment.service;
+
+import com.dot.project.transferserviceassessment.dao.entity.Transaction;
+
+/**
+ * Moves money for transfers that passed validation and records their outcome.
+ *
+ * Selected with app.transfer-engine: jpa (default) settles every transfer in its own database transaction,
+ * ledger settles against in-memory balances and persists behind a durable journal.
+ */
+public interface TransferEngine {
+
+    /**
+     * Debits the billed amount from the source account, credits the amount to the destination account and
+     * records the transaction as SUCCESSFUL.
+     *
+     * @return false if the source account cannot cover the billed amount; no money moves and nothing is recorded.
+     */
+    boolean settle(Transaction transaction);
+
+    /**
+     * Records a transaction that was rejected without moving money.
+     */
+    void recordFailure(Transaction transaction);
+
+    /**
+     * Blocks until every settled transaction has been written to the database.
+     */
+    void flush();
+}
@@ -0,0 +1,53 @@
+package com.dot.project.transferserviceassessment.service;
+
+import com.dot.project.transferserviceassessment.constant.TransferFailureReasonEnum;
+import com.dot.project.transferserviceassessment.constant.TransferStageEnum;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Meters shared by the stages of a transfer, whichever engine settles it.
+ *
+ * "transfer.stage" times each stage (tag stage: enquiry, validation, debit, credit, persist) with a percentile
+ * histogram, and "transfer.failures" counts rejected and failed transfers by reason. Both are registered up front so
+ * every stage and reason is visible under /actuator/metrics before it first occurs.
+ */
+@Component
+public class TransferMetrics {
+
+    private final Map<TransferStageEnum, Timer> stageTimers = new EnumMap<>(TransferStageEnum.class);
+    private final Map<TransferFailureReasonEnum, Counter> failureCounters = new EnumMap<>(TransferFailureReasonEnum.class);
+
+    public TransferMetrics(MeterRegistry meterRegistry) {
+        for (TransferStageEnum stage : TransferStageEnum.values()) {
+            stageTimers.put(stage, Timer.builder("transfer.stage")
+                    .description("Time spent in one stage of a transfer")
+                    .tag("stage", tagValue(stage))
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        for (TransferFailureReasonEnum reason : TransferFailureReasonEnum.values()) {
+            failureCounters.put(reason, Counter.builder("transfer.failures")
+                    .description("Transfers rejected or failed, by reason")
+                    .tag("reason", tagValue(reason))
+                    .register(meterRegistry));
+        }
+    }
+
+    public Timer stage(TransferStageEnum stage) {
+        return stageTimers.get(stage);
+    }
+
+    public void failed(TransferFailureReasonEnum reason) {
+        failureCounters.get(reason).increment();
+    }
+
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+}
@@ -0,0 +1,72 @@
+package com.dot.project.transferserviceassessment;
+
+import com.dot.project.transferserviceassessment.constant.AccountStatusEnum;
+import com.dot.project.transferserviceassessment.constant.CurrencyEnum;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionAccountRepository;
+import com.dot.project.transferserviceassessment.dto.request.TransactionReq;
+import com.dot.project.transferserviceassessment.exception.AccountNotFoundException;
+import com.dot.project.transferserviceassessment.service.AccountService;
+import com.dot.project.transferserviceassessment.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import java.math.BigDecimal;
+import static com.dot.project.transferserviceassessment.TestAccounts.account;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that a status change made through {@link AccountService} takes effect on the next transfer despite the
+ * cached metadata, and that an unknown account number is looked up again rather than cached as missing.
+ */
+@IsolatedSpringBootTest
+class AccountMetadataCacheTests {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionAccountRepository transactionAccountRepository;
+
+    @Test
+    void shouldStopTransfersFromAnAccountAsSoonAsItIsDeactivated() {
+        transactionAccountRepository.save(account("8930000001", "100.00"));
+        transactionAccountRepository.save(account("8930000002", "100.00"));
+
+        // Both accounts are now cached as active
+        assertEquals("00", transactionService.processTransfer(transfer("metadata-cache-1")).getResponseCode());
+
+        accountService.updateAccountStatus("8930000001", AccountStatusEnum.INACTIVE);
+
+        assertThrows(AccountNotFoundException.class, () -> accountService.activeAccountMetadata("8930000001"));
+        assertThrows(AccountNotFoundException.class, () -> transactionService.processTransfer(transfer("metadata-cache-2")));
+        assertEquals(0, new BigDecimal("89.95").compareTo(balance("8930000001")));
+    }
+
+    @Test
+    void shouldNotCacheAccountsThatWereNotFound() {
+        assertThrows(AccountNotFoundException.class, () -> accountService.activeAccountMetadata("8930000003"));
+
+        transactionAccountRepository.save(account("8930000003", "100.00"));
+
+        assertEquals("8930000003", accountService.activeAccountMetadata("8930000003").accountNumber());
+    }
+
+    private BigDecimal balance(String accountNumber) {
+        return transactionAccountRepository.findAll().stream()
+                .filter(account -> account.getAccountNumber().equals(accountNumber))
+                .findFirst().orElseThrow().getBalance();
+    }
+
+    private static TransactionReq transfer(String reference) {
+        return TransactionReq.builder()
+                .reference(reference)
+                .amount(new BigDecimal("10.00"))
+                .currency(CurrencyEnum.USD)
+                .sourceAccountNumber("8930000001")
+                .destinationAccountNumber("8930000002")
+                .build();
+    }
+}
@@ -0,0 +1,108 @@
+package com.dot.project.transferserviceassessment;
+
+import com.dot.project.transferserviceassessment.config.ExternalRequestProperties;
+import com.dot.project.transferserviceassessment.constant.AccountStatusEnum;
+import com.dot.project.transferserviceassessment.constant.CurrencyEnum;
+import com.dot.project.transferserviceassessment.dao.entity.TransactionAccount;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionAccountRepository;
+import com.dot.project.transferserviceassessment.service.AccountService;
+import com.dot.project.transferserviceassessment.service.RetryExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the conditional debit, which rejects an overdraft without writing, and the retry of units of work that
+ * hit a database conflict.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:balance-update"
+})
+class BalanceUpdateTests {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionAccountRepository transactionAccountRepository;
+
+    @Test
+    void shouldRejectAnOverdraftWithoutWriting() {
+        final var saved = transactionAccountRepository.save(TransactionAccount.builder()
+                .accountNumber("8900000001")
+                .accountName("Balance Account")
+                .accountStatus(AccountStatusEnum.ACTIVE)
+                .balance(new BigDecimal("50.00"))
+                .currency(CurrencyEnum.USD)
+                .build());
+
+        assertFalse(accountService.debitAccount("8900000001", new BigDecimal("50.01")));
+        var account = transactionAccountRepository.findById(saved.getId()).orElseThrow();
+        assertEquals(0, new BigDecimal("50.00").compareTo(account.getBalance()));
+        assertEquals(saved.getVersion(), account.getVersion());
+
+        // Debiting the whole balance is allowed and bumps the version
+        assertTrue(accountService.debitAccount("8900000001", new BigDecimal("50.00")));
+        account = transactionAccountRepository.findById(saved.getId()).orElseThrow();
+        assertEquals(0, BigDecimal.ZERO.compareTo(account.getBalance()));
+        assertEquals(saved.getVersion() + 1, account.getVersion());
+    }
+
+    @Test
+    void shouldRetryAConflictAndSucceed() {
+        final var meterRegistry = new SimpleMeterRegistry();
+        final var retryExecutor = new RetryExecutor(retryProperties(), meterRegistry);
+        final var attempts = new AtomicInteger();
+
+        final var result = retryExecutor.execute(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new CannotAcquireLockException("lock wait timeout");
+            }
+            return "done";
+        });
+
+        assertEquals("done", result);
+        assertEquals(3, attempts.get());
+        assertEquals(2, meterRegistry.get("transfer.row.conflicts").counter().count());
+        assertEquals(2, meterRegistry.get("transfer.row.conflict.wait").timer().count());
+    }
+
+    @Test
+    void shouldRethrowAConflictAfterTheLastAttempt() {
+        final var meterRegistry = new SimpleMeterRegistry();
+        final var retryExecutor = new RetryExecutor(retryProperties(), meterRegistry);
+        final var attempts = new AtomicInteger();
+
+        assertThrows(OptimisticLockingFailureException.class, () -> retryExecutor.execute(() -> {
+            attempts.incrementAndGet();
+            throw new OptimisticLockingFailureException("stale version");
+        }));
+        assertEquals(3, attempts.get());
+        assertEquals(3, meterRegistry.get("transfer.row.conflicts").counter().count());
+
+        // Anything other than a conflict is not retried
+        attempts.set(0);
+        assertThrows(IllegalStateException.class, () -> retryExecutor.execute(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("not a conflict");
+        }));
+        assertEquals(1, attempts.get());
+    }
+
+    private static ExternalRequestProperties retryProperties() {
+        final var properties = new ExternalRequestProperties();
+        properties.setBalanceUpdateMaxAttempts(3);
+        properties.setBalanceUpdateBackoffMillis(1);
+        return properties;
+    }
+}
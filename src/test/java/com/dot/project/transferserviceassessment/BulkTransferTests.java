@@ -0,0 +1,104 @@
+package com.dot.project.transferserviceassessment;
+
+import com.dot.project.transferserviceassessment.constant.CurrencyEnum;
+import com.dot.project.transferserviceassessment.constant.StatusEnum;
+import com.dot.project.transferserviceassessment.dao.entity.TransactionAccount;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionAccountRepository;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionRepository;
+import com.dot.project.transferserviceassessment.dto.request.TransactionReq;
+import com.dot.project.transferserviceassessment.dto.response.TransactionRes;
+import com.dot.project.transferserviceassessment.service.BulkTransferService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import static com.dot.project.transferserviceassessment.TestAccounts.account;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs batches through the netted bulk settlement and checks that each touched account gets exactly one balance
+ * update, and that items are validated in request order against running balances.
+ */
+@IsolatedSpringBootTest
+class BulkTransferTests {
+
+    @Autowired
+    private BulkTransferService bulkTransferService;
+
+    @Autowired
+    private TransactionAccountRepository transactionAccountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    void shouldNetDebitsAndCreditsOfTheSameAccountIntoOneUpdate() {
+        final var before = save(account("8910000001", "100.00"), account("8910000002", "100.00"),
+                account("8910000003", "100.00"));
+
+        // 0.5% fee: 10.00 bills 10.05, 4.00 bills 4.02, 20.00 bills 20.10
+        final var results = bulkTransferService.processBulkTransfer(List.of(
+                transfer("bulk-net-1", "10.00", "8910000001", "8910000002"),
+                transfer("bulk-net-2", "4.00", "8910000002", "8910000001"),
+                transfer("bulk-net-3", "20.00", "8910000001", "8910000003"))).getData();
+
+        results.forEach(result -> assertEquals(StatusEnum.SUCCESSFUL, result.getStatus(), result.getReference()));
+        final var after = accounts(before.keySet());
+        assertBalance("73.85", after.get("8910000001"));
+        assertBalance("105.98", after.get("8910000002"));
+        assertBalance("120.00", after.get("8910000003"));
+        // One conditional update per account, however many items touched it
+        before.forEach((accountNumber, account) ->
+                assertEquals(account.getVersion() + 1, after.get(accountNumber).getVersion(), accountNumber));
+    }
+
+    @Test
+    void shouldRejectALaterItemThatOverdrawsAfterEarlierDebits() {
+        final var before = save(account("8920000001", "30.00"), account("8920000002", "30.00"));
+
+        final var results = bulkTransferService.processBulkTransfer(List.of(
+                transfer("bulk-overdraw-1", "20.00", "8920000001", "8920000002"),
+                // Only 9.90 is left after the first item; the credit that follows does not count yet
+                transfer("bulk-overdraw-2", "10.00", "8920000001", "8920000002"),
+                transfer("bulk-overdraw-3", "4.00", "8920000002", "8920000001"))).getData();
+
+        assertEquals(List.of(StatusEnum.SUCCESSFUL, StatusEnum.FAILED, StatusEnum.SUCCESSFUL),
+                results.stream().map(TransactionRes::getStatus).toList());
+        assertEquals("Insufficient funds in source account", results.get(1).getStatusMessage());
+        assertEquals(StatusEnum.FAILED, transactionRepository.findByReference("bulk-overdraw-2").orElseThrow().getStatus());
+
+        final var after = accounts(before.keySet());
+        assertBalance("13.90", after.get("8920000001"));
+        assertBalance("45.98", after.get("8920000002"));
+    }
+
+    private Map<String, TransactionAccount> save(TransactionAccount... accounts) {
+        return transactionAccountRepository.saveAll(List.of(accounts)).stream()
+                .collect(Collectors.toMap(TransactionAccount::getAccountNumber, Function.identity()));
+    }
+
+    private Map<String, TransactionAccount> accounts(Set<String> accountNumbers) {
+        return transactionAccountRepository.findAll().stream()
+                .filter(account -> accountNumbers.contains(account.getAccountNumber()))
+                .collect(Collectors.toMap(TransactionAccount::getAccountNumber, Function.identity()));
+    }
+
+    private static void assertBalance(String expected, TransactionAccount account) {
+        assertEquals(0, new BigDecimal(expected).compareTo(account.getBalance()),
+                account.getAccountNumber() + " holds " + account.getBalance());
+    }
+
+    private static TransactionReq transfer(String reference, String amount, String source, String destination) {
+        return TransactionReq.builder()
+                .reference(reference)
+                .amount(new BigDecimal(amount))
+                .currency(CurrencyEnum.USD)
+                .sourceAccountNumber(source)
+                .destinationAccountNumber(destination)
+                .build();
+    }
+}
@@ -0,0 +1,115 @@
+package com.dot.project.transferserviceassessment;
+
+import com.dot.project.transferserviceassessment.constant.CurrencyEnum;
+import com.dot.project.transferserviceassessment.constant.StatusEnum;
+import com.dot.project.transferserviceassessment.dao.entity.Transaction;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionAccountRepository;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionRepository;
+import com.dot.project.transferserviceassessment.dto.request.TransactionReq;
+import com.dot.project.transferserviceassessment.service.CommissionSettlementService;
+import com.dot.project.transferserviceassessment.service.FeeScheduleService;
+import com.dot.project.transferserviceassessment.service.TransactionRollupService;
+import com.dot.project.transferserviceassessment.service.TransactionService;
+import com.dot.project.transferserviceassessment.service.TransferEngine;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+import static com.dot.project.transferserviceassessment.TestAccounts.account;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks that a successful transfer earns its commission when it is written, and that the nightly settlement then
+ * only backfills the transactions written without one.
+ */
+@IsolatedSpringBootTest
+@TestPropertySource(properties = "app.commission-accrual-enabled=true")
+class CommissionAccrualTests {
+
+    private static final BigDecimal COMMISSION = new BigDecimal("0.10"); // 0.2 of the 0.50 fee
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransferEngine transferEngine;
+
+    @Autowired
+    private FeeScheduleService feeScheduleService;
+
+    @Autowired
+    private CommissionSettlementService settlementService;
+
+    @Autowired
+    private TransactionAccountRepository transactionAccountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionRollupService rollupService;
+
+    @Test
+    void shouldAccrueTheCommissionOfASuccessfulTransfer() {
+        transactionAccountRepository.saveAll(List.of(
+                account("8400000001", "100000.00"), account("8400000002", "100000.00")));
+
+        final var response = transactionService.processTransfer(TransactionReq.builder()
+                .reference("accrual-transfer")
+                .amount(new BigDecimal("1000.00"))
+                .currency(CurrencyEnum.USD)
+                .sourceAccountNumber("8400000001")
+                .destinationAccountNumber("8400000002")
+                .build());
+        transferEngine.flush();
+
+        assertEquals("00", response.getResponseCode());
+        final var transaction = transactionRepository.findByReference("accrual-transfer").orElseThrow();
+        assertEquals(Boolean.TRUE, transaction.getCommissionWorthy());
+        assertEquals(feeScheduleService.calculateCommission(transaction.getFee()).setScale(2, RoundingMode.HALF_UP),
+                transaction.getCommission());
+    }
+
+    @Test
+    void shouldBackfillOnlyTheTransactionsWrittenWithoutCommission() {
+        final var day = LocalDate.of(2024, 8, 20);
+        // Every fourth transaction was written without its commission
+        final var transactions = transactionRepository.saveAll(IntStream.range(0, 200)
+                .<Transaction>mapToObj(i -> {
+                    final var transaction = Transaction.builder()
+                            .reference("backfill-" + i)
+                            .amount(new BigDecimal("100.00"))
+                            .fee(new BigDecimal("0.50"))
+                            .billedAmount(new BigDecimal("100.50"))
+                            .currency(CurrencyEnum.USD)
+                            .status(StatusEnum.SUCCESSFUL)
+                            .sourceAccountNumber("8400000003")
+                            .destinationAccountNumber("8400000004")
+                            .createdAt(day.atStartOfDay().plusMinutes(i * 5L))
+                            .build();
+                    if (i % 4 != 0) {
+                        feeScheduleService.accrueCommission(transaction);
+                    }
+                    return transaction;
+                })
+                .toList());
+        rollupService.record(transactions);
+        transactions.stream()
+                .filter(transaction -> transaction.getCommissionWorthy() == null)
+                .forEach(transaction -> assertNull(transaction.getCommission()));
+
+        assertEquals(50, settlementService.settle(day));
+
+        transactionRepository.findByStatusAndCreatedAtBetween(StatusEnum.SUCCESSFUL, day.atStartOfDay(),
+                day.atTime(23, 59, 59)).forEach(transaction -> {
+            assertEquals(Boolean.TRUE, transaction.getCommissionWorthy());
+            assertEquals(0, COMMISSION.compareTo(transaction.getCommission()));
+        });
+        assertEquals(0, new BigDecimal("20.00").compareTo(transactionService.getDaySummary(day).getTotalCommission()));
+    }
+}
@@ -0,0 +1,164 @@
+package com.dot.project.transferserviceassessment;
+
+import com.dot.project.transferserviceassessment.constant.CurrencyEnum;
+import com.dot.project.transferserviceassessment.constant.StatusEnum;
+import com.dot.project.transferserviceassessment.dao.entity.CommissionSettlement;
+import com.dot.project.transferserviceassessment.dao.entity.Transaction;
+import com.dot.project.transferserviceassessment.dao.repository.CommissionSettlementRepository;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionRepository;
+import com.dot.project.transferserviceassessment.scheduler.ScheduledTasks;
+import com.dot.project.transferserviceassessment.service.CommissionSettlementService;
+import com.dot.project.transferserviceassessment.service.TransactionRollupService;
+import com.dot.project.transferserviceassessment.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+import static com.dot.project.transferserviceassessment.scheduler.ScheduledTasks.ZONE_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doCallRealMethod;
+
+/**
+ * Settles days of successful and failed transactions, some carrying a stale commission, over many small chunks, and
+ * checks the transactions, their rollups and the checkpoint, including a run resuming from a checkpoint and a day
+ * whose run failed part-way being finished by the next scheduled run. Accrual is off, so every successful transaction
+ * is settled.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:commission-settlement",
+        "app.commission-settlement-chunk-size=100",
+        "app.commission-accrual-enabled=false"
+})
+class CommissionSettlementTests {
+
+    private static final BigDecimal COMMISSION = new BigDecimal("0.10"); // 0.2 of the 0.50 fee
+
+    @Autowired
+    private CommissionSettlementService settlementService;
+
+    @Autowired
+    private CommissionSettlementRepository settlementRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @MockitoSpyBean
+    private TransactionRollupService rollupService;
+
+    @Autowired
+    private ScheduledTasks scheduledTasks;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Test
+    void shouldSettleEverySuccessfulTransactionOfTheDayOnce() {
+        final var day = LocalDate.of(2024, 8, 14);
+        createTransactions(day, "settle");
+
+        assertEquals(1000, settlementService.settle(day));
+
+        final var successful = transactions(day, StatusEnum.SUCCESSFUL);
+        assertEquals(1000, successful.size());
+        successful.forEach(transaction -> {
+            assertEquals(Boolean.TRUE, transaction.getCommissionWorthy());
+            assertEquals(0, COMMISSION.compareTo(transaction.getCommission()), transaction.getCommission().toString());
+        });
+        transactions(day, StatusEnum.FAILED).forEach(transaction -> assertNull(transaction.getCommissionWorthy()));
+
+        // The rollups moved by the change, including the stale commissions that were replaced
+        assertEquals(0, new BigDecimal("100.00").compareTo(transactionService.getDaySummary(day).getTotalCommission()));
+        assertTrue(settlementRepository.findById(day).map(CommissionSettlement::isCompleted).orElse(false));
+        assertEquals(0, settlementService.settle(day));
+    }
+
+    @Test
+    void shouldResumeAfterTheLastCheckpoint() {
+        final var day = LocalDate.of(2024, 8, 15);
+        createTransactions(day, "resume");
+        final var successful = transactions(day, StatusEnum.SUCCESSFUL);
+        final var lastSettledId = successful.get(399).getId();
+        settlementRepository.save(CommissionSettlement.builder().settlementDate(day).lastId(lastSettledId).build());
+
+        assertEquals(600, settlementService.settle(day));
+
+        transactions(day, StatusEnum.SUCCESSFUL).forEach(transaction -> {
+            if (transaction.getId() > lastSettledId) {
+                assertEquals(0, COMMISSION.compareTo(transaction.getCommission()));
+            } else {
+                assertTrue(!Boolean.TRUE.equals(transaction.getCommissionWorthy())
+                        || transaction.getCommission().compareTo(COMMISSION) != 0);
+            }
+        });
+        assertEquals(600, settlementRepository.findById(day).orElseThrow().getSettledRows());
+    }
+
+    @Test
+    void shouldFinishADayThatFailedPartWayOnTheNextScheduledRun() {
+        final var day = LocalDate.now(ZONE_ID).minusDays(2);
+        createTransactions(day, "crash");
+        // The third chunk fails, as if the node died while settling it
+        doCallRealMethod().doCallRealMethod().doThrow(new IllegalStateException("Simulated failure"))
+                .when(rollupService).recordCommissionChanges(any());
+
+        assertThrows(IllegalStateException.class, () -> settlementService.settle(day));
+        final var failed = settlementRepository.findById(day).orElseThrow();
+        assertFalse(failed.isCompleted());
+        assertTrue(failed.getSettledRows() > 0 && failed.getSettledRows() < 1000, String.valueOf(failed.getSettledRows()));
+
+        // The next run settles yesterday, and first finishes the day before
+        doCallRealMethod().when(rollupService).recordCommissionChanges(any());
+        scheduledTasks.processCommissions();
+
+        final var finished = settlementRepository.findById(day).orElseThrow();
+        assertTrue(finished.isCompleted());
+        assertEquals(1000, finished.getSettledRows());
+        transactions(day, StatusEnum.SUCCESSFUL)
+                .forEach(transaction -> assertEquals(0, COMMISSION.compareTo(transaction.getCommission())));
+        assertEquals(0, new BigDecimal("100.00").compareTo(transactionService.getDaySummary(day).getTotalCommission()));
+        assertTrue(settlementRepository.findById(day.plusDays(1)).map(CommissionSettlement::isCompleted).orElse(false));
+    }
+
+    /**
+     * 1000 successful transactions, every tenth with a stale commission of 0.05, interleaved with 250 failed ones.
+     */
+    private void createTransactions(LocalDate day, String prefix) {
+        rollupService.record(transactionRepository.saveAll(IntStream.range(0, 1250)
+                .<Transaction>mapToObj(i -> {
+                    final var failed = i % 5 == 4;
+                    final var stale = !failed && i % 10 == 0;
+                    return Transaction.builder()
+                            .reference(prefix + "-" + i)
+                            .amount(new BigDecimal("100.00"))
+                            .fee(new BigDecimal("0.50"))
+                            .billedAmount(new BigDecimal("100.50"))
+                            .currency(CurrencyEnum.USD)
+                            .status(failed ? StatusEnum.FAILED : StatusEnum.SUCCESSFUL)
+                            .commissionWorthy(stale ? Boolean.TRUE : null)
+                            .commission(stale ? new BigDecimal("0.05") : null)
+                            .sourceAccountNumber("8300000001")
+                            .destinationAccountNumber("8300000002")
+                            .createdAt(day.atStartOfDay().plusSeconds(i * 60L))
+                            .build();
+                })
+                .toList()));
+    }
+
+    private List<Transaction> transactions(LocalDate day, StatusEnum status) {
+        return transactionRepository.findByStatusAndCreatedAtBetween(status, day.atStartOfDay(), day.atTime(23, 59, 59))
+                .stream()
+                .sorted(Comparator.comparing(Transaction::getId))
+                .toList();
+    }
+}
@@ -0,0 +1,78 @@
+package com.dot.project.transferserviceassessment;
+
+import com.dot.project.transferserviceassessment.config.ExternalRequestProperties;
+import com.dot.project.transferserviceassessment.constant.CurrencyEnum;
+import com.dot.project.transferserviceassessment.service.FeeSchedule;
+import com.dot.project.transferserviceassessment.service.FeeSchedule.Definition;
+import com.dot.project.transferserviceassessment.service.FeeSchedule.TierDefinition;
+import com.dot.project.transferserviceassessment.service.FeeScheduleService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FeeScheduleTests {
+
+    private static final String TIERED_SCHEDULE = """
+            {
+              "commissionPercentage": 0.2,
+              "tiers": [
+                {"currency": "NGN", "minAmount": 0, "percentage": 0.01, "minimumFee": 10},
+                {"currency": "NGN", "minAmount": 5000, "percentage": 0.005, "flatFee": 25, "cap": 100},
+                {"minAmount": 0, "percentage": 0.005, "cap": 100}
+              ]
+            }
+            """;
+
+    @Test
+    void shouldPriceEachAmountWithItsBand() throws Exception {
+        final var schedule = FeeSchedule.compile(new ObjectMapper().readValue(TIERED_SCHEDULE, Definition.class));
+
+        // NGN first band: 1% with a minimum of 10
+        assertEquals(0, new BigDecimal("10").compareTo(schedule.fee(CurrencyEnum.NGN, new BigDecimal("200"))));
+        assertEquals(0, new BigDecimal("49.99").compareTo(schedule.fee(CurrencyEnum.NGN, new BigDecimal("4999"))));
+        // NGN second band from its inclusive lower bound: 0.5% + 25, capped at 100
+        assertEquals(0, new BigDecimal("50").compareTo(schedule.fee(CurrencyEnum.NGN, new BigDecimal("5000"))));
+        assertEquals(0, new BigDecimal("100").compareTo(schedule.fee(CurrencyEnum.NGN, new BigDecimal("1000000"))));
+        // USD has no tiers of its own and falls back to the currency-less tier
+        assertEquals(0, new BigDecimal("0.025").compareTo(schedule.fee(CurrencyEnum.USD, new BigDecimal("5"))));
+        assertEquals(0, new BigDecimal("2").compareTo(schedule.commission(new BigDecimal("10"))));
+    }
+
+    @Test
+    void shouldRejectScheduleWithoutBandStartingAtZero() {
+        final var definition = new Definition(new BigDecimal("0.2"), List.of(
+                new TierDefinition(CurrencyEnum.NGN, new BigDecimal("100"), new BigDecimal("0.01"), null, null, null)));
+
+        assertThrows(IllegalArgumentException.class, () -> FeeSchedule.compile(definition));
+    }
+
+    @Test
+    void shouldPublishChangedScheduleAndKeepCurrentOneWhenInvalid(@TempDir Path directory) throws Exception {
+        final var file = directory.resolve("fee-schedule.json");
+        Files.writeString(file, TIERED_SCHEDULE);
+        final var properties = new ExternalRequestProperties();
+        properties.setFeeScheduleLocation(file.toUri().toString());
+        final var service = new FeeScheduleService(properties, new DefaultResourceLoader(), new ObjectMapper());
+        assertEquals(0, new BigDecimal("10").compareTo(service.calculateFee(CurrencyEnum.NGN, new BigDecimal("200"))));
+
+        Files.writeString(file, """
+                {"commissionPercentage": 0.1, "tiers": [{"minAmount": 0, "percentage": 0.02}]}
+                """);
+        service.reload();
+        assertEquals(0, new BigDecimal("4").compareTo(service.calculateFee(CurrencyEnum.NGN, new BigDecimal("200"))));
+        assertEquals(0, new BigDecimal("1").compareTo(service.calculateCommission(new BigDecimal("10"))));
+
+        Files.writeString(file, """
+                {"commissionPercentage": 0.1, "tiers": [{"minAmount": 50, "percentage": 0.02}]}
+                """);
+        service.reload();
+        assertEquals(0, new BigDecimal("4").compareTo(service.calculateFee(CurrencyEnum.NGN, new BigDecimal("200"))));
+    }
+}
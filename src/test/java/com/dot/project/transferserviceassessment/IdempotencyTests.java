@@ -0,0 +1,199 @@
+package com.dot.project.transferserviceassessment;
+
+import com.dot.project.transferserviceassessment.config.ExternalRequestProperties;
+import com.dot.project.transferserviceassessment.constant.CurrencyEnum;
+import com.dot.project.transferserviceassessment.constant.StatusEnum;
+import com.dot.project.transferserviceassessment.dao.entity.Transaction;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionAccountRepository;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionRepository;
+import com.dot.project.transferserviceassessment.dto.request.TransactionReq;
+import com.dot.project.transferserviceassessment.dto.response.ApiResponse;
+import com.dot.project.transferserviceassessment.dto.response.TransactionRes;
+import com.dot.project.transferserviceassessment.service.IdempotencyService;
+import com.dot.project.transferserviceassessment.service.TransactionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import static com.dot.project.transferserviceassessment.TestAccounts.account;
+import static com.dot.project.transferserviceassessment.scheduler.ScheduledTasks.ZONE_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that a duplicate reference is answered with its original outcome without touching an account, also when
+ * it races the original, that references seeded at startup are detected, and that the Bloom filter forgets its oldest generation on rotation.
+ */
+@IsolatedSpringBootTest
+class IdempotencyTests {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionAccountRepository transactionAccountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldReplayTheOriginalOutcomeWithoutTouchingAnyAccount() {
+        transactionAccountRepository.saveAll(List.of(
+                account("8940000001", "100.00"), account("8940000002", "100.00")));
+
+        final var original = transactionService.processTransfer(transfer("idempotency-1", "10.00"));
+        assertEquals("00", original.getResponseCode());
+        final var accountsAfterOriginal = transactionAccountRepository.findAll();
+        final var cacheHits = lookups("cache_hit");
+
+        // A different amount under the same reference is still answered with the first outcome
+        final var replayed = transactionService.processTransfer(transfer("idempotency-1", "50.00"));
+
+        assertEquals(original.getResponseCode(), replayed.getResponseCode());
+        assertEquals(original.getData().getAmount(), replayed.getData().getAmount());
+        assertEquals(original.getData().getCreatedAt(), replayed.getData().getCreatedAt());
+        assertEquals(cacheHits + 1, lookups("cache_hit"));
+        // Neither balance nor version moved
+        transactionAccountRepository.findAll().forEach(account -> assertTrue(accountsAfterOriginal.stream()
+                .anyMatch(before -> before.getId().equals(account.getId())
+                        && before.getVersion().equals(account.getVersion())
+                        && before.getBalance().compareTo(account.getBalance()) == 0), account.getAccountNumber()));
+        assertEquals(1, transactionRepository.findAll().stream()
+                .filter(transaction -> transaction.getReference().equals("idempotency-1")).count());
+    }
+
+    @Test
+    void shouldAnswerConcurrentDuplicatesWithoutAnError() throws Exception {
+        transactionAccountRepository.saveAll(List.of(
+                account("8940000005", "100.00"), account("8940000006", "100.00")));
+        final var racers = 4;
+
+        final ExecutorService executor = Executors.newFixedThreadPool(racers);
+        try {
+            for (int round = 0; round < 10; round++) {
+                final var reference = "idempotency-race-" + round;
+                final var start = new CountDownLatch(1);
+                final List<Future<ApiResponse<TransactionRes>>> responses = new ArrayList<>();
+                for (int i = 0; i < racers; i++) {
+                    responses.add(executor.submit((Callable<ApiResponse<TransactionRes>>) () -> {
+                        start.await();
+                        return transactionService.processTransfer(transfer(reference, "1.00", "8940000005", "8940000006"));
+                    }));
+                }
+                start.countDown();
+
+                // Exactly one settles; the others replay it or, if it is not recorded yet, are rejected
+                var settled = 0;
+                for (Future<ApiResponse<TransactionRes>> response : responses) {
+                    final var answer = response.get();
+                    if ("00".equals(answer.getResponseCode())) {
+                        settled++;
+                        assertEquals(reference, answer.getData().getReference());
+                    }
+                }
+                assertTrue(settled >= 1, reference);
+                assertEquals(1, transactionRepository.findAll().stream()
+                        .filter(transaction -> transaction.getReference().equals(reference)).count());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        // Each of the ten transfers was debited once
+        final var debited = transactionRepository.findAll().stream()
+                .filter(transaction -> transaction.getReference().startsWith("idempotency-race-"))
+                .map(Transaction::getBilledAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(0, new BigDecimal("100.00").subtract(debited).compareTo(
+                transactionAccountRepository.findBalanceByAccountNumber("8940000005").orElseThrow()));
+    }
+
+    @Test
+    void shouldDetectReferencesSeededAtStartup() {
+        transactionRepository.save(Transaction.builder()
+                .reference("idempotency-seeded")
+                .amount(new BigDecimal("10.00"))
+                .fee(new BigDecimal("0.05"))
+                .billedAmount(new BigDecimal("10.05"))
+                .currency(CurrencyEnum.USD)
+                .status(StatusEnum.SUCCESSFUL)
+                .statusMessage("Transaction Successful")
+                .sourceAccountNumber("8940000003")
+                .destinationAccountNumber("8940000004")
+                .createdAt(LocalDateTime.now(ZONE_ID).minusHours(1))
+                .build());
+
+        // A node starting after the transfer was written elsewhere
+        final var idempotencyService = new IdempotencyService(transactionRepository, properties(1_000_000),
+                new SimpleMeterRegistry());
+        transactionTemplate.executeWithoutResult(txStatus -> idempotencyService.seedRecentReferences());
+
+        final var replayed = idempotencyService.replay("idempotency-seeded");
+        assertTrue(replayed.isPresent());
+        assertEquals("00", replayed.get().getResponseCode());
+        assertEquals(StatusEnum.SUCCESSFUL, replayed.get().getData().getStatus());
+        assertFalse(idempotencyService.replay("idempotency-never-seen").isPresent());
+    }
+
+    @Test
+    void shouldForgetTheOldestGenerationWhenTheFilterRotates() {
+        final var idempotencyService = new IdempotencyService(transactionRepository, properties(4),
+                new SimpleMeterRegistry());
+        final var references = IntStream.range(0, 10).mapToObj(i -> "idempotency-rotation-" + i).toList();
+
+        // Generations rotate on the 4th and 8th insertion, so the first three references fall out of both filters
+        references.forEach(reference -> idempotencyService.record(Transaction.builder()
+                .reference(reference)
+                .status(StatusEnum.SUCCESSFUL)
+                .build()));
+
+        references.subList(3, 10).forEach(reference ->
+                assertTrue(idempotencyService.replay(reference).isPresent(), reference));
+        references.subList(0, 3).forEach(reference ->
+                assertFalse(idempotencyService.replay(reference).isPresent(), reference));
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.get("transfer.idempotency.lookups").tag("result", result).counter().count();
+    }
+
+    private static ExternalRequestProperties properties(long expectedReferences) {
+        final var properties = new ExternalRequestProperties();
+        properties.setIdempotencyExpectedReferences(expectedReferences);
+        properties.setIdempotencyFalsePositiveRate(0.01);
+        properties.setIdempotencyCacheSize(1000);
+        properties.setIdempotencySeedHours(24);
+        return properties;
+    }
+
+    private static TransactionReq transfer(String reference, String amount) {
+        return transfer(reference, amount, "8940000001", "8940000002");
+    }
+
+    private static TransactionReq transfer(String reference, String amount, String source, String destination) {
+        return TransactionReq.builder()
+                .reference(reference)
+                .amount(new BigDecimal(amount))
+                .currency(CurrencyEnum.USD)
+                .sourceAccountNumber(source)
+                .destinationAccountNumber(destination)
+                .build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.dot.project.transferserviceassessment;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Boots the application against an in-memory database of its own, without SQL logging, and closes it after the
+ * class. Extra properties for one class go in a {@link org.springframework.test.context.TestPropertySource}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:${random.uuid}"
+})
+@DirtiesContext
+@interface IsolatedSpringBootTest {
+}
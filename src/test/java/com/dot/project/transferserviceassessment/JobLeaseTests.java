@@ -0,0 +1,151 @@
+package com.dot.project.transferserviceassessment;
+
+import com.dot.project.transferserviceassessment.constant.StatusEnum;
+import com.dot.project.transferserviceassessment.dao.projection.TransactionStatusTotals;
+import com.dot.project.transferserviceassessment.dao.repository.CommissionSettlementRepository;
+import com.dot.project.transferserviceassessment.dao.repository.JobLeaseRepository;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionRepository;
+import com.dot.project.transferserviceassessment.scheduler.JobLeaseCoordinator;
+import com.dot.project.transferserviceassessment.scheduler.ScheduledTasks;
+import com.dot.project.transferserviceassessment.service.TransactionRollupService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import static com.dot.project.transferserviceassessment.scheduler.ScheduledTasks.ZONE_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Starts three application contexts, standing in for three replicas, against one shared H2 database and races
+ * them for job leases and for the scheduled jobs themselves.
+ */
+class JobLeaseTests {
+
+    private static final int NODES = 3;
+    private static final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+
+    @BeforeAll
+    static void startNodes() {
+        for (int i = 0; i < NODES; i++) {
+            nodes.add(new SpringApplicationBuilder(TransferServiceAssessmentApplication.class)
+                    .web(WebApplicationType.NONE)
+                    // As arguments rather than default properties, which the profile's properties file overrides
+                    .run(
+                            "--spring.jpa.show-sql=false",
+                            "--spring.datasource.url=jdbc:h2:mem:job-lease;DB_CLOSE_DELAY=-1",
+                            // Only the first node creates the schema, as a migration would
+                            "--spring.jpa.hibernate.ddl-auto=" + (i == 0 ? "create-drop" : "none"),
+                            "--app.audit-journal-enabled=false",
+                            "--app.node-id=node-" + i));
+        }
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        for (int i = nodes.size() - 1; i >= 0; i--) {
+            nodes.get(i).close();
+        }
+    }
+
+    @Test
+    void shouldRunARacedJobOnExactlyOneNode() throws Exception {
+        final var runs = new AtomicInteger();
+        final var ran = race(node -> node.getBean(JobLeaseCoordinator.class).runExclusively("race", () -> {
+            runs.incrementAndGet();
+            sleep(200);
+        }));
+
+        assertEquals(1, runs.get());
+        assertEquals(1, ran.stream().filter(Boolean::booleanValue).count());
+        // Held for at least app.job-lease-at-least-for-seconds after it finished
+        assertFalse(nodes.get(0).getBean(JobLeaseCoordinator.class).runExclusively("race", runs::incrementAndGet));
+    }
+
+    @Test
+    void shouldReclaimTheLeaseOfADeadNode() {
+        final var now = LocalDateTime.now(ZONE_ID);
+        assertTrue(nodes.get(0).getBean(JobLeaseRepository.class).tryAcquire("reclaim", "dead-node", now,
+                now.plusSeconds(1)));
+        final var coordinator = nodes.get(1).getBean(JobLeaseCoordinator.class);
+
+        assertFalse(coordinator.runExclusively("reclaim", () -> { }));
+        sleep(1_200);
+        assertTrue(coordinator.runExclusively("reclaim", () -> { }));
+        assertEquals("node-1", nodes.get(1).getBean(JobLeaseRepository.class).findById("reclaim").orElseThrow().getOwner());
+    }
+
+    @Test
+    void shouldSettleCommissionsOnceWhenEveryNodeFiresTheJob() throws Exception {
+        race(node -> {
+            node.getBean(ScheduledTasks.class).processCommissions();
+            return true;
+        });
+
+        final var node = nodes.get(0);
+        final var yesterday = LocalDate.now(ZONE_ID).minusDays(1);
+        final var from = yesterday.atStartOfDay();
+        final var to = yesterday.plusDays(1).atStartOfDay();
+        assertTrue(node.getBean(CommissionSettlementRepository.class).findById(yesterday).orElseThrow().isCompleted());
+        // A second settlement of the same rows would have moved the rollups twice
+        assertEquals(successfulCommission(node.getBean(TransactionRepository.class).sumByStatusCreatedFrom(from, to)),
+                successfulCommission(node.getBean(TransactionRollupService.class).totals(from, to, false)));
+    }
+
+    private static <T> List<T> race(NodeTask<T> task) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(NODES);
+        try {
+            final var start = new CountDownLatch(1);
+            final var futures = new ArrayList<Future<T>>();
+            for (ConfigurableApplicationContext node : nodes) {
+                futures.add(executor.submit((Callable<T>) () -> {
+                    start.await();
+                    return task.run(node);
+                }));
+            }
+            start.countDown();
+            final var results = new ArrayList<T>();
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static BigDecimal successfulCommission(List<TransactionStatusTotals> totals) {
+        return totals.stream()
+                .filter(statusTotals -> StatusEnum.SUCCESSFUL.equals(statusTotals.status()))
+                .map(TransactionStatusTotals::commission)
+                .filter(commission -> commission != null)
+                .reduce(BigDecimal.ZERO, BigDecimal::add)
+                .stripTrailingZeros();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private interface NodeTask<T> {
+        T run(ConfigurableApplicationContext node) throws Exception;
+    }
+}
@@ -0,0 +1,10 @@
+package com.dot.project.transferserviceassessment;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = {
+        "app.transfer-engine=jpa",
+        "spring.datasource.url=jdbc:h2:mem:conservation-jpa"
+})
+class JpaTransferConservationTests extends TransferConservationTests {
+}
@@ -0,0 +1,21 @@
+package com.dot.project.transferserviceassessment;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import java.io.IOException;
+import java.nio.file.Files;
+
+@TestPropertySource(properties = {
+        "app.transfer-engine=ledger",
+        "spring.datasource.url=jdbc:h2:mem:conservation-ledger"
+})
+class LedgerTransferConservationTests extends TransferConservationTests {
+
+    @DynamicPropertySource
+    static void ledgerJournal(DynamicPropertyRegistry registry) throws IOException {
+        // A fresh journal, so nothing from an earlier run is recovered into the new in-memory database
+        final var directory = Files.createTempDirectory("ledger-journal").toString();
+        registry.add("app.ledger-journal-directory", () -> directory);
+    }
+}
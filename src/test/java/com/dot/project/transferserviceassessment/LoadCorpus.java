@@ -0,0 +1,107 @@
+package com.dot.project.transferserviceassessment;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import static com.dot.project.transferserviceassessment.scheduler.ScheduledTasks.ZONE_ID;
+
+/**
+ * A JSONL corpus of HTTP calls for {@link LoadReplayBenchmarkTests}, one call per line:
+ * {"name":"transfer","method":"POST","path":"/api/v1/transactions/transfer","body":{...}}.
+ *
+ * The generated mix resembles production traffic: mostly transfers, some with an amount the source cannot cover,
+ * account searches, and daily and range summaries. A corpus generated from the same seed is identical, so two builds
+ * can be replayed against the same traffic.
+ */
+final class LoadCorpus {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String TRANSACTIONS = "/api/v1/transactions";
+
+    private LoadCorpus() {
+    }
+
+    record Call(String name, String method, String path, JsonNode body) {
+    }
+
+    static List<Call> read(Path corpus) throws IOException {
+        try (var lines = Files.lines(corpus)) {
+            return lines.filter(line -> !line.isBlank())
+                    .map(line -> {
+                        try {
+                            return MAPPER.readValue(line, Call.class);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException("Invalid corpus line: " + line, e);
+                        }
+                    })
+                    .toList();
+        }
+    }
+
+    /**
+     * Writes calls to the corpus file: 75% transfers, 15% account searches, 6% daily summaries and 4% range
+     * summaries, over accounts 0 to accounts - 1 of {@link #accountNumber(int)}.
+     */
+    static void generate(Path corpus, int calls, int accounts, long seed) throws IOException {
+        final var random = new Random(seed);
+        final var today = LocalDate.now(ZONE_ID);
+        Files.createDirectories(corpus.toAbsolutePath().getParent());
+        try (BufferedWriter writer = Files.newBufferedWriter(corpus)) {
+            for (int i = 0; i < calls; i++) {
+                final var roll = random.nextInt(100);
+                final Call call;
+                if (roll < 75) {
+                    call = transfer(random, accounts, "load-" + seed + "-" + i);
+                } else if (roll < 90) {
+                    call = search(random, accounts);
+                } else if (roll < 96) {
+                    // Mostly today's open summary, otherwise a closed day served from the cache
+                    call = new Call("summary", "GET", TRANSACTIONS + "/summary"
+                            + (random.nextInt(3) == 0 ? "?date=" + today.minusDays(1 + random.nextInt(30)) : ""), null);
+                } else {
+                    final var from = today.minusDays(random.nextInt(7));
+                    call = new Call("summary-range", "GET", TRANSACTIONS + "/summary/range?from=" + from
+                            + "%2000:00:00&to=" + from.plusDays(1) + "%2000:00:00&granularity=HOUR", null);
+                }
+                writer.write(MAPPER.writeValueAsString(call));
+                writer.newLine();
+            }
+        }
+    }
+
+    static String accountNumber(int index) {
+        return String.format("4%09d", index);
+    }
+
+    private static Call transfer(Random random, int accounts, String reference) {
+        final var source = random.nextInt(accounts);
+        final var destination = (source + 1 + random.nextInt(accounts - 1)) % accounts;
+        // One transfer in fifty asks for more than any account holds
+        final var amount = random.nextInt(50) == 0
+                ? new BigDecimal("100000000000.00")
+                : BigDecimal.valueOf(100 + random.nextInt(50_000), 2);
+        final var body = MAPPER.createObjectNode()
+                .put("reference", reference)
+                .put("amount", amount)
+                .put("currency", "USD")
+                .put("sourceAccountNumber", accountNumber(source))
+                .put("destinationAccountNumber", accountNumber(destination));
+        return new Call("transfer", "POST", TRANSACTIONS + "/transfer", body);
+    }
+
+    private static Call search(Random random, int accounts) {
+        final var account = accountNumber(random.nextInt(accounts));
+        final var path = random.nextBoolean()
+                ? TRANSACTIONS + "?sourceAccountNumber=" + account + "&size=20"
+                : TRANSACTIONS + "?destinationAccountNumber=" + account + "&status=SUCCESSFUL&size=20";
+        return new Call("search", "GET", path, null);
+    }
+}
@@ -0,0 +1,246 @@
+package com.dot.project.transferserviceassessment;
+
+import com.dot.project.transferserviceassessment.constant.AccountStatusEnum;
+import com.dot.project.transferserviceassessment.constant.CurrencyEnum;
+import com.dot.project.transferserviceassessment.dao.entity.TransactionAccount;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionAccountRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Replays a JSONL corpus of transfer, search and summary calls ({@link LoadCorpus}) against the application started
+ * locally on the dev (H2) profile, at a constant arrival rate.
+ *
+ * The load is open: call i is due at start + i / rate, whether or not earlier calls have answered, and its latency
+ * is measured from when it was due rather than when it was sent, so a stalled server is charged for the calls that
+ * queued behind the stall (coordinated omission). The service time from the actual send is reported alongside.
+ * Per call name, the result file holds the count, errors, percentiles of both and a latency histogram, and is
+ * written to target/load-replay/result-[timestamp].json. Pass a previous result as -Dload.baseline to log the change
+ * of each percentile.
+ *
+ * Excluded from the default build; run with: mvn test -Pbenchmark -Dtest=LoadReplayBenchmarkTests
+ * Tunables: -Dload.corpus (a corpus to replay; otherwise one is generated to target/load-replay/corpus.jsonl),
+ * -Dload.calls (default 30000), -Dload.seed (default 42), -Dload.accounts (default 500), -Dload.rate (calls per
+ * second, default 500), -Dload.warmup-calls (calls replayed first and left out of the result, default 2000),
+ * -Dload.baseline.
+ */
+@Slf4j
+@Tag("benchmark")
+class LoadReplayBenchmarkTests {
+
+    private static final int CALLS = Integer.getInteger("load.calls", 30000);
+    private static final long SEED = Long.getLong("load.seed", 42L);
+    private static final int ACCOUNTS = Integer.getInteger("load.accounts", 500);
+    private static final int RATE = Integer.getInteger("load.rate", 500);
+    private static final int WARMUP_CALLS = Integer.getInteger("load.warmup-calls", 2000);
+    private static final Path OUTPUT = Path.of("target", "load-replay");
+    // Upper bounds of the histogram buckets in milliseconds; the last bucket holds everything slower
+    private static final long[] BUCKET_BOUNDS_MILLIS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1_000, 2_000, 5_000, 10_000};
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    @Test
+    void replayCorpusAtAConstantArrivalRate() throws Exception {
+        final var corpus = corpus();
+        final var calls = LoadCorpus.read(corpus);
+        assertTrue(calls.size() > WARMUP_CALLS, "the corpus must hold more than the " + WARMUP_CALLS + " warm-up calls");
+
+        try (var context = new SpringApplicationBuilder(TransferServiceAssessmentApplication.class).run(
+                "--spring.profiles.active=dev",
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:load-replay",
+                "--spring.jpa.show-sql=false",
+                "--app.sql-statistics-enabled=false",
+                "--logging.level.com.dot.project=WARN",
+                "--logging.level.org.hibernate=WARN")) {
+            seedAccounts(context.getBean(TransactionAccountRepository.class));
+            final var port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+
+            final var samples = replay(URI.create("http://localhost:" + port), calls);
+            final var result = result(corpus, calls, samples);
+            final var resultFile = OUTPUT.resolve("result-" + System.currentTimeMillis() + ".json");
+            Files.createDirectories(OUTPUT);
+            objectMapper.writeValue(resultFile.toFile(), result);
+            log.warn("Load replay result written to {}", resultFile.toAbsolutePath());
+            compareWithBaseline(result);
+        }
+    }
+
+    private Path corpus() throws IOException {
+        final var corpus = System.getProperty("load.corpus");
+        if (corpus != null) {
+            return Path.of(corpus);
+        }
+        final var generated = OUTPUT.resolve("corpus.jsonl");
+        LoadCorpus.generate(generated, CALLS, ACCOUNTS, SEED);
+        return generated;
+    }
+
+    private void seedAccounts(TransactionAccountRepository repository) {
+        repository.saveAll(IntStream.range(0, ACCOUNTS)
+                .mapToObj(i -> TransactionAccount.builder()
+                        .accountNumber(LoadCorpus.accountNumber(i))
+                        .accountName("Load Account " + i)
+                        .accountStatus(AccountStatusEnum.ACTIVE)
+                        .balance(new BigDecimal("1000000000"))
+                        .currency(CurrencyEnum.USD)
+                        .build())
+                .toList());
+    }
+
+    /**
+     * Sends every call when it is due and returns its samples in corpus order.
+     */
+    private Sample[] replay(URI base, List<LoadCorpus.Call> calls) {
+        final var samples = new Sample[calls.size()];
+        final var intervalNanos = TimeUnit.SECONDS.toNanos(1) / RATE;
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final var client = HttpClient.newBuilder().executor(executor).version(HttpClient.Version.HTTP_1_1).build();
+            final CompletableFuture<?>[] futures = new CompletableFuture<?>[calls.size()];
+            final var startNanos = System.nanoTime();
+            for (int i = 0; i < calls.size(); i++) {
+                final var index = i;
+                final var dueNanos = startNanos + i * intervalNanos;
+                long now;
+                while ((now = System.nanoTime()) < dueNanos) {
+                    LockSupport.parkNanos(dueNanos - now);
+                }
+                final var sentNanos = now;
+                final var call = calls.get(i);
+                futures[i] = client.sendAsync(request(base, call), HttpResponse.BodyHandlers.discarding())
+                        .handle((response, failure) -> {
+                            final var doneNanos = System.nanoTime();
+                            samples[index] = new Sample(call.name(), doneNanos - dueNanos, doneNanos - sentNanos,
+                                    failure != null || response.statusCode() >= 400);
+                            return null;
+                        });
+            }
+            CompletableFuture.allOf(futures).join();
+        }
+        return samples;
+    }
+
+    private static HttpRequest request(URI base, LoadCorpus.Call call) {
+        final var body = call.body() == null || call.body().isNull() ? null : call.body().toString();
+        return HttpRequest.newBuilder(base.resolve(call.path()))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .method(call.method(), body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private Map<String, Object> result(Path corpus, List<LoadCorpus.Call> calls, Sample[] samples) {
+        final var measured = Arrays.asList(samples).subList(WARMUP_CALLS, samples.length);
+        final Map<String, List<Sample>> byName = new TreeMap<>();
+        measured.forEach(sample -> byName.computeIfAbsent(sample.name(), name -> new ArrayList<>()).add(sample));
+
+        final Map<String, Object> summaries = new LinkedHashMap<>();
+        summaries.put("all", summarise(measured));
+        byName.forEach((name, nameSamples) -> summaries.put(name, summarise(nameSamples)));
+
+        final Map<String, Object> result = new LinkedHashMap<>();
+        result.put("timestamp", Instant.now().toString());
+        result.put("corpus", corpus.toAbsolutePath().toString());
+        result.put("corpusCalls", calls.size());
+        result.put("warmupCalls", WARMUP_CALLS);
+        result.put("targetRatePerSecond", RATE);
+        result.put("accounts", ACCOUNTS);
+        result.put("javaVersion", System.getProperty("java.version"));
+        result.put("calls", summaries);
+        return result;
+    }
+
+    private static Map<String, Object> summarise(List<Sample> samples) {
+        final var latencies = samples.stream().mapToLong(Sample::latencyNanos).sorted().toArray();
+        final var serviceTimes = samples.stream().mapToLong(Sample::serviceNanos).sorted().toArray();
+        final var histogram = new LinkedHashMap<String, Long>();
+        for (int b = 0; b <= BUCKET_BOUNDS_MILLIS.length; b++) {
+            final var lower = b == 0 ? Long.MIN_VALUE : TimeUnit.MILLISECONDS.toNanos(BUCKET_BOUNDS_MILLIS[b - 1]);
+            final var upper = b == BUCKET_BOUNDS_MILLIS.length
+                    ? Long.MAX_VALUE
+                    : TimeUnit.MILLISECONDS.toNanos(BUCKET_BOUNDS_MILLIS[b]);
+            histogram.put(b == BUCKET_BOUNDS_MILLIS.length ? "+Inf" : "le" + BUCKET_BOUNDS_MILLIS[b] + "ms",
+                    Arrays.stream(latencies).filter(latency -> latency > lower && latency <= upper).count());
+        }
+
+        final Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", samples.size());
+        summary.put("errors", samples.stream().filter(Sample::error).count());
+        summary.put("latencyMillis", percentiles(latencies));
+        summary.put("serviceTimeMillis", percentiles(serviceTimes));
+        summary.put("latencyHistogram", histogram);
+        return summary;
+    }
+
+    private static Map<String, Double> percentiles(long[] sortedNanos) {
+        final Map<String, Double> percentiles = new LinkedHashMap<>();
+        percentiles.put("p50", percentileMillis(sortedNanos, 0.50));
+        percentiles.put("p90", percentileMillis(sortedNanos, 0.90));
+        percentiles.put("p99", percentileMillis(sortedNanos, 0.99));
+        percentiles.put("p999", percentileMillis(sortedNanos, 0.999));
+        percentiles.put("max", sortedNanos.length == 0 ? 0 : sortedNanos[sortedNanos.length - 1] / 1e6);
+        return percentiles;
+    }
+
+    private static double percentileMillis(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        final var index = Math.min(sortedNanos.length - 1, (int) Math.ceil(percentile * sortedNanos.length) - 1);
+        return sortedNanos[Math.max(0, index)] / 1e6;
+    }
+
+    private void compareWithBaseline(Map<String, Object> result) throws IOException {
+        final var baseline = System.getProperty("load.baseline");
+        if (baseline == null) {
+            return;
+        }
+        final JsonNode previous = objectMapper.readTree(Path.of(baseline).toFile());
+        final JsonNode current = objectMapper.valueToTree(result);
+        current.get("calls").fields().forEachRemaining(call -> {
+            final var before = previous.path("calls").path(call.getKey()).path("latencyMillis");
+            if (before.isMissingNode()) {
+                return;
+            }
+            call.getValue().get("latencyMillis").fields().forEachRemaining(percentile -> {
+                final var was = before.path(percentile.getKey()).asDouble();
+                final var now = percentile.getValue().asDouble();
+                log.warn("{} {}: {} ms -> {} ms ({})", call.getKey(), percentile.getKey(), was, now,
+                        was == 0 ? "n/a" : String.format("%+.1f%%", (now - was) * 100 / was));
+            });
+        });
+    }
+
+    private record Sample(String name, long latencyNanos, long serviceNanos, boolean error) {
+    }
+}
@@ -0,0 +1,82 @@
+package com.dot.project.transferserviceassessment;
+
+import com.dot.project.transferserviceassessment.constant.CurrencyEnum;
+import com.dot.project.transferserviceassessment.constant.StatusEnum;
+import com.dot.project.transferserviceassessment.dao.entity.Transaction;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionRepository;
+import com.dot.project.transferserviceassessment.service.TransactionRollupService;
+import com.dot.project.transferserviceassessment.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import static com.dot.project.transferserviceassessment.scheduler.ScheduledTasks.ZONE_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that transactions written before rollups existed, here without recording them, are summarised once the
+ * rollup history is backfilled, including those in the hour of the earliest rollup, and that a second backfill does
+ * nothing.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:rollup-backfill"
+})
+class RollupBackfillTests {
+
+    // Before the transaction StartupRunner seeds at 2024-12-18 22:59, whose rollup is the earliest
+    private static final LocalDate OLD_DAY = LocalDate.of(2024, 12, 16);
+    private static final LocalDate SEEDED_DAY = LocalDate.of(2024, 12, 18);
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionRollupService rollupService;
+
+    @Test
+    void shouldSummariseHistoryWrittenBeforeRollups() {
+        transactionRepository.saveAll(List.of(
+                transaction("backfill-1", StatusEnum.SUCCESSFUL, OLD_DAY.atTime(8, 15)),
+                transaction("backfill-2", StatusEnum.SUCCESSFUL, OLD_DAY.atTime(13, 40)),
+                transaction("backfill-3", StatusEnum.FAILED, OLD_DAY.atTime(23, 5)),
+                transaction("backfill-4", StatusEnum.SUCCESSFUL, SEEDED_DAY.atTime(22, 10))));
+        assertEquals(0, transactionService.getDaySummary(OLD_DAY).getTotalTransactions());
+        assertEquals(1, transactionService.getDaySummary(SEEDED_DAY).getTotalTransactions());
+
+        assertTrue(rollupService.needsBackfill());
+        rollupService.backfill(LocalDateTime.now(ZONE_ID));
+
+        final var old = transactionService.getDaySummary(OLD_DAY);
+        assertEquals(3, old.getTotalTransactions());
+        assertEquals(2, old.getSuccessfulTransactions());
+        assertEquals(0, new BigDecimal("30.00").compareTo(old.getTotalAmount()), old.getTotalAmount().toString());
+        assertEquals(2, transactionService.getDaySummary(SEEDED_DAY).getTotalTransactions());
+
+        assertFalse(rollupService.needsBackfill());
+        assertEquals(0, rollupService.backfill(LocalDateTime.now(ZONE_ID)));
+        assertEquals(3, transactionService.getDaySummary(OLD_DAY).getTotalTransactions());
+    }
+
+    private static Transaction transaction(String reference, StatusEnum status, LocalDateTime createdAt) {
+        return Transaction.builder()
+                .reference(reference)
+                .amount(new BigDecimal("10.00"))
+                .fee(new BigDecimal("0.05"))
+                .billedAmount(new BigDecimal("10.05"))
+                .currency(CurrencyEnum.USD)
+                .status(status)
+                .sourceAccountNumber("8000000001")
+                .destinationAccountNumber("8000000002")
+                .createdAt(createdAt)
+                .build();
+    }
+}
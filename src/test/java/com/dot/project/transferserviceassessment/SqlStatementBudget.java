@@ -0,0 +1,37 @@
+package com.dot.project.transferserviceassessment;
+
+import com.dot.project.transferserviceassessment.jdbc.SqlStatementCount;
+import com.dot.project.transferserviceassessment.jdbc.SqlStatementHeaderAdvice;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The most JDBC statements and round trips an endpoint may use, checked against the X-Sql-* headers of a MockMvc
+ * response (app.sql-statistics-enabled must be set). A change that adds a query to a budgeted path fails the build
+ * until the budget is raised deliberately.
+ */
+record SqlStatementBudget(String name, long statements, long roundTrips) {
+
+    static SqlStatementBudget of(String name, long statements, long roundTrips) {
+        return new SqlStatementBudget(name, statements, roundTrips);
+    }
+
+    SqlStatementCount assertWithin(MvcResult result) {
+        final var response = result.getResponse();
+        final var statementsHeader = response.getHeader(SqlStatementHeaderAdvice.STATEMENTS_HEADER);
+        assertNotNull(statementsHeader, name + " returned no " + SqlStatementHeaderAdvice.STATEMENTS_HEADER + " header");
+        final var count = new SqlStatementCount(Long.parseLong(statementsHeader),
+                Long.parseLong(response.getHeader(SqlStatementHeaderAdvice.ROUND_TRIPS_HEADER)),
+                Long.parseLong(response.getHeader(SqlStatementHeaderAdvice.ROWS_HEADER)));
+        assertWithin(count);
+        return count;
+    }
+
+    void assertWithin(SqlStatementCount count) {
+        assertTrue(count.statements() <= statements,
+                name + " executed " + count.statements() + " statements, over its budget of " + statements);
+        assertTrue(count.roundTrips() <= roundTrips,
+                name + " made " + count.roundTrips() + " round trips, over its budget of " + roundTrips);
+    }
+}
@@ -0,0 +1,103 @@
+package com.dot.project.transferserviceassessment;
+
+import com.dot.project.transferserviceassessment.dao.repository.TransactionAccountRepository;
+import com.dot.project.transferserviceassessment.scheduler.ScheduledTasks;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import java.util.List;
+import static com.dot.project.transferserviceassessment.TestAccounts.account;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Holds transfer, getTransactions and getDailySummary to fixed statement budgets, and checks that the counts are
+ * recorded per request and per scheduled job.
+ */
+@AutoConfigureMockMvc
+@IsolatedSpringBootTest
+@TestPropertySource(properties = "app.sql-statistics-enabled=true")
+class SqlStatementBudgetTests {
+
+    // Account metadata lookups for both sides (cached after the first transfer), the debit, the credit, the
+    // transaction insert, and the rollup update plus an insert when the bucket's row is new
+    private static final SqlStatementBudget FIRST_TRANSFER = SqlStatementBudget.of("first transfer", 7, 7);
+    private static final SqlStatementBudget TRANSFER = SqlStatementBudget.of("transfer", 5, 5);
+    // The page query, and a count query only when the page is full
+    private static final SqlStatementBudget GET_TRANSACTIONS = SqlStatementBudget.of("getTransactions", 2, 2);
+    // The rollups of a whole day; no edge hours to aggregate from the transactions
+    private static final SqlStatementBudget GET_DAILY_SUMMARY = SqlStatementBudget.of("getDailySummary", 1, 1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TransactionAccountRepository transactionAccountRepository;
+
+    @Autowired
+    private ScheduledTasks scheduledTasks;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldKeepEndpointsWithinTheirStatementBudgets() throws Exception {
+        transactionAccountRepository.saveAll(List.of(
+                account("8800000001", "1000.00"),
+                account("8800000002", "1000.00")));
+
+        final var first = FIRST_TRANSFER.assertWithin(transfer("sql-budget-1"));
+        // Each metadata lookup fetches its account
+        assertTrue(first.rows() >= 2, "the metadata lookups fetched no rows");
+        TRANSFER.assertWithin(transfer("sql-budget-2"));
+
+        GET_TRANSACTIONS.assertWithin(mockMvc.perform(get("/api/v1/transactions")
+                        .param("sourceAccountNumber", "8800000001"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content.length()").value(2))
+                .andReturn());
+
+        GET_DAILY_SUMMARY.assertWithin(mockMvc.perform(get("/api/v1/transactions/summary"))
+                .andExpect(status().isOk())
+                .andReturn());
+
+        assertEquals(2, meterRegistry.get("sql.statements")
+                .tag("kind", "http")
+                .tag("name", "POST /api/v1/transactions/transfer")
+                .summary().count());
+    }
+
+    @Test
+    void shouldCountStatementsOfScheduledJobs() {
+        scheduledTasks.rebuildRollups();
+
+        final var statements = meterRegistry.get("sql.statements")
+                .tag("kind", "job")
+                .tag("name", "rebuildRollups")
+                .summary();
+        assertEquals(1, statements.count());
+        // At least the delete of yesterday's rollups and the aggregate of its transactions
+        assertTrue(statements.totalAmount() >= 2);
+    }
+
+    private MvcResult transfer(String reference) throws Exception {
+        return mockMvc.perform(post("/api/v1/transactions/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"reference":"%s","amount":10.00,"currency":"USD",
+                                "sourceAccountNumber":"8800000001","destinationAccountNumber":"8800000002"}
+                                """.formatted(reference)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.responseCode").value("00"))
+                .andReturn();
+    }
+}
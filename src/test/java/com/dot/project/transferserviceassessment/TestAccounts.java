@@ -0,0 +1,30 @@
+package com.dot.project.transferserviceassessment;
+
+import com.dot.project.transferserviceassessment.constant.AccountStatusEnum;
+import com.dot.project.transferserviceassessment.constant.CurrencyEnum;
+import com.dot.project.transferserviceassessment.dao.entity.TransactionAccount;
+import java.math.BigDecimal;
+
+/**
+ * Active accounts for tests to save before moving money between them. Each test class keeps to its own range of
+ * account numbers, so its balances are not touched by the others.
+ */
+final class TestAccounts {
+
+    private TestAccounts() {
+    }
+
+    static TransactionAccount account(String accountNumber, String balance) {
+        return account(accountNumber, balance, CurrencyEnum.USD);
+    }
+
+    static TransactionAccount account(String accountNumber, String balance, CurrencyEnum currency) {
+        return TransactionAccount.builder()
+                .accountNumber(accountNumber)
+                .accountName("Test Account " + accountNumber)
+                .accountStatus(AccountStatusEnum.ACTIVE)
+                .balance(new BigDecimal(balance))
+                .currency(currency)
+                .build();
+    }
+}
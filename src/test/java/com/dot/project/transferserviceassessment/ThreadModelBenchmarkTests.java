@@ -0,0 +1,156 @@
+package com.dot.project.transferserviceassessment;
+
+import com.dot.project.transferserviceassessment.constant.AccountStatusEnum;
+import com.dot.project.transferserviceassessment.constant.CurrencyEnum;
+import com.dot.project.transferserviceassessment.dao.entity.TransactionAccount;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionAccountRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares platform and virtual request threads by driving the transfer endpoint with a fixed number of
+ * concurrent in-flight requests against a freshly started application in each mode.
+ *
+ * Excluded from the default build; run with: mvn test -Pbenchmark
+ * Tunables: -Dbenchmark.concurrency (default 1000), -Dbenchmark.requests (default 20000),
+ * -Dbenchmark.accounts (default 1000).
+ */
+@Slf4j
+@Tag("benchmark")
+class ThreadModelBenchmarkTests {
+
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 1000);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 20000);
+    private static final int ACCOUNTS = Integer.getInteger("benchmark.accounts", 1000);
+
+    @Test
+    void compareVirtualAndPlatformRequestThreads() throws Exception {
+        final var platform = run(false);
+        final var virtual = run(true);
+
+        log.warn("Thread model comparison: concurrency={}, requests={}, accounts={}", CONCURRENCY, REQUESTS, ACCOUNTS);
+        log.warn("{}", platform);
+        log.warn("{}", virtual);
+
+        assertEquals(0, platform.errors(), "platform thread run had transport or server errors");
+        assertEquals(0, virtual.errors(), "virtual thread run had transport or server errors");
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        final var mode = virtualThreads ? "virtual" : "platform";
+        try (var context = new SpringApplicationBuilder(TransferServiceAssessmentApplication.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spring.datasource.url=jdbc:h2:mem:benchmark-" + mode,
+                "--spring.datasource.hikari.maximum-pool-size=50",
+                "--spring.jpa.show-sql=false",
+                "--app.sql-statistics-enabled=false",
+                "--logging.level.com.dot.project=WARN",
+                "--logging.level.org.hibernate=WARN")) {
+            seedAccounts(context.getBean(TransactionAccountRepository.class));
+            final var port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+
+            // Warm up JIT, connection pools and caches before measuring
+            drive(port, mode + "-warmup", Math.min(REQUESTS, 2000));
+            return drive(port, mode, REQUESTS);
+        }
+    }
+
+    private void seedAccounts(TransactionAccountRepository repository) {
+        repository.saveAll(IntStream.range(0, ACCOUNTS)
+                .mapToObj(i -> TransactionAccount.builder()
+                        .accountNumber(accountNumber(i))
+                        .accountName("Benchmark Account " + i)
+                        .accountStatus(AccountStatusEnum.ACTIVE)
+                        .balance(new BigDecimal("1000000000"))
+                        .currency(CurrencyEnum.USD)
+                        .build())
+                .toList());
+    }
+
+    private Result drive(int port, String prefix, int requests) throws Exception {
+        final var uri = URI.create("http://localhost:" + port + "/api/v1/transactions/transfer");
+        final var latencies = new long[requests];
+        final var errors = new AtomicInteger();
+        final var permits = new Semaphore(CONCURRENCY);
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final var client = HttpClient.newBuilder().executor(executor).version(HttpClient.Version.HTTP_1_1).build();
+            final var startedAt = System.nanoTime();
+            final CompletableFuture<?>[] futures = new CompletableFuture<?>[requests];
+            for (int i = 0; i < requests; i++) {
+                permits.acquire();
+                final var index = i;
+                final var sentAt = System.nanoTime();
+                futures[i] = client.sendAsync(transferRequest(uri, prefix + "-" + i), HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((response, failure) -> {
+                            latencies[index] = System.nanoTime() - sentAt;
+                            if (failure != null || response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                            permits.release();
+                        });
+            }
+            CompletableFuture.allOf(futures).join();
+            final var elapsedNanos = System.nanoTime() - startedAt;
+
+            Arrays.sort(latencies);
+            return new Result(prefix, requests, errors.get(), requests / (elapsedNanos / 1e9),
+                    percentileMillis(latencies, 0.50), percentileMillis(latencies, 0.99), percentileMillis(latencies, 0.999));
+        }
+    }
+
+    private HttpRequest transferRequest(URI uri, String reference) {
+        final var random = ThreadLocalRandom.current();
+        final var source = random.nextInt(ACCOUNTS);
+        final var destination = (source + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+        final var body = """
+                {"reference":"%s","amount":1.00,"currency":"USD","sourceAccountNumber":"%s","destinationAccountNumber":"%s"}"""
+                .formatted(reference, accountNumber(source), accountNumber(destination));
+        return HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static String accountNumber(int index) {
+        return String.format("9%09d", index);
+    }
+
+    private static double percentileMillis(long[] sortedNanos, double percentile) {
+        final var index = Math.min(sortedNanos.length - 1, (int) Math.ceil(percentile * sortedNanos.length) - 1);
+        return sortedNanos[Math.max(0, index)] / 1e6;
+    }
+
+    private record Result(String mode, int requests, int errors, double throughput,
+                          double p50Millis, double p99Millis, double p999Millis) {
+
+        @Override
+        public String toString() {
+            return List.of(
+                    "mode=" + mode,
+                    "requests=" + requests,
+                    "errors=" + errors,
+                    String.format("throughput=%.1f req/s", throughput),
+                    String.format("p50=%.2f ms", p50Millis),
+                    String.format("p99=%.2f ms", p99Millis),
+                    String.format("p999=%.2f ms", p999Millis)).toString();
+        }
+    }
+}
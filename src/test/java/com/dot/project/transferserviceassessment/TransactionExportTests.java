@@ -0,0 +1,108 @@
+package com.dot.project.transferserviceassessment;
+
+import com.dot.project.transferserviceassessment.constant.CurrencyEnum;
+import com.dot.project.transferserviceassessment.constant.ExportFormatEnum;
+import com.dot.project.transferserviceassessment.constant.StatusEnum;
+import com.dot.project.transferserviceassessment.dao.entity.Transaction;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionRepository;
+import com.dot.project.transferserviceassessment.service.TransactionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Exports a few thousand transactions, more than one cursor fetch and one flush, in both formats.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:transaction-export",
+        "app.export-fetch-size=100",
+        "app.export-flush-rows=250"
+})
+class TransactionExportTests {
+
+    private static final String SOURCE_ACCOUNT = "6000000001";
+    private static final int TRANSACTIONS = 2_345;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void createTransactions() {
+        if (transactionRepository.findByReference("export-0").isPresent()) {
+            return;
+        }
+        final var start = LocalDateTime.of(2024, 12, 18, 9, 0);
+        transactionRepository.saveAll(IntStream.range(0, TRANSACTIONS)
+                .mapToObj(i -> Transaction.builder()
+                        .reference("export-" + i)
+                        .amount(new BigDecimal("12.50"))
+                        .fee(new BigDecimal("0.06"))
+                        .billedAmount(new BigDecimal("12.56"))
+                        .currency(CurrencyEnum.USD)
+                        .status(i % 2 == 0 ? StatusEnum.SUCCESSFUL : StatusEnum.FAILED)
+                        .statusMessage(i % 2 == 0 ? "Transaction Successful" : "Failed, \"insufficient\" funds")
+                        .description("not exported")
+                        .sourceAccountNumber(SOURCE_ACCOUNT)
+                        .destinationAccountNumber("6000000002")
+                        .createdAt(start.plusSeconds(i))
+                        .build())
+                .toList());
+    }
+
+    @Test
+    void shouldExportOneJsonObjectPerLineInCreationOrder() throws Exception {
+        final var lines = export(ExportFormatEnum.NDJSON).split("\n", -1);
+
+        // Every row ends with a newline, so the last element is empty
+        assertEquals(TRANSACTIONS + 1, lines.length);
+        assertEquals("", lines[TRANSACTIONS]);
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            final var row = objectMapper.readTree(lines[i]);
+            assertEquals("export-" + i, row.get("reference").asText());
+            assertTrue(row.get("description") == null, "description was exported");
+        }
+    }
+
+    @Test
+    void shouldExportQuotedCsvWithAHeader() throws Exception {
+        final var lines = export(ExportFormatEnum.CSV).split("\r\n", -1);
+
+        assertEquals(TRANSACTIONS + 2, lines.length);
+        assertTrue(lines[0].startsWith("reference,amount,fee,currency"));
+        assertEquals("export-0,12.50,0.06,USD,12.56,2024-12-18 09:00:00,SUCCESSFUL,Transaction Successful,,,"
+                + SOURCE_ACCOUNT + ",6000000002", lines[1]);
+        assertTrue(lines[2].contains(",FAILED,\"Failed, \"\"insufficient\"\" funds\","), lines[2]);
+    }
+
+    @Test
+    void shouldExportOnlyMatchingTransactions() throws Exception {
+        final var out = new ByteArrayOutputStream();
+        transactionService.exportTransactions(transactionService.searchCriteria(
+                "SUCCESSFUL", SOURCE_ACCOUNT, null, null, null), ExportFormatEnum.NDJSON, out);
+
+        assertEquals((TRANSACTIONS + 1) / 2, out.toString(StandardCharsets.UTF_8).lines().count());
+    }
+
+    private String export(ExportFormatEnum format) throws Exception {
+        final var out = new ByteArrayOutputStream();
+        transactionService.exportTransactions(
+                transactionService.searchCriteria(null, SOURCE_ACCOUNT, null, null, null), format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,99 @@
+package com.dot.project.transferserviceassessment;
+
+import com.dot.project.transferserviceassessment.constant.CurrencyEnum;
+import com.dot.project.transferserviceassessment.constant.StatusEnum;
+import com.dot.project.transferserviceassessment.dao.entity.Transaction;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionRepository;
+import com.dot.project.transferserviceassessment.dto.response.TransactionRes;
+import com.dot.project.transferserviceassessment.exception.InvalidCursorException;
+import com.dot.project.transferserviceassessment.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Walks the keyset mode of the transaction search over rows that share creation times, which only the id can
+ * order, and checks every row is returned once and in order.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:keyset-pagination"
+})
+class TransactionKeysetPaginationTests {
+
+    private static final String SOURCE_ACCOUNT = "5000000001";
+    private static final int TRANSACTIONS = 53;
+    private static final int SLICE_SIZE = 7;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    void shouldWalkEveryTransactionOnceInCreationOrder() {
+        final var start = LocalDateTime.of(2024, 12, 18, 9, 0);
+        transactionRepository.saveAll(IntStream.range(0, TRANSACTIONS)
+                .mapToObj(i -> Transaction.builder()
+                        .reference("keyset-" + i)
+                        .amount(BigDecimal.ONE)
+                        .fee(BigDecimal.ZERO)
+                        .billedAmount(BigDecimal.ONE)
+                        .currency(CurrencyEnum.USD)
+                        .status(StatusEnum.SUCCESSFUL)
+                        .sourceAccountNumber(SOURCE_ACCOUNT)
+                        .destinationAccountNumber("5000000002")
+                        // Three transactions per second, inserted in descending time order
+                        .createdAt(start.plusSeconds((TRANSACTIONS - i) / 3))
+                        .build())
+                .toList());
+
+        final List<TransactionRes> walked = new ArrayList<>();
+        String cursor = "";
+        int slices = 0;
+        while (cursor != null) {
+            final var slice = transactionService.getTransactionSlice(
+                    null, SOURCE_ACCOUNT, null, null, null, cursor, SLICE_SIZE).getData();
+            assertTrue(slice.getSize() <= SLICE_SIZE);
+            assertEquals(slice.isHasNext(), slice.getNextCursor() != null);
+            walked.addAll(slice.getContent());
+            cursor = slice.getNextCursor();
+            slices++;
+        }
+
+        assertEquals((TRANSACTIONS + SLICE_SIZE - 1) / SLICE_SIZE, slices);
+        assertEquals(TRANSACTIONS, walked.size());
+        assertEquals(TRANSACTIONS, walked.stream().map(TransactionRes::getReference).distinct().count());
+        for (int i = 1; i < walked.size(); i++) {
+            assertFalse(walked.get(i).getCreatedAt().isBefore(walked.get(i - 1).getCreatedAt()),
+                    "slice out of creation order at " + walked.get(i).getReference());
+        }
+    }
+
+    @Test
+    void shouldEndOnAnEmptyLastSlice() {
+        final var slice = transactionService.getTransactionSlice(
+                null, "5999999999", null, null, null, null, SLICE_SIZE).getData();
+
+        assertTrue(slice.getContent().isEmpty());
+        assertFalse(slice.isHasNext());
+        assertNull(slice.getNextCursor());
+    }
+
+    @Test
+    void shouldRejectACursorItDidNotIssue() {
+        assertThrows(InvalidCursorException.class, () -> transactionService.getTransactionSlice(
+                null, SOURCE_ACCOUNT, null, null, null, "not-a-cursor", SLICE_SIZE));
+    }
+}
@@ -0,0 +1,118 @@
+package com.dot.project.transferserviceassessment;
+
+import com.dot.project.transferserviceassessment.constant.CurrencyEnum;
+import com.dot.project.transferserviceassessment.constant.StatusEnum;
+import com.dot.project.transferserviceassessment.constant.SummaryGranularityEnum;
+import com.dot.project.transferserviceassessment.dao.entity.Transaction;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionRepository;
+import com.dot.project.transferserviceassessment.dto.response.TransactionSummaryRes;
+import com.dot.project.transferserviceassessment.exception.InvalidSearchCriteriaException;
+import com.dot.project.transferserviceassessment.service.TransactionRollupService;
+import com.dot.project.transferserviceassessment.service.TransactionSummaryRangeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Summarises a month holding one transaction at the start of every hour at each granularity, with a chunk size
+ * small enough that every range is split across the fork-join pool.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:range-summary",
+        "app.summary-range-chunk-buckets=2",
+        "app.summary-range-max-buckets=1000"
+})
+class TransactionRangeSummaryTests {
+
+    private static final LocalDateTime MONTH_START = LocalDateTime.of(2024, 9, 1, 0, 0);
+    private static final int HOURS = 30 * 24;
+
+    @Autowired
+    private TransactionSummaryRangeService summaryRangeService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionRollupService rollupService;
+
+    @BeforeEach
+    void createTransactions() {
+        if (transactionRepository.findByReference("range-0").isPresent()) {
+            return;
+        }
+        rollupService.record(transactionRepository.saveAll(IntStream.range(0, HOURS)
+                .<Transaction>mapToObj(i -> Transaction.builder()
+                        .reference("range-" + i)
+                        .amount(new BigDecimal("1.00"))
+                        .fee(new BigDecimal("0.01"))
+                        .billedAmount(new BigDecimal("1.01"))
+                        .currency(CurrencyEnum.USD)
+                        .status(StatusEnum.SUCCESSFUL)
+                        .sourceAccountNumber("8200000001")
+                        .destinationAccountNumber("8200000002")
+                        .createdAt(MONTH_START.plusHours(i))
+                        .build())
+                .toList()));
+    }
+
+    @Test
+    void shouldSummariseEveryDayOfTheRangeInOrder() {
+        final var buckets = summaryRangeService.getRangeSummary(MONTH_START, MONTH_START.plusDays(30),
+                SummaryGranularityEnum.DAY);
+
+        assertEquals(30, buckets.size());
+        for (int i = 0; i < buckets.size(); i++) {
+            assertEquals(MONTH_START.plusDays(i), buckets.get(i).getStartDate());
+            assertEquals(24, buckets.get(i).getTotalTransactions());
+        }
+        assertEquals(HOURS, total(buckets));
+    }
+
+    @Test
+    void shouldAlignWeeksToMondayAndCutTheEdgeBuckets() {
+        // 2024-09-01 is a Sunday and 2024-09-30 a Monday
+        final var buckets = summaryRangeService.getRangeSummary(MONTH_START, MONTH_START.plusDays(30),
+                SummaryGranularityEnum.WEEK);
+
+        assertEquals(List.of(24L, 168L, 168L, 168L, 168L, 24L),
+                buckets.stream().map(TransactionSummaryRes::getTotalTransactions).toList());
+        assertEquals(LocalDateTime.of(2024, 9, 2, 0, 0), buckets.get(1).getStartDate());
+
+        final var month = summaryRangeService.getRangeSummary(MONTH_START, MONTH_START.plusDays(30),
+                SummaryGranularityEnum.MONTH);
+        assertEquals(1, month.size());
+        assertEquals(0, new BigDecimal("720.00").compareTo(month.get(0).getTotalAmount()));
+    }
+
+    @Test
+    void shouldSummarisePartialHoursAtTheEdges() {
+        final var day = MONTH_START.plusDays(4);
+        final var buckets = summaryRangeService.getRangeSummary(day.plusHours(10).plusMinutes(30),
+                day.plusHours(13).plusMinutes(15), SummaryGranularityEnum.HOUR);
+
+        assertEquals(List.of(0L, 1L, 1L, 1L),
+                buckets.stream().map(TransactionSummaryRes::getTotalTransactions).toList());
+        assertEquals(day.plusHours(10).plusMinutes(30), buckets.get(0).getStartDate());
+    }
+
+    @Test
+    void shouldRejectInvalidRanges() {
+        assertThrows(InvalidSearchCriteriaException.class, () -> summaryRangeService.getRangeSummary(
+                MONTH_START, MONTH_START, SummaryGranularityEnum.DAY));
+        assertThrows(InvalidSearchCriteriaException.class, () -> summaryRangeService.getRangeSummary(
+                MONTH_START, MONTH_START.plusDays(60), SummaryGranularityEnum.HOUR));
+    }
+
+    private static long total(List<TransactionSummaryRes> buckets) {
+        return buckets.stream().mapToLong(TransactionSummaryRes::getTotalTransactions).sum();
+    }
+}
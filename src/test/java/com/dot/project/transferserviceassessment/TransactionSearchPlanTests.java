@@ -0,0 +1,67 @@
+package com.dot.project.transferserviceassessment;
+
+import com.dot.project.transferserviceassessment.constant.StatusEnum;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionSearchCriteria;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionSearchQuery;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import java.time.LocalDateTime;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks on H2 that every supported filter shape of the transaction search is planned on the composite index
+ * declared for it rather than on a table scan.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:search-plan"
+})
+class TransactionSearchPlanTests {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 12, 18, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2024, 12, 18, 23, 59, 59);
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldPlanSourceAccountSearchesOnTheSourceIndex() {
+        final var criteria = new TransactionSearchCriteria(null, "1234567890", null, FROM, TO);
+
+        assertPlanUses("TRANSACTION_IDX_4", TransactionSearchQuery.page(criteria, PageRequest.of(3, 20)));
+        assertPlanUses("TRANSACTION_IDX_4", TransactionSearchQuery.count(criteria));
+        assertPlanUses("TRANSACTION_IDX_4", TransactionSearchQuery.seek(criteria, FROM.plusHours(1), 42, 100));
+    }
+
+    @Test
+    void shouldPlanDestinationAccountSearchesOnTheDestinationIndex() {
+        final var criteria = new TransactionSearchCriteria(null, null, "2113182084", FROM, TO);
+
+        assertPlanUses("TRANSACTION_IDX_5", TransactionSearchQuery.page(criteria, PageRequest.of(0, 20)));
+        assertPlanUses("TRANSACTION_IDX_5", TransactionSearchQuery.seek(criteria, null, 0, 100));
+    }
+
+    @Test
+    void shouldPlanStatusSearchesOnTheStatusIndex() {
+        final var criteria = new TransactionSearchCriteria(StatusEnum.FAILED, null, null, FROM, null);
+
+        assertPlanUses("TRANSACTION_IDX_6", TransactionSearchQuery.page(criteria, PageRequest.of(0, 20)));
+        assertPlanUses("TRANSACTION_IDX_6", TransactionSearchQuery.count(criteria));
+    }
+
+    @Test
+    void shouldPlanTimeRangeSearchesOnTheCreationIndex() {
+        final var criteria = new TransactionSearchCriteria(null, null, null, FROM, TO);
+
+        assertPlanUses("TRANSACTION_IDX_3", TransactionSearchQuery.page(criteria, PageRequest.of(0, 20)));
+        assertPlanUses("TRANSACTION_IDX_3", TransactionSearchQuery.seek(criteria, FROM.plusHours(1), 42, 100));
+    }
+
+    private void assertPlanUses(String index, TransactionSearchQuery query) {
+        final var plan = jdbcTemplate.queryForObject("EXPLAIN " + query.sql(), query.parameters(), String.class);
+        assertTrue(plan != null && plan.toUpperCase().contains(index), "expected " + index + " in plan:\n" + plan);
+    }
+}
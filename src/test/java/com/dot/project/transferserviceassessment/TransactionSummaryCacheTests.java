@@ -0,0 +1,101 @@
+package com.dot.project.transferserviceassessment;
+
+import com.dot.project.transferserviceassessment.constant.CurrencyEnum;
+import com.dot.project.transferserviceassessment.constant.StatusEnum;
+import com.dot.project.transferserviceassessment.dao.entity.Transaction;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionRepository;
+import com.dot.project.transferserviceassessment.service.TransactionRollupService;
+import com.dot.project.transferserviceassessment.service.TransactionSummaryCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import static com.dot.project.transferserviceassessment.scheduler.ScheduledTasks.ZONE_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that summaries of closed days are served from the cache and revalidated with 304s, and that open days are
+ * never marked cacheable by clients.
+ */
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:summary-cache"
+})
+class TransactionSummaryCacheTests {
+
+    private static final LocalDate CLOSED_DAY = LocalDate.of(2024, 10, 1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionRollupService rollupService;
+
+    @Autowired
+    private TransactionSummaryCache summaryCache;
+
+    @Test
+    void shouldAnswerRevalidationsOfAClosedDayWithNotModified() throws Exception {
+        save("summary-cache-1");
+
+        final var etag = mockMvc.perform(get("/api/v1/transactions/summary").param("date", CLOSED_DAY.toString()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=86400"))
+                .andExpect(jsonPath("$.data.totalTransactions").value(1))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/transactions/summary").param("date", CLOSED_DAY.toString())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+
+        // Closed days are kept until invalidated
+        save("summary-cache-2");
+        assertEquals(etag, summaryCache.get(CLOSED_DAY).etag());
+
+        summaryCache.invalidate(CLOSED_DAY);
+        final var changedEtag = mockMvc.perform(get("/api/v1/transactions/summary").param("date", CLOSED_DAY.toString())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalTransactions").value(2))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, changedEtag);
+    }
+
+    @Test
+    void shouldMakeClientsRevalidateOpenDays() throws Exception {
+        mockMvc.perform(get("/api/v1/transactions/summary").param("date", LocalDate.now(ZONE_ID).toString()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(header().exists(HttpHeaders.ETAG));
+    }
+
+    private void save(String reference) {
+        rollupService.record(transactionRepository.saveAll(List.of(Transaction.builder()
+                .reference(reference)
+                .amount(new BigDecimal("4.00"))
+                .fee(new BigDecimal("0.02"))
+                .billedAmount(new BigDecimal("4.02"))
+                .currency(CurrencyEnum.USD)
+                .status(StatusEnum.SUCCESSFUL)
+                .sourceAccountNumber("8100000001")
+                .destinationAccountNumber("8100000002")
+                .createdAt(CLOSED_DAY.atTime(11, 0))
+                .build())));
+    }
+}
@@ -0,0 +1,135 @@
+package com.dot.project.transferserviceassessment;
+
+import com.dot.project.transferserviceassessment.constant.CurrencyEnum;
+import com.dot.project.transferserviceassessment.constant.StatusEnum;
+import com.dot.project.transferserviceassessment.dao.entity.Transaction;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionRepository;
+import com.dot.project.transferserviceassessment.service.TransactionRollupService;
+import com.dot.project.transferserviceassessment.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the rollup-backed summary against transactions of every status, with and without commission, plus rows
+ * outside the period and soft-deleted rows that must not be counted, for whole days and for periods with partial
+ * edge hours.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:transaction-summary"
+})
+class TransactionSummaryTests {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 11, 5);
+    private static final LocalDate LIVE_DAY = LocalDate.of(2024, 11, 6);
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionRollupService rollupService;
+
+    @Test
+    void shouldSummariseTheDayFromItsRollups() {
+        final List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            transactions.add(transaction("summary-ok-" + i, StatusEnum.SUCCESSFUL, "10.00", i % 3 == 0, false,
+                    DAY.atTime(9, 0).plusMinutes(i)));
+        }
+        for (int i = 0; i < 7; i++) {
+            transactions.add(transaction("summary-nsf-" + i, StatusEnum.INSUFFICIENT_FUND, "2.50", false, false,
+                    DAY.atTime(12, 0).plusMinutes(i)));
+        }
+        for (int i = 0; i < 5; i++) {
+            transactions.add(transaction("summary-failed-" + i, StatusEnum.FAILED, "1.00", false, false,
+                    DAY.atTime(15, 0).plusMinutes(i)));
+        }
+        // Outside the period and soft-deleted rows
+        transactions.add(transaction("summary-yesterday", StatusEnum.SUCCESSFUL, "99.00", true, false,
+                DAY.minusDays(1).atTime(23, 0)));
+        transactions.add(transaction("summary-deleted", StatusEnum.SUCCESSFUL, "99.00", true, true,
+                DAY.atTime(10, 0)));
+        transactionRepository.saveAll(transactions);
+        rollupService.rebuild(DAY.minusDays(1).atStartOfDay(), DAY.plusDays(1).atStartOfDay());
+
+        final var summary = transactionService.getDailySummary(DAY).getData();
+
+        assertEquals(42, summary.getTotalTransactions());
+        assertEquals(30, summary.getSuccessfulTransactions());
+        assertEquals(12, summary.getFailedTransactions());
+        assertEquals(0, new BigDecimal("322.50").compareTo(summary.getTotalAmount()), summary.getTotalAmount().toString());
+        // Ten commission-worthy transactions earn 0.01 each
+        assertEquals(0, new BigDecimal("0.10").compareTo(summary.getTotalCommission()), summary.getTotalCommission().toString());
+
+        // 09:15 to 15:02 mixes rollup hours with raw edge hours on both sides
+        final var partial = transactionService.getTransactionSummary(DAY.atTime(9, 15), DAY.atTime(15, 2));
+
+        assertEquals(25, partial.getTotalTransactions());
+        assertEquals(15, partial.getSuccessfulTransactions());
+        assertEquals(10, partial.getFailedTransactions());
+        assertEquals(0, new BigDecimal("170.50").compareTo(partial.getTotalAmount()), partial.getTotalAmount().toString());
+        assertEquals(0, new BigDecimal("0.05").compareTo(partial.getTotalCommission()), partial.getTotalCommission().toString());
+    }
+
+    @Test
+    void shouldKeepRecordedRollupsEqualToARebuild() {
+        final List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            transactions.add(transaction("summary-live-" + i, i % 4 == 0 ? StatusEnum.FAILED : StatusEnum.SUCCESSFUL,
+                    "3.33", i % 5 == 0, false, LIVE_DAY.atStartOfDay().plusMinutes(i * 7L)));
+        }
+        // Recorded in many small writes so they land on different slots of the same hours
+        for (int i = 0; i < transactions.size(); i += 3) {
+            rollupService.record(transactionRepository.saveAll(transactions.subList(i, Math.min(i + 3, transactions.size()))));
+        }
+        final var recorded = transactionService.getDaySummary(LIVE_DAY);
+
+        rollupService.rebuild(LIVE_DAY.atStartOfDay(), LIVE_DAY.plusDays(1).atStartOfDay());
+        final var rebuilt = transactionService.getDaySummary(LIVE_DAY);
+
+        assertEquals(rebuilt.getTotalTransactions(), recorded.getTotalTransactions());
+        assertEquals(rebuilt.getSuccessfulTransactions(), recorded.getSuccessfulTransactions());
+        assertEquals(0, rebuilt.getTotalAmount().compareTo(recorded.getTotalAmount()));
+        assertEquals(0, rebuilt.getTotalCommission().compareTo(recorded.getTotalCommission()));
+        assertEquals(200, recorded.getTotalTransactions());
+        assertEquals(0, new BigDecimal("666.00").compareTo(recorded.getTotalAmount()), recorded.getTotalAmount().toString());
+    }
+
+    @Test
+    void shouldSummariseAnEmptyPeriodAsZero() {
+        final var summary = transactionService.getTransactionSummary(
+                LocalDateTime.of(2001, 1, 1, 0, 0), LocalDateTime.of(2001, 1, 1, 23, 59));
+
+        assertEquals(0, summary.getTotalTransactions());
+        assertEquals(0, BigDecimal.ZERO.compareTo(summary.getTotalAmount()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(summary.getTotalCommission()));
+    }
+
+    private static Transaction transaction(String reference, StatusEnum status, String amount, boolean commissionWorthy,
+                                           boolean deleted, LocalDateTime createdAt) {
+        return Transaction.builder()
+                .reference(reference)
+                .amount(new BigDecimal(amount))
+                .fee(new BigDecimal("0.05"))
+                .billedAmount(new BigDecimal(amount).add(new BigDecimal("0.05")))
+                .currency(CurrencyEnum.USD)
+                .status(status)
+                .commissionWorthy(commissionWorthy)
+                .commission(new BigDecimal("0.01"))
+                .sourceAccountNumber("8000000001")
+                .destinationAccountNumber("8000000002")
+                .deleted(deleted)
+                .createdAt(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.dot.project.transferserviceassessment;
+
+import com.dot.project.transferserviceassessment.audit.TransferAuditJournal;
+import com.dot.project.transferserviceassessment.audit.TransferAuditJournalReader;
+import com.dot.project.transferserviceassessment.audit.TransferAuditJournalReader.AuditRecord;
+import com.dot.project.transferserviceassessment.config.ExternalRequestProperties;
+import com.dot.project.transferserviceassessment.constant.AuditEventEnum;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Writes events through the journal's ring into small segments and reads them back with
+ * {@link TransferAuditJournalReader}, in order and across segment rolls.
+ */
+class TransferAuditJournalTests {
+
+    private static final int EVENTS = 200;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void shouldReadBackEveryEventInOrderAcrossSegmentRolls() throws Exception {
+        final var meterRegistry = new SimpleMeterRegistry();
+        final var journal = new TransferAuditJournal(properties(), meterRegistry);
+        journal.start();
+        final var events = AuditEventEnum.values();
+        for (int i = 0; i < EVENTS; i++) {
+            journal.append(events[i % events.length], "audit-" + i, "8950000001", "8950000002",
+                    new BigDecimal("10.5").add(BigDecimal.valueOf(i)), i % 2 == 0 ? "" : "detail " + i);
+        }
+        journal.stop();
+
+        final List<AuditRecord> records = new ArrayList<>();
+        TransferAuditJournalReader.read(directory, records::add);
+
+        try (var segments = Files.list(directory)) {
+            assertTrue(segments.count() > 10, "the journal did not roll its segments");
+        }
+        assertEquals(EVENTS, meterRegistry.get("transfer.audit.events.written").counter().count());
+        assertEquals(EVENTS, records.size());
+        for (int i = 0; i < EVENTS; i++) {
+            final var record = records.get(i);
+            assertEquals(events[i % events.length], record.event());
+            assertEquals("audit-" + i, record.reference());
+            assertEquals("8950000001", record.sourceAccountNumber());
+            assertEquals("8950000002", record.destinationAccountNumber());
+            assertEquals(new BigDecimal("10.5").add(BigDecimal.valueOf(i)), record.amount());
+            assertEquals(i % 2 == 0 ? "" : "detail " + i, record.detail());
+        }
+    }
+
+    @Test
+    void shouldKeepEventsWithoutAnAmountAndReplaceNonAsciiCharacters() throws Exception {
+        final var journal = new TransferAuditJournal(properties(), new SimpleMeterRegistry());
+        journal.start();
+        journal.append(AuditEventEnum.FAILED, "audit-null", "8950000001", null, null, "Naïra");
+        journal.stop();
+
+        final List<AuditRecord> records = new ArrayList<>();
+        TransferAuditJournalReader.read(directory, records::add);
+
+        assertEquals(1, records.size());
+        assertNull(records.get(0).amount());
+        assertEquals("", records.get(0).destinationAccountNumber());
+        assertEquals("Na?ra", records.get(0).detail());
+    }
+
+    private ExternalRequestProperties properties() {
+        final var properties = new ExternalRequestProperties();
+        properties.setAuditJournalEnabled(true);
+        properties.setAuditJournalDirectory(directory.toString());
+        // Room for a handful of records, so the writer rolls many times
+        properties.setAuditJournalSegmentBytes(512);
+        properties.setAuditJournalRingCapacity(1024);
+        properties.setAuditJournalForceIntervalMillis(10);
+        return properties;
+    }
+}
@@ -0,0 +1,152 @@
+package com.dot.project.transferserviceassessment;
+
+import com.dot.project.transferserviceassessment.constant.AccountStatusEnum;
+import com.dot.project.transferserviceassessment.constant.CurrencyEnum;
+import com.dot.project.transferserviceassessment.constant.StatusEnum;
+import com.dot.project.transferserviceassessment.dao.entity.Transaction;
+import com.dot.project.transferserviceassessment.dao.entity.TransactionAccount;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionAccountRepository;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionRepository;
+import com.dot.project.transferserviceassessment.dto.request.TransactionReq;
+import com.dot.project.transferserviceassessment.service.TransactionService;
+import com.dot.project.transferserviceassessment.service.TransferEngine;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Conservation-of-money checks shared by every transfer engine. Concurrent transfers over a few accounts,
+ * including overdrafts and reused references, must leave the total balance short by exactly the fees of the
+ * successful transfers, and every account must match the transactions recorded against it.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+abstract class TransferConservationTests {
+
+    private static final int ACCOUNTS = 12;
+    private static final int TRANSFERS = 1500;
+    private static final int THREADS = 16;
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000.00");
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransferEngine transferEngine;
+
+    @Autowired
+    private TransactionAccountRepository transactionAccountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    void concurrentTransfersConserveMoney() throws Exception {
+        transactionAccountRepository.saveAll(IntStream.range(0, ACCOUNTS)
+                .mapToObj(i -> TransactionAccount.builder()
+                        .accountNumber(accountNumber(i))
+                        .accountName("Conservation Account " + i)
+                        .accountStatus(AccountStatusEnum.ACTIVE)
+                        .balance(OPENING_BALANCE)
+                        .currency(CurrencyEnum.USD)
+                        .build())
+                .toList());
+
+        final Set<String> acceptedReferences = ConcurrentHashMap.newKeySet();
+        final Queue<RuntimeException> errors = new ConcurrentLinkedQueue<>();
+        try (var executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int i = 0; i < TRANSFERS; i++) {
+                // Every tenth transfer reuses the previous reference
+                final var reference = "conservation-" + (i % 10 == 9 ? i - 1 : i);
+                executor.execute(() -> {
+                    try {
+                        // A reused reference is replayed or rejected, even while its first transfer is in flight
+                        final var response = transactionService.processTransfer(randomTransfer(reference));
+                        if ("00".equals(response.getResponseCode())) {
+                            acceptedReferences.add(reference);
+                        }
+                    } catch (RuntimeException e) {
+                        errors.add(e);
+                    }
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES), "transfers did not finish");
+        }
+        transferEngine.flush();
+        assertTrue(errors.isEmpty(), () -> "transfers failed with " + errors);
+
+        assertMoneyConserved("7", OPENING_BALANCE, "conservation-", acceptedReferences,
+                transactionAccountRepository.findAll(), transactionRepository.findAll());
+    }
+
+    /**
+     * Asserts that the accounts whose number starts with accountPrefix, all opened with openingBalance, are short by
+     * exactly the fees of the successful transfers whose reference starts with referencePrefix, that those are the
+     * accepted transfers, that no account is overdrawn and that every account matches its transactions.
+     */
+    static void assertMoneyConserved(String accountPrefix, BigDecimal openingBalance, String referencePrefix,
+                                     Set<String> accepted, List<TransactionAccount> accounts,
+                                     List<Transaction> transactions) {
+        final Map<String, BigDecimal> balances = accounts.stream()
+                .filter(account -> account.getAccountNumber().startsWith(accountPrefix))
+                .collect(Collectors.toMap(TransactionAccount::getAccountNumber, TransactionAccount::getBalance));
+        final List<Transaction> successful = transactions.stream()
+                .filter(transaction -> transaction.getReference().startsWith(referencePrefix))
+                .filter(transaction -> StatusEnum.SUCCESSFUL.equals(transaction.getStatus()))
+                .toList();
+
+        assertFalse(successful.isEmpty(), "no transfer succeeded");
+        assertEquals(accepted, successful.stream().map(Transaction::getReference).collect(Collectors.toSet()),
+                "accepted transfers and successful records differ");
+
+        final var fees = successful.stream().map(Transaction::getFee).reduce(BigDecimal.ZERO, BigDecimal::add);
+        final var total = balances.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(0, openingBalance.multiply(BigDecimal.valueOf(balances.size())).compareTo(total.add(fees)),
+                "money was created or destroyed: total " + total + ", fees " + fees);
+
+        final Map<String, BigDecimal> expected = new HashMap<>();
+        balances.keySet().forEach(accountNumber -> expected.put(accountNumber, openingBalance));
+        successful.forEach(transaction -> {
+            expected.merge(transaction.getSourceAccountNumber(), transaction.getBilledAmount().negate(), BigDecimal::add);
+            expected.merge(transaction.getDestinationAccountNumber(), transaction.getAmount(), BigDecimal::add);
+        });
+        balances.forEach((accountNumber, balance) -> {
+            assertTrue(balance.signum() >= 0, accountNumber + " is overdrawn: " + balance);
+            assertEquals(0, expected.get(accountNumber).compareTo(balance),
+                    accountNumber + " does not match its transactions");
+        });
+    }
+
+    private static TransactionReq randomTransfer(String reference) {
+        final var random = ThreadLocalRandom.current();
+        final var source = random.nextInt(ACCOUNTS);
+        final var destination = (source + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+        return TransactionReq.builder()
+                .reference(reference)
+                .amount(BigDecimal.valueOf(random.nextInt(100, 40_000), 2))
+                .currency(CurrencyEnum.USD)
+                .sourceAccountNumber(accountNumber(source))
+                .destinationAccountNumber(accountNumber(destination))
+                .build();
+    }
+
+    private static String accountNumber(int index) {
+        return String.format("7%09d", index);
+    }
+}
@@ -0,0 +1,189 @@
+package com.dot.project.transferserviceassessment;
+
+import com.dot.project.transferserviceassessment.constant.AccountStatusEnum;
+import com.dot.project.transferserviceassessment.constant.CurrencyEnum;
+import com.dot.project.transferserviceassessment.dao.entity.TransactionAccount;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionAccountRepository;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionRepository;
+import com.dot.project.transferserviceassessment.dto.request.TransactionReq;
+import com.dot.project.transferserviceassessment.service.TransactionService;
+import com.dot.project.transferserviceassessment.service.TransferEngine;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hammers a few hot accounts, the way payers hammer a merchant's collection account, with worker threads calling
+ * processTransfer directly, once per transfer engine. Reports throughput and latency percentiles, then applies the
+ * conservation checks of {@link TransferConservationTests} to the accounts it hammered.
+ *
+ * Excluded from the default build; run with: mvn test -Pbenchmark
+ * Tunables: -Dstress.threads (default 64), -Dstress.accounts (default 50), -Dstress.transfers (default 20000),
+ * -Dstress.hot-accounts (default 2), -Dstress.hot-ratio (default 0.8, the chance each side of a transfer is a hot
+ * account).
+ */
+@Slf4j
+@Tag("benchmark")
+class TransferContentionStressTests {
+
+    private static final int THREADS = Integer.getInteger("stress.threads", 64);
+    private static final int ACCOUNTS = Integer.getInteger("stress.accounts", 50);
+    private static final int TRANSFERS = Integer.getInteger("stress.transfers", 20000);
+    private static final int HOT_ACCOUNTS = Integer.getInteger("stress.hot-accounts", 2);
+    private static final double HOT_RATIO = Double.parseDouble(System.getProperty("stress.hot-ratio", "0.8"));
+    // Low enough that cold accounts run dry and overdrafts are attempted under contention
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000.00");
+
+    @Test
+    void hotAccountsConserveMoneyOnTheJpaEngine() throws Exception {
+        run("jpa");
+    }
+
+    @Test
+    void hotAccountsConserveMoneyOnTheLedgerEngine() throws Exception {
+        run("ledger");
+    }
+
+    private void run(String engine) throws Exception {
+        final var journal = Files.createTempDirectory("stress-journal").toString();
+        try (var context = new SpringApplicationBuilder(TransferServiceAssessmentApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "app.transfer-engine=" + engine,
+                        "app.ledger-journal-directory=" + journal,
+                        "spring.datasource.url=jdbc:h2:mem:stress-" + engine,
+                        "spring.datasource.hikari.maximum-pool-size=" + Math.max(10, THREADS),
+                        "spring.jpa.show-sql=false",
+                        "app.sql-statistics-enabled=false",
+                        "logging.level.com.dot.project=WARN",
+                        "logging.level." + TransferContentionStressTests.class.getName() + "=INFO",
+                        "logging.level.org.hibernate=WARN")
+                .run()) {
+            final var accountRepository = context.getBean(TransactionAccountRepository.class);
+            accountRepository.saveAll(IntStream.range(0, ACCOUNTS)
+                    .mapToObj(i -> TransactionAccount.builder()
+                            .accountNumber(accountNumber(i))
+                            .accountName("Stress Account " + i)
+                            .accountStatus(AccountStatusEnum.ACTIVE)
+                            .balance(OPENING_BALANCE)
+                            .currency(CurrencyEnum.USD)
+                            .build())
+                    .toList());
+
+            final var result = drive(engine, context.getBean(TransactionService.class));
+            context.getBean(TransferEngine.class).flush();
+            log.info("Contention stress: threads={}, accounts={}, hotAccounts={}, hotRatio={}",
+                    THREADS, ACCOUNTS, HOT_ACCOUNTS, HOT_RATIO);
+            log.info("{}", result);
+
+            TransferConservationTests.assertMoneyConserved("5", OPENING_BALANCE, "stress-" + engine + "-",
+                    result.accepted(), accountRepository.findAll(),
+                    context.getBean(TransactionRepository.class).findAll());
+        }
+    }
+
+    private Result drive(String engine, TransactionService transactionService) throws InterruptedException {
+        final var latencies = new long[TRANSFERS];
+        final var next = new AtomicInteger();
+        final var errors = new AtomicInteger();
+        final Set<String> accepted = ConcurrentHashMap.newKeySet();
+        final var start = new CountDownLatch(1);
+
+        try (var executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int t = 0; t < THREADS; t++) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int i = next.getAndIncrement(); i < TRANSFERS; i = next.getAndIncrement()) {
+                        final var reference = "stress-" + engine + "-" + i;
+                        final var sentAt = System.nanoTime();
+                        try {
+                            if ("00".equals(transactionService.processTransfer(skewedTransfer(reference)).getResponseCode())) {
+                                accepted.add(reference);
+                            }
+                        } catch (RuntimeException e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[i] = System.nanoTime() - sentAt;
+                    }
+                });
+            }
+            final var startedAt = System.nanoTime();
+            start.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.MINUTES), "transfers did not finish");
+            final var elapsedNanos = System.nanoTime() - startedAt;
+
+            Arrays.sort(latencies);
+            return new Result(engine, TRANSFERS, accepted, errors.get(), TRANSFERS / (elapsedNanos / 1e9),
+                    percentileMillis(latencies, 0.50), percentileMillis(latencies, 0.99),
+                    percentileMillis(latencies, 0.999));
+        }
+    }
+
+    private static TransactionReq skewedTransfer(String reference) {
+        final var random = ThreadLocalRandom.current();
+        final var source = pickAccount(random);
+        var destination = pickAccount(random);
+        while (destination == source) {
+            destination = pickAccount(random);
+        }
+        return TransactionReq.builder()
+                .reference(reference)
+                .amount(BigDecimal.valueOf(random.nextInt(100, 40_000), 2))
+                .currency(CurrencyEnum.USD)
+                .sourceAccountNumber(accountNumber(source))
+                .destinationAccountNumber(accountNumber(destination))
+                .build();
+    }
+
+    private static int pickAccount(ThreadLocalRandom random) {
+        // The first HOT_ACCOUNTS accounts are the hot ones
+        return random.nextDouble() < HOT_RATIO ? random.nextInt(HOT_ACCOUNTS) : random.nextInt(ACCOUNTS);
+    }
+
+    private static String accountNumber(int index) {
+        return String.format("5%09d", index);
+    }
+
+    private static double percentileMillis(long[] sortedNanos, double percentile) {
+        final var index = Math.min(sortedNanos.length - 1, (int) Math.ceil(percentile * sortedNanos.length) - 1);
+        return sortedNanos[Math.max(0, index)] / 1e6;
+    }
+
+    private record Result(String engine, int transfers, Set<String> accepted, int errors, double throughput,
+                          double p50Millis, double p99Millis, double p999Millis) {
+
+        @Override
+        public String toString() {
+            return List.of(
+                    "engine=" + engine,
+                    "transfers=" + transfers,
+                    "successful=" + accepted.size(),
+                    "errors=" + errors,
+                    String.format("throughput=%.1f transfers/s", throughput),
+                    String.format("p50=%.2f ms", p50Millis),
+                    String.format("p99=%.2f ms", p99Millis),
+                    String.format("p999=%.2f ms", p999Millis)).toString();
+        }
+    }
+}
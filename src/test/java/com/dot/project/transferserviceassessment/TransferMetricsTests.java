@@ -0,0 +1,90 @@
+package com.dot.project.transferserviceassessment;
+
+import com.dot.project.transferserviceassessment.constant.CurrencyEnum;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionAccountRepository;
+import com.dot.project.transferserviceassessment.dto.request.TransactionReq;
+import com.dot.project.transferserviceassessment.dto.response.ApiResponse;
+import com.dot.project.transferserviceassessment.scheduler.ScheduledTasks;
+import com.dot.project.transferserviceassessment.service.TransactionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import java.math.BigDecimal;
+import java.util.List;
+import static com.dot.project.transferserviceassessment.TestAccounts.account;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs transfers that succeed, are rejected and are replayed, and a scheduled job, and checks the stage timers,
+ * failure counters and job meters they leave behind.
+ */
+@IsolatedSpringBootTest
+class TransferMetricsTests {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionAccountRepository transactionAccountRepository;
+
+    @Autowired
+    private ScheduledTasks scheduledTasks;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldTimeEveryStageAndCountFailuresByReason() {
+        transactionAccountRepository.saveAll(List.of(
+                account("8700000001", "100.00", CurrencyEnum.USD),
+                account("8700000002", "100.00", CurrencyEnum.USD),
+                account("8700000003", "100.00", CurrencyEnum.NGN)));
+
+        assertEquals("00", transfer("metrics-ok", "10.00", "8700000001", "8700000002").getResponseCode());
+        transfer("metrics-ok", "10.00", "8700000001", "8700000002");
+        transfer("metrics-same", "10.00", "8700000001", "8700000001");
+        transfer("metrics-currency", "10.00", "8700000001", "8700000003");
+        transfer("metrics-funds", "1000.00", "8700000001", "8700000002");
+
+        // Every transfer that got past the duplicate check was enquired and validated
+        assertEquals(4, stageCount("enquiry"));
+        assertEquals(4, stageCount("validation"));
+        // The overdraft was attempted and rejected by the debit; only the first transfer was credited and persisted
+        assertEquals(2, stageCount("debit"));
+        assertEquals(1, stageCount("credit"));
+        assertEquals(1, stageCount("persist"));
+        assertEquals(1, failures("duplicate-reference"));
+        assertEquals(1, failures("same-account"));
+        assertEquals(1, failures("currency-mismatch"));
+        assertEquals(1, failures("insufficient-funds"));
+        assertTrue(meterRegistry.get("transfer.account.lock.wait").timer().count() >= 2);
+    }
+
+    @Test
+    void shouldTimeScheduledJobs() {
+        scheduledTasks.rebuildRollups();
+
+        assertEquals(1, meterRegistry.get("scheduled.job").tag("job", "rebuildRollups").timer().count());
+        // StartupRunner seeds two successful transactions at 22:59 yesterday, which make up one rollup row
+        assertEquals(1, meterRegistry.get("scheduled.job.rows").tag("job", "rebuildRollups").counter().count());
+    }
+
+    private long stageCount(String stage) {
+        return meterRegistry.get("transfer.stage").tag("stage", stage).timer().count();
+    }
+
+    private double failures(String reason) {
+        return meterRegistry.get("transfer.failures").tag("reason", reason).counter().count();
+    }
+
+    private ApiResponse<?> transfer(String reference, String amount, String source, String destination) {
+        return transactionService.processTransfer(TransactionReq.builder()
+                .reference(reference)
+                .amount(new BigDecimal(amount))
+                .currency(CurrencyEnum.USD)
+                .sourceAccountNumber(source)
+                .destinationAccountNumber(destination)
+                .build());
+    }
+}
@@ -12,12 +12,11 @@ import com.dot.project.transferserviceassessment.dto.response.TransactionRes;
 import com.dot.project.transferserviceassessment.dto.response.TransactionSummaryRes;
 import com.dot.project.transferserviceassessment.scheduler.ScheduledTasks;
 import com.dot.project.transferserviceassessment.service.TransactionService;
+import com.dot.project.transferserviceassessment.service.TransactionSummaryCache;
 import lombok.extern.slf4j.Slf4j;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.MockitoAnnotations;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -43,6 +42,9 @@ class TransferServiceAssessmentApplicationTests {
     @Mock
     private TransactionService transactionService;
 
+    @Mock
+    private TransactionSummaryCache summaryCache;
+
     @InjectMocks
     private TransferServiceController transferServiceController;
 
@@ -55,11 +57,6 @@ class TransferServiceAssessmentApplicationTests {
     @InjectMocks
     private ScheduledTasks scheduledTasks;
 
-    @BeforeEach
-    void setUp() {
-        MockitoAnnotations.openMocks(this);
-    }
-
     @Test
     void shouldReturnSuccessfulResponseWhenValidTransactionRequestIsProcessed() {
         // Arrange: Set up the request object with valid data
@@ -151,6 +148,8 @@ class TransferServiceAssessmentApplicationTests {
                 Transaction.builder().amount(new BigDecimal("10.00")).status(StatusEnum.SUCCESSFUL).commissionWorthy(true).commission(new BigDecimal("0.50")).build(),
                 Transaction.builder().amount(new BigDecimal("90.00")).status(StatusEnum.SUCCESSFUL).commissionWorthy(true).commission(new BigDecimal("4.50")).build()
         ));
+        when(summaryCache.get(date)).thenReturn(
+                new TransactionSummaryCache.CachedSummary(ApiResponse.success(summaryRes), "\"summary\"", false));
 
         // Act
         ResponseEntity<ApiResponse<TransactionSummaryRes>> response = transferServiceController.getDailySummary(date);
@@ -0,0 +1,120 @@
+package com.dot.project.transferserviceassessment.ledger;
+
+import com.dot.project.transferserviceassessment.audit.TransferAuditJournal;
+import com.dot.project.transferserviceassessment.constant.CurrencyEnum;
+import com.dot.project.transferserviceassessment.dao.entity.Transaction;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionAccountRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Fails the journal force of a group of debits and checks that their callers are failed, their balance is restored
+ * and their records are gone from the journal, so recovery cannot replay transfers reported as failed.
+ */
+class LedgerJournalForceFailureTests {
+
+    private static final String SOURCE = "8960000001";
+    private static final String DESTINATION = "8960000002";
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void shouldDiscardAGroupWhoseForceFailed() throws Exception {
+        final var journal = new FailingJournal(directory);
+        final var accountRepository = mock(TransactionAccountRepository.class);
+        when(accountRepository.findBalanceByAccountNumber(any())).thenReturn(Optional.of(new BigDecimal("100.00")));
+        final var engine = mock(LedgerTransferEngine.class);
+        final var shard = new LedgerShard(0, engine, journal, mock(LedgerPersister.class), accountRepository,
+                mock(TransferAuditJournal.class));
+        when(engine.shardFor(any())).thenReturn(shard);
+        shard.start();
+        try {
+            journal.failNextForce = true;
+            final var failed = debit(shard, "ledger-force-failed", "60.00");
+            final var failure = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IOException.class, failure.getCause().getCause());
+
+            // The 60.00 was restored, so the whole balance can still be debited
+            assertTrue(debit(shard, "ledger-force-ok", "100.00").get(5, TimeUnit.SECONDS));
+        } finally {
+            shard.stop();
+        }
+
+        // Only the transfer that was acknowledged is left to recover
+        final List<String> journaled = new ArrayList<>();
+        for (Path segment : LedgerJournal.segments(directory)) {
+            LedgerJournal.read(segment).forEach(transaction -> journaled.add(transaction.getReference()));
+        }
+        assertEquals(List.of("ledger-force-ok"), journaled);
+    }
+
+    @Test
+    void shouldDeleteASegmentWhoseOnlyGroupFailed() throws Exception {
+        final var journal = new FailingJournal(directory);
+        final var accountRepository = mock(TransactionAccountRepository.class);
+        when(accountRepository.findBalanceByAccountNumber(any())).thenReturn(Optional.of(new BigDecimal("100.00")));
+        final var shard = new LedgerShard(0, mock(LedgerTransferEngine.class), journal, mock(LedgerPersister.class),
+                accountRepository, mock(TransferAuditJournal.class));
+        shard.start();
+        try {
+            journal.failNextForce = true;
+            final var failed = debit(shard, "ledger-force-only", "10.00");
+            assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        } finally {
+            shard.stop();
+        }
+
+        // Nothing in the segment awaits persistence, so closing it deletes it
+        assertTrue(LedgerJournal.segments(directory).isEmpty());
+    }
+
+    private static CompletableFuture<Boolean> debit(LedgerShard shard, String reference, String amount) {
+        final var result = new CompletableFuture<Boolean>();
+        shard.submit(new LedgerShard.Debit(Transaction.builder()
+                .reference(reference)
+                .sourceAccountNumber(SOURCE)
+                .destinationAccountNumber(DESTINATION)
+                .amount(new BigDecimal(amount))
+                .fee(BigDecimal.ZERO)
+                .billedAmount(new BigDecimal(amount))
+                .currency(CurrencyEnum.USD)
+                .createdAt(LocalDateTime.now())
+                .build(), result));
+        return result;
+    }
+
+    private static final class FailingJournal extends LedgerJournal {
+        private volatile boolean failNextForce;
+
+        private FailingJournal(Path directory) {
+            super(directory, 0, 64L * 1024 * 1024);
+        }
+
+        @Override
+        void force() throws IOException {
+            if (failNextForce) {
+                failNextForce = false;
+                throw new IOException("simulated fsync failure");
+            }
+            super.force();
+        }
+    }
+}
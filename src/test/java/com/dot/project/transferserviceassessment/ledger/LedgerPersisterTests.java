@@ -0,0 +1,114 @@
+package com.dot.project.transferserviceassessment.ledger;
+
+import com.dot.project.transferserviceassessment.constant.CurrencyEnum;
+import com.dot.project.transferserviceassessment.constant.StatusEnum;
+import com.dot.project.transferserviceassessment.dao.entity.Transaction;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionAccountRepository;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionRepository;
+import com.dot.project.transferserviceassessment.service.FeeScheduleService;
+import com.dot.project.transferserviceassessment.service.TransactionRollupService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Writes batches holding a transfer whose money has no account to land on, and batches failing on a busy database,
+ * and checks that only the refused transfer is parked in the dead-letter file while the rest are written.
+ */
+class LedgerPersisterTests {
+
+    private static final String MISSING = "8970000009";
+
+    @TempDir
+    private Path directory;
+
+    private final List<String> inserted = new ArrayList<>();
+    private TransactionAccountRepository accountRepository;
+    private TransactionRepository transactionRepository;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository = mock(TransactionAccountRepository.class);
+        when(accountRepository.applyBalanceDelta(any(), any())).thenReturn(1);
+        when(accountRepository.applyBalanceDelta(eq(MISSING), any())).thenReturn(0);
+        transactionRepository = mock(TransactionRepository.class);
+        when(transactionRepository.findExistingReferences(anyCollection())).thenReturn(List.of());
+        doAnswer(invocation -> {
+            invocation.<Collection<Transaction>>getArgument(0).forEach(transaction -> inserted.add(transaction.getReference()));
+            return null;
+        }).when(transactionRepository).insertAll(any());
+    }
+
+    @Test
+    void shouldParkOnlyTheTransferTheDatabaseRefuses() throws Exception {
+        final var batch = new ArrayList<>(IntStream.range(0, 8)
+                .mapToObj(i -> new LedgerEntry(transaction("persist-" + i, i == 5 ? MISSING : "8970000002"), null))
+                .toList());
+
+        assertEquals(7, persister(2).recover(batch));
+
+        assertEquals(7, inserted.size());
+        assertFalse(inserted.contains("persist-5"));
+        final var parked = LedgerJournal.read(directory.resolve(LedgerJournal.DEAD_LETTERS));
+        assertEquals(List.of("persist-5"), parked.stream().map(Transaction::getReference).toList());
+    }
+
+    @Test
+    void shouldRetryABusyDatabaseWithoutParking() {
+        final var failures = new AtomicInteger();
+        when(accountRepository.applyBalanceDelta(eq("8970000002"), any())).thenAnswer(invocation -> {
+            if (failures.getAndIncrement() < 3) {
+                throw new TransientDataAccessResourceException("Lock wait timeout exceeded");
+            }
+            return 1;
+        });
+
+        assertEquals(2, persister(1).recover(new ArrayList<>(List.of(
+                new LedgerEntry(transaction("busy-1", "8970000002"), null),
+                new LedgerEntry(transaction("busy-2", "8970000002"), null)))));
+
+        assertEquals(List.of("busy-1", "busy-2"), inserted);
+        assertFalse(Files.exists(directory.resolve(LedgerJournal.DEAD_LETTERS)));
+    }
+
+    private LedgerPersister persister(int maxAttempts) {
+        return new LedgerPersister(accountRepository, transactionRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), mock(TransactionRollupService.class),
+                mock(FeeScheduleService.class), directory, 500, maxAttempts, new SimpleMeterRegistry().timer("batch"));
+    }
+
+    private static Transaction transaction(String reference, String destination) {
+        return Transaction.builder()
+                .reference(reference)
+                .sourceAccountNumber("8970000001")
+                .destinationAccountNumber(destination)
+                .amount(new BigDecimal("10.00"))
+                .fee(new BigDecimal("0.05"))
+                .billedAmount(new BigDecimal("10.05"))
+                .currency(CurrencyEnum.USD)
+                .status(StatusEnum.SUCCESSFUL)
+                .createdAt(LocalDateTime.of(2024, 12, 1, 9, 0))
+                .build();
+    }
+}
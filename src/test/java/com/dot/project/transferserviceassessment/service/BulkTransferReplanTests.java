@@ -0,0 +1,105 @@
+package com.dot.project.transferserviceassessment.service;
+
+import com.dot.project.transferserviceassessment.audit.TransferAuditJournal;
+import com.dot.project.transferserviceassessment.config.ExternalRequestProperties;
+import com.dot.project.transferserviceassessment.constant.AccountStatusEnum;
+import com.dot.project.transferserviceassessment.constant.CurrencyEnum;
+import com.dot.project.transferserviceassessment.constant.StatusEnum;
+import com.dot.project.transferserviceassessment.dao.entity.Transaction;
+import com.dot.project.transferserviceassessment.dao.entity.TransactionAccount;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionAccountRepository;
+import com.dot.project.transferserviceassessment.dao.repository.TransactionRepository;
+import com.dot.project.transferserviceassessment.dto.request.TransactionReq;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Replans a bulk settlement whose net debit lost a race, so an item accepted by the first attempt is rejected by
+ * the second, and checks that it is written without the commission the first attempt accrued.
+ */
+class BulkTransferReplanTests {
+
+    private static final String SOURCE = "8980000001";
+    private static final String DESTINATION = "8980000002";
+
+    @Test
+    void shouldDropTheCommissionOfAnItemRejectedOnReplan() {
+        final var transactionService = mock(TransactionService.class);
+        when(transactionService.buildTransaction(any())).thenAnswer(invocation -> Transaction.builder()
+                .reference(invocation.<TransactionReq>getArgument(0).getReference())
+                .sourceAccountNumber(SOURCE)
+                .destinationAccountNumber(DESTINATION)
+                .amount(new BigDecimal("10.00"))
+                .fee(new BigDecimal("0.05"))
+                .billedAmount(new BigDecimal("10.05"))
+                .currency(CurrencyEnum.USD)
+                .build());
+        final var accountRepository = mock(TransactionAccountRepository.class);
+        // Another node drains the source between the first attempt's read and its debit
+        when(accountRepository.findAllByAccountNumberInAndAccountStatusIs(anyCollection(), eq(AccountStatusEnum.ACTIVE)))
+                .thenReturn(List.of(account(SOURCE, "100.00"), account(DESTINATION, "0.00")))
+                .thenReturn(List.of(account(SOURCE, "5.00"), account(DESTINATION, "0.00")));
+        when(accountRepository.debitIfSufficientFunds(eq(SOURCE), any(), eq(AccountStatusEnum.ACTIVE))).thenReturn(0);
+        final var feeScheduleService = mock(FeeScheduleService.class);
+        doAnswer(invocation -> {
+            final Transaction transaction = invocation.getArgument(0);
+            transaction.setCommissionWorthy(true);
+            transaction.setCommission(new BigDecimal("0.01"));
+            return null;
+        }).when(feeScheduleService).accrueCommission(any());
+        final var rollupService = mock(TransactionRollupService.class);
+        final var accountLockManager = mock(AccountLockManager.class);
+        final var properties = new ExternalRequestProperties();
+        properties.setBalanceUpdateMaxAttempts(3);
+        properties.setBalanceUpdateBackoffMillis(1);
+
+        final var bulkTransferService = new BulkTransferService(transactionService, accountRepository,
+                mock(TransactionRepository.class), accountLockManager,
+                new RetryExecutor(properties, new SimpleMeterRegistry()), mock(IdempotencyService.class),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), mock(TransferAuditJournal.class),
+                properties, rollupService, feeScheduleService);
+
+        final var response = bulkTransferService.processBulkTransfer(List.of(TransactionReq.builder()
+                .reference("bulk-replan-1")
+                .sourceAccountNumber(SOURCE)
+                .destinationAccountNumber(DESTINATION)
+                .amount(new BigDecimal("10.00"))
+                .currency(CurrencyEnum.USD)
+                .build()));
+
+        assertEquals(StatusEnum.FAILED, response.getData().get(0).getStatus());
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<Collection<Transaction>> recorded = ArgumentCaptor.forClass(Collection.class);
+        verify(rollupService).record(recorded.capture());
+        final var transaction = recorded.getValue().iterator().next();
+        assertEquals(StatusEnum.FAILED, transaction.getStatus());
+        assertNull(transaction.getCommissionWorthy());
+        assertNull(transaction.getCommission());
+        // Only the debited account is locked, the destination only receives a credit
+        verify(accountLockManager).lock(SOURCE);
+    }
+
+    private static TransactionAccount account(String accountNumber, String balance) {
+        return TransactionAccount.builder()
+                .accountNumber(accountNumber)
+                .accountStatus(AccountStatusEnum.ACTIVE)
+                .balance(new BigDecimal(balance))
+                .currency(CurrencyEnum.USD)
+                .build();
+    }
+}